@@ -0,0 +1,87 @@
+package br.sst.auditoria.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão da geração de tokens de sessão (32 bytes) e de IDs de entidades com 1, 8 e 32 threads,
+ * comparando a abordagem anterior (SecureRandom estático e UUID.randomUUID()) com os geradores
+ * por thread e DRBG.
+ *
+ * Executar com ./gradlew jmh -Pjmh.include=GeradorIdentificadoresBenchmark
+ */
+public class GeradorIdentificadoresBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Geradores {
+        final SecureRandom secureRandomCompartilhado = new SecureRandom();
+        final Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+        final GeradorIdentificadores porThread = new GeradorIdentificadoresPorThread();
+        final GeradorIdentificadores drbg = new GeradorIdentificadoresDrbg();
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public abstract static class Cenarios {
+
+        @Benchmark
+        public String tokenSecureRandomCompartilhado(Geradores geradores) {
+            byte[] bytes = new byte[32];
+            geradores.secureRandomCompartilhado.nextBytes(bytes);
+            return geradores.base64.encodeToString(bytes);
+        }
+
+        @Benchmark
+        public String tokenPorThread(Geradores geradores) {
+            return geradores.porThread.novoToken(32);
+        }
+
+        @Benchmark
+        public String tokenDrbg(Geradores geradores) {
+            return geradores.drbg.novoToken(32);
+        }
+
+        @Benchmark
+        public String idUuidRandom() {
+            return UUID.randomUUID().toString();
+        }
+
+        @Benchmark
+        public String idPorThread(Geradores geradores) {
+            return geradores.porThread.novoId();
+        }
+
+        @Benchmark
+        public String idDrbg(Geradores geradores) {
+            return geradores.drbg.novoId();
+        }
+    }
+
+    @Threads(1)
+    public static class UmaThread extends Cenarios {
+    }
+
+    @Threads(8)
+    public static class OitoThreads extends Cenarios {
+    }
+
+    @Threads(32)
+    public static class TrintaEDuasThreads extends Cenarios {
+    }
+}
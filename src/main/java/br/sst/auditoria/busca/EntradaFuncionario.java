@@ -0,0 +1,26 @@
+package br.sst.auditoria.busca;
+
+import br.sst.auditoria.model.enums.SituacaoFuncionario;
+
+import java.time.LocalDateTime;
+
+/**
+ * Funcionário como mantido no índice de busca, com o nome e a matrícula já normalizados
+ */
+record EntradaFuncionario(
+    String id,
+    String nomeCompleto,
+    String cpf,
+    String matricula,
+    SituacaoFuncionario situacao,
+    LocalDateTime atualizadoEm,
+    String nomeDobrado,
+    String chaveMatricula
+) {
+
+    static EntradaFuncionario de(String id, String nomeCompleto, String cpf, String matricula,
+                                 SituacaoFuncionario situacao, LocalDateTime atualizadoEm) {
+        return new EntradaFuncionario(id, nomeCompleto, cpf, matricula, situacao, atualizadoEm,
+                TextoBusca.dobrar(nomeCompleto), TextoBusca.chave(matricula));
+    }
+}
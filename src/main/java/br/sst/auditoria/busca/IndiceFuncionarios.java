@@ -0,0 +1,173 @@
+package br.sst.auditoria.busca;
+
+import br.sst.auditoria.dto.funcionario.FuncionarioEncontrado;
+import br.sst.auditoria.invalidacao.EventoInvalidacao;
+import br.sst.auditoria.model.enums.SituacaoFuncionario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Índices locais (por nó) de busca de funcionários, um por organização.
+ *
+ * Cada índice é construído na primeira busca da organização com uma única consulta e mantido em memória
+ * (trigramas do nome sem acentos, prefixos de CPF e matrícula; ver {@link Segmento}), respondendo ao typeahead
+ * dos auditores sem ir ao banco. O número total de funcionários indexados é limitado por
+ * funcionario.search.max-entries e índices sem uso saem após funcionario.search.idle.
+ *
+ * Eventos:
+ * - FUNCIONARIOS (importação e demais gravações): após o commit, lê as linhas da organização com
+ *   atualizado_em a partir da marca do índice (menos funcionario.search.sync-overlap, para pegar transações
+ *   que gravaram antes da marca mas confirmaram depois) e as aplica incrementalmente;
+ * - ORGANIZACAO: descarta o índice da organização (a exclusão remove os funcionários junto);
+ * - TUDO: descarta todos os índices.
+ * Sincronizações pedidas fora de transação (eventos dos outros nós, entregues pela thread do LISTEN) rodam
+ * em uma thread própria, para não consultar o banco naquela thread.
+ *
+ * Métricas: cache "funcionarios_busca" (hits, misses, evictions) e o timer funcionario.busca.
+ */
+@Component
+@Slf4j
+public class IndiceFuncionarios implements DisposableBean {
+
+    public static final String NOME_CACHE = "funcionarios_busca";
+
+    private static final String SQL_CARREGAR =
+            "SELECT id, nome_completo, cpf, matricula, situacao, atualizado_em FROM funcionario "
+                    + "WHERE organizacao_id = ?";
+
+    private static final String SQL_ALTERADOS = SQL_CARREGAR + " AND atualizado_em >= ?";
+
+    private static final RowMapper<EntradaFuncionario> MAPEADOR = (rs, linha) -> EntradaFuncionario.de(
+            rs.getString("id"),
+            rs.getString("nome_completo"),
+            rs.getString("cpf"),
+            rs.getString("matricula"),
+            SituacaoFuncionario.valueOf(rs.getString("situacao")),
+            rs.getTimestamp("atualizado_em").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration sobreposicao;
+    private final Cache<String, IndiceOrganizacao> indices;
+    private final Timer duracaoBusca;
+    private final ExecutorService sincronizacoes = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("busca-sincronizacao").daemon(true).factory());
+
+    public IndiceFuncionarios(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${funcionario.search.max-entries:1000000}") long maximoEntradas,
+                              @Value("${funcionario.search.idle:30m}") Duration ociosidade,
+                              @Value("${funcionario.search.sync-overlap:1m}") Duration sobreposicao) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sobreposicao = sobreposicao;
+        this.indices = Caffeine.newBuilder()
+                .maximumWeight(maximoEntradas)
+                .weigher((String organizacaoId, IndiceOrganizacao indice) -> indice.tamanho() + 1)
+                .expireAfterAccess(ociosidade)
+                .recordStats()
+                .build();
+        this.duracaoBusca = meterRegistry.timer("funcionario.busca");
+        CaffeineCacheMetrics.monitor(meterRegistry, indices, NOME_CACHE);
+    }
+
+    /**
+     * Busca por prefixo de CPF, prefixo de matrícula ou partes do nome (sem diferenciar acentos e maiúsculas)
+     */
+    public List<FuncionarioEncontrado> buscar(String organizacaoId, String consulta, int limite) {
+        IndiceOrganizacao indice = indices.get(organizacaoId, this::carregar);
+
+        long inicio = System.nanoTime();
+        List<FuncionarioEncontrado> encontrados = indice.buscar(consulta, limite).stream()
+                .map(e -> new FuncionarioEncontrado(e.id(), e.nomeCompleto(), e.cpf(), e.matricula(), e.situacao()))
+                .toList();
+        duracaoBusca.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return encontrados;
+    }
+
+    @EventListener
+    public void aoInvalidar(EventoInvalidacao evento) {
+        switch (evento.tipo()) {
+            case FUNCIONARIOS -> aposCommit(() -> sincronizar(evento.chave()));
+            case ORGANIZACAO -> indices.invalidate(evento.chave());
+            case TUDO -> indices.invalidateAll();
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sincronizacoes.shutdownNow();
+    }
+
+    // ========================================================================
+    // HELPERS
+    // ========================================================================
+
+    private IndiceOrganizacao carregar(String organizacaoId) {
+        long inicio = System.nanoTime();
+        List<EntradaFuncionario> entradas = jdbcTemplate.query(SQL_CARREGAR, MAPEADOR, organizacaoId);
+        IndiceOrganizacao indice = IndiceOrganizacao.construir(entradas);
+
+        log.debug("Índice de busca da organização {} construído com {} funcionários em {} ms",
+                organizacaoId, entradas.size(), Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+        return indice;
+    }
+
+    /**
+     * Aplica as linhas alteradas desde a marca, se o índice da organização estiver carregado neste nó
+     */
+    private void sincronizar(String organizacaoId) {
+        IndiceOrganizacao atual = indices.getIfPresent(organizacaoId);
+        if (atual == null) {
+            // Uma carga em andamento pode ter lido antes do commit: invalidar descarta o resultado dela
+            indices.invalidate(organizacaoId);
+            return;
+        }
+
+        List<EntradaFuncionario> alteradas = atual.marca() == null
+                ? jdbcTemplate.query(SQL_CARREGAR, MAPEADOR, organizacaoId)
+                : jdbcTemplate.query(SQL_ALTERADOS, MAPEADOR, organizacaoId,
+                        Timestamp.valueOf(atual.marca().minus(sobreposicao)));
+        if (!alteradas.isEmpty()) {
+            indices.asMap().computeIfPresent(organizacaoId, (id, indice) -> indice.aplicar(alteradas));
+        }
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            sincronizacoes.execute(() -> {
+                try {
+                    acao.run();
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao sincronizar o índice de busca: {}", e.getMessage());
+                }
+            });
+        }
+    }
+}
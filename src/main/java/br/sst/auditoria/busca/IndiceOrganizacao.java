@@ -0,0 +1,173 @@
+package br.sst.auditoria.busca;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Índice de busca de funcionários de uma organização: um {@link Segmento} imutável mais as alterações
+ * recebidas depois dele.
+ *
+ * Cada instância é imutável; aplicar() devolve uma nova, que marca no segmento os documentos substituídos e
+ * guarda as versões novas em um mapa pequeno, percorrido linearmente nas buscas. Quando as alterações passam
+ * de 1/16 do segmento (mínimo {@value #ALTERACOES_MINIMAS}), o segmento é reconstruído em memória.
+ */
+final class IndiceOrganizacao {
+
+    private static final int ALTERACOES_MINIMAS = 512;
+
+    private final Segmento segmento;
+    private final BitSet substituidos;
+    private final Map<String, EntradaFuncionario> alteradas;
+    private final LocalDateTime marca;
+
+    private IndiceOrganizacao(Segmento segmento, BitSet substituidos, Map<String, EntradaFuncionario> alteradas,
+                              LocalDateTime marca) {
+        this.segmento = segmento;
+        this.substituidos = substituidos;
+        this.alteradas = alteradas;
+        this.marca = marca;
+    }
+
+    static IndiceOrganizacao construir(Collection<EntradaFuncionario> entradas) {
+        LocalDateTime marca = entradas.stream()
+                .map(EntradaFuncionario::atualizadoEm)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new IndiceOrganizacao(Segmento.construir(entradas), new BitSet(), Map.of(), marca);
+    }
+
+    /**
+     * Maior atualizado_em já indexado (null se o índice está vazio): a sincronização busca as linhas
+     * alteradas a partir dele
+     */
+    LocalDateTime marca() {
+        return marca;
+    }
+
+    int tamanho() {
+        return segmento.tamanho() - substituidos.cardinality() + alteradas.size();
+    }
+
+    /**
+     * Novo índice com as entradas inseridas ou alteradas; versões iguais ou mais antigas que a indexada são
+     * ignoradas, então reaplicar a mesma linha não tem efeito
+     */
+    IndiceOrganizacao aplicar(List<EntradaFuncionario> entradas) {
+        BitSet novosSubstituidos = null;
+        Map<String, EntradaFuncionario> novasAlteradas = null;
+        LocalDateTime novaMarca = marca;
+
+        for (EntradaFuncionario entrada : entradas) {
+            Map<String, EntradaFuncionario> vigentes = novasAlteradas != null ? novasAlteradas : alteradas;
+            EntradaFuncionario atual = vigentes.get(entrada.id());
+            int doc = -1;
+            if (atual == null) {
+                doc = segmento.documento(entrada.id());
+                if (doc >= 0 && !substituidos.get(doc)) {
+                    atual = segmento.entrada(doc);
+                }
+            }
+            if (atual != null && !entrada.atualizadoEm().isAfter(atual.atualizadoEm())) {
+                continue;
+            }
+
+            if (novasAlteradas == null) {
+                novasAlteradas = new HashMap<>(alteradas);
+                novosSubstituidos = (BitSet) substituidos.clone();
+            }
+            novasAlteradas.put(entrada.id(), entrada);
+            if (doc >= 0) {
+                novosSubstituidos.set(doc);
+            }
+            if (novaMarca == null || entrada.atualizadoEm().isAfter(novaMarca)) {
+                novaMarca = entrada.atualizadoEm();
+            }
+        }
+
+        if (novasAlteradas == null) {
+            return this;
+        }
+
+        if (novasAlteradas.size() > Math.max(ALTERACOES_MINIMAS, segmento.tamanho() / 16)) {
+            List<EntradaFuncionario> vigentes = new ArrayList<>(segmento.tamanho() + novasAlteradas.size());
+            for (int doc = 0; doc < segmento.tamanho(); doc++) {
+                if (!novosSubstituidos.get(doc)) {
+                    vigentes.add(segmento.entrada(doc));
+                }
+            }
+            vigentes.addAll(novasAlteradas.values());
+            return new IndiceOrganizacao(Segmento.construir(vigentes), new BitSet(), Map.of(), novaMarca);
+        }
+
+        return new IndiceOrganizacao(segmento, novosSubstituidos, novasAlteradas, novaMarca);
+    }
+
+    /**
+     * Typeahead: CPF por prefixo (consulta só com dígitos), matrícula por prefixo e nome por termos, nesta
+     * ordem e sem repetições
+     */
+    List<EntradaFuncionario> buscar(String consulta, int limite) {
+        Map<String, EntradaFuncionario> resultado = new LinkedHashMap<>();
+        String chave = TextoBusca.chave(consulta);
+        if (chave.isEmpty()) {
+            return List.of();
+        }
+
+        if (TextoBusca.somenteDigitos(chave) && chave.length() <= 11) {
+            acrescentar(resultado, limite,
+                    segmento.buscarPorCpf(chave, substituidos, limite),
+                    e -> e.cpf() != null && e.cpf().startsWith(chave),
+                    EntradaFuncionario::cpf);
+        }
+
+        acrescentar(resultado, limite,
+                segmento.buscarPorMatricula(chave, substituidos, limite),
+                e -> e.chaveMatricula().startsWith(chave),
+                EntradaFuncionario::chaveMatricula);
+
+        String[] termos = TextoBusca.dobrar(consulta).split(" ");
+        acrescentar(resultado, limite,
+                segmento.buscarPorNome(termos, substituidos, limite),
+                e -> TextoBusca.corresponde(e.nomeDobrado(), termos),
+                EntradaFuncionario::nomeDobrado);
+
+        return List.copyOf(resultado.values());
+    }
+
+    /**
+     * Junta os encontrados no segmento com as alterações que atendem ao critério, na ordem da chave
+     */
+    private void acrescentar(Map<String, EntradaFuncionario> resultado, int limite, List<EntradaFuncionario> doSegmento,
+                             Predicate<EntradaFuncionario> criterio, Function<EntradaFuncionario, String> ordem) {
+        if (resultado.size() >= limite) {
+            return;
+        }
+
+        List<EntradaFuncionario> encontrados = doSegmento;
+        if (!alteradas.isEmpty()) {
+            encontrados = new ArrayList<>(doSegmento);
+            for (EntradaFuncionario alterada : alteradas.values()) {
+                if (criterio.test(alterada)) {
+                    encontrados.add(alterada);
+                }
+            }
+            encontrados.sort(Comparator.comparing(ordem).thenComparing(EntradaFuncionario::id));
+        }
+
+        for (EntradaFuncionario entrada : encontrados) {
+            if (resultado.size() >= limite) {
+                return;
+            }
+            resultado.putIfAbsent(entrada.id(), entrada);
+        }
+    }
+}
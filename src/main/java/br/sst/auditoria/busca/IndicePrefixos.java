@@ -0,0 +1,115 @@
+package br.sst.auditoria.busca;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntFunction;
+
+/**
+ * Índice de prefixos sobre chaves curtas (CPF, matrícula).
+ *
+ * As chaves ficam ordenadas e concatenadas em um único char[] com offsets em int[]; o intervalo das chaves
+ * que começam com um prefixo é encontrado com duas buscas binárias. Equivale à busca em uma trie, sem um
+ * objeto por nó.
+ */
+final class IndicePrefixos {
+
+    private final char[] texto;
+    private final int[] inicio;
+    private final int[] documentos;
+
+    private IndicePrefixos(char[] texto, int[] inicio, int[] documentos) {
+        this.texto = texto;
+        this.inicio = inicio;
+        this.documentos = documentos;
+    }
+
+    /**
+     * Indexa a chave de cada documento (0..quantidade-1); chaves nulas ou vazias são ignoradas
+     */
+    static IndicePrefixos construir(int quantidade, IntFunction<String> chave) {
+        String[] chaves = new String[quantidade];
+        int comChave = 0;
+        int caracteres = 0;
+        for (int doc = 0; doc < quantidade; doc++) {
+            String valor = chave.apply(doc);
+            if (valor != null && !valor.isEmpty()) {
+                chaves[doc] = valor;
+                comChave++;
+                caracteres += valor.length();
+            }
+        }
+
+        int[] ordem = new int[comChave];
+        for (int doc = 0, i = 0; doc < quantidade; doc++) {
+            if (chaves[doc] != null) {
+                ordem[i++] = doc;
+            }
+        }
+        ordem = Arrays.stream(ordem).boxed()
+                .sorted(Comparator.comparing((Integer doc) -> chaves[doc]).thenComparingInt(doc -> doc))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        char[] texto = new char[caracteres];
+        int[] inicio = new int[comChave + 1];
+        int posicao = 0;
+        for (int i = 0; i < comChave; i++) {
+            String valor = chaves[ordem[i]];
+            valor.getChars(0, valor.length(), texto, posicao);
+            inicio[i] = posicao;
+            posicao += valor.length();
+        }
+        inicio[comChave] = posicao;
+
+        return new IndicePrefixos(texto, inicio, ordem);
+    }
+
+    /**
+     * Posição da primeira chave que começa com o prefixo (ou a posição em que estaria)
+     */
+    int primeiro(String prefixo) {
+        return limite(prefixo, false);
+    }
+
+    /**
+     * Posição seguinte à última chave que começa com o prefixo
+     */
+    int ultimo(String prefixo) {
+        return limite(prefixo, true);
+    }
+
+    int documento(int posicao) {
+        return documentos[posicao];
+    }
+
+    /**
+     * Busca binária: primeira posição cuja chave, truncada ao tamanho do prefixo, é maior (ou maior ou igual)
+     */
+    private int limite(String prefixo, boolean estritamenteMaior) {
+        int baixo = 0;
+        int alto = documentos.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            int comparacao = compararPrefixo(meio, prefixo);
+            if (comparacao < 0 || (estritamenteMaior && comparacao == 0)) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private int compararPrefixo(int posicao, String prefixo) {
+        int de = inicio[posicao];
+        int tamanho = Math.min(inicio[posicao + 1] - de, prefixo.length());
+        for (int i = 0; i < tamanho; i++) {
+            int diferenca = texto[de + i] - prefixo.charAt(i);
+            if (diferenca != 0) {
+                return diferenca;
+            }
+        }
+        // Chave menor que o prefixo e igual a ele até onde vai: fica antes
+        return inicio[posicao + 1] - de < prefixo.length() ? -1 : 0;
+    }
+}
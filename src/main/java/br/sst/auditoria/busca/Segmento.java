@@ -0,0 +1,225 @@
+package br.sst.auditoria.busca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Parte imutável do índice de busca de uma organização.
+ *
+ * Os documentos (0..n-1) ficam ordenados por nome dobrado e ID, então qualquer lista de documentos em ordem
+ * crescente já está em ordem alfabética e a busca pode parar ao atingir o limite. Estruturas:
+ * - trigramas do nome: códigos distintos ordenados em gramas[], com as postagens (documentos em ordem
+ *   crescente) concatenadas em postagens[] a partir de inicioPostagens[];
+ * - CPF e matrícula: {@link IndicePrefixos};
+ * - ID → documento: IDs ordenados com busca binária.
+ */
+final class Segmento {
+
+    private static final Comparator<EntradaFuncionario> ORDEM =
+            Comparator.comparing(EntradaFuncionario::nomeDobrado).thenComparing(EntradaFuncionario::id);
+
+    private final EntradaFuncionario[] entradas;
+    private final int[] gramas;
+    private final int[] inicioPostagens;
+    private final int[] postagens;
+    private final IndicePrefixos porCpf;
+    private final IndicePrefixos porMatricula;
+    private final String[] idsOrdenados;
+    private final int[] documentoPorId;
+
+    private Segmento(EntradaFuncionario[] entradas) {
+        this.entradas = entradas;
+
+        // Pares (trigrama, documento) em um long: ordenar agrupa por trigrama com os documentos em ordem
+        long[] pares = new long[contarGramas(entradas)];
+        int total = 0;
+        for (int doc = 0; doc < entradas.length; doc++) {
+            String nome = " " + entradas[doc].nomeDobrado();
+            for (int i = 0; i + 2 < nome.length(); i++) {
+                pares[total++] = ((long) TextoBusca.grama(nome.charAt(i), nome.charAt(i + 1), nome.charAt(i + 2)) << 32) | doc;
+            }
+        }
+        Arrays.sort(pares, 0, total);
+
+        int[] gramas = new int[total];
+        int[] inicio = new int[total + 1];
+        int[] postagens = new int[total];
+        int distintos = 0;
+        int quantidadePostagens = 0;
+        long anterior = -1;
+        for (int i = 0; i < total; i++) {
+            if (pares[i] == anterior) {
+                continue; // trigrama repetido no mesmo nome
+            }
+            int grama = (int) (pares[i] >>> 32);
+            if (distintos == 0 || gramas[distintos - 1] != grama) {
+                gramas[distintos] = grama;
+                inicio[distintos] = quantidadePostagens;
+                distintos++;
+            }
+            postagens[quantidadePostagens++] = (int) pares[i];
+            anterior = pares[i];
+        }
+        inicio[distintos] = quantidadePostagens;
+
+        this.gramas = Arrays.copyOf(gramas, distintos);
+        this.inicioPostagens = Arrays.copyOf(inicio, distintos + 1);
+        this.postagens = Arrays.copyOf(postagens, quantidadePostagens);
+        this.porCpf = IndicePrefixos.construir(entradas.length, doc -> entradas[doc].cpf());
+        this.porMatricula = IndicePrefixos.construir(entradas.length, doc -> entradas[doc].chaveMatricula());
+
+        Integer[] porId = new Integer[entradas.length];
+        for (int doc = 0; doc < entradas.length; doc++) {
+            porId[doc] = doc;
+        }
+        Arrays.sort(porId, Comparator.comparing(doc -> entradas[doc].id()));
+        this.idsOrdenados = new String[entradas.length];
+        this.documentoPorId = new int[entradas.length];
+        for (int i = 0; i < porId.length; i++) {
+            idsOrdenados[i] = entradas[porId[i]].id();
+            documentoPorId[i] = porId[i];
+        }
+    }
+
+    static Segmento construir(Collection<EntradaFuncionario> entradas) {
+        EntradaFuncionario[] ordenadas = entradas.toArray(EntradaFuncionario[]::new);
+        Arrays.sort(ordenadas, ORDEM);
+        return new Segmento(ordenadas);
+    }
+
+    int tamanho() {
+        return entradas.length;
+    }
+
+    EntradaFuncionario entrada(int doc) {
+        return entradas[doc];
+    }
+
+    /**
+     * Documento do funcionário com o ID informado, ou -1
+     */
+    int documento(String id) {
+        int posicao = Arrays.binarySearch(idsOrdenados, id);
+        return posicao >= 0 ? documentoPorId[posicao] : -1;
+    }
+
+    /**
+     * Documentos cujo nome contém os termos, em ordem alfabética, ignorando os substituídos
+     */
+    List<EntradaFuncionario> buscarPorNome(String[] termos, BitSet substituidos, int limite) {
+        List<EntradaFuncionario> encontrados = new ArrayList<>(Math.min(limite, 16));
+
+        int[][] listas = listasDePostagens(termos);
+        if (listas == null) {
+            return encontrados; // algum trigrama não existe em nenhum nome
+        }
+
+        if (listas.length == 0) {
+            // Só termos de uma letra: percorre os nomes em ordem até o limite
+            for (int doc = 0; doc < entradas.length && encontrados.size() < limite; doc++) {
+                aceitar(doc, termos, substituidos, encontrados);
+            }
+            return encontrados;
+        }
+
+        // Interseção a partir da menor lista; as demais avançam por busca binária
+        Arrays.sort(listas, Comparator.comparingInt(lista -> lista[1] - lista[0]));
+        int[] cursores = new int[listas.length];
+        for (int i = 0; i < listas.length; i++) {
+            cursores[i] = listas[i][0];
+        }
+
+        proximo:
+        for (int p = listas[0][0]; p < listas[0][1] && encontrados.size() < limite; p++) {
+            int doc = postagens[p];
+            for (int i = 1; i < listas.length; i++) {
+                int posicao = Arrays.binarySearch(postagens, cursores[i], listas[i][1], doc);
+                if (posicao < 0) {
+                    cursores[i] = -posicao - 1;
+                    if (cursores[i] == listas[i][1]) {
+                        break proximo;
+                    }
+                    continue proximo;
+                }
+                cursores[i] = posicao + 1;
+            }
+            aceitar(doc, termos, substituidos, encontrados);
+        }
+        return encontrados;
+    }
+
+    /**
+     * Documentos cujo CPF começa com o prefixo, em ordem de CPF
+     */
+    List<EntradaFuncionario> buscarPorCpf(String prefixo, BitSet substituidos, int limite) {
+        return buscarPorPrefixo(porCpf, prefixo, substituidos, limite);
+    }
+
+    /**
+     * Documentos cuja matrícula (normalizada) começa com o prefixo, em ordem de matrícula
+     */
+    List<EntradaFuncionario> buscarPorMatricula(String prefixo, BitSet substituidos, int limite) {
+        return buscarPorPrefixo(porMatricula, prefixo, substituidos, limite);
+    }
+
+    // ========================================================================
+    // HELPERS
+    // ========================================================================
+
+    private List<EntradaFuncionario> buscarPorPrefixo(IndicePrefixos indice, String prefixo, BitSet substituidos,
+                                                      int limite) {
+        List<EntradaFuncionario> encontrados = new ArrayList<>(Math.min(limite, 16));
+        int fim = indice.ultimo(prefixo);
+        for (int p = indice.primeiro(prefixo); p < fim && encontrados.size() < limite; p++) {
+            int doc = indice.documento(p);
+            if (!substituidos.get(doc)) {
+                encontrados.add(entradas[doc]);
+            }
+        }
+        return encontrados;
+    }
+
+    private void aceitar(int doc, String[] termos, BitSet substituidos, List<EntradaFuncionario> encontrados) {
+        if (!substituidos.get(doc) && TextoBusca.corresponde(entradas[doc].nomeDobrado(), termos)) {
+            encontrados.add(entradas[doc]);
+        }
+    }
+
+    /**
+     * Intervalos [início, fim) em postagens[] dos trigramas dos termos; null se algum trigrama não existe.
+     * Termos de 3+ letras usam seus trigramas internos, de 2 letras o trigrama de início de palavra (" ab"),
+     * de 1 letra nenhum (são apenas verificados).
+     */
+    private int[][] listasDePostagens(String[] termos) {
+        List<int[]> listas = new ArrayList<>();
+        List<Integer> vistos = new ArrayList<>();
+        for (String termo : termos) {
+            String texto = termo.length() == 2 ? " " + termo : termo;
+            for (int i = 0; i + 2 < texto.length(); i++) {
+                int grama = TextoBusca.grama(texto.charAt(i), texto.charAt(i + 1), texto.charAt(i + 2));
+                if (vistos.contains(grama)) {
+                    continue;
+                }
+                vistos.add(grama);
+                int posicao = Arrays.binarySearch(gramas, grama);
+                if (posicao < 0) {
+                    return null;
+                }
+                listas.add(new int[]{inicioPostagens[posicao], inicioPostagens[posicao + 1]});
+            }
+        }
+        return listas.toArray(int[][]::new);
+    }
+
+    private static int contarGramas(EntradaFuncionario[] entradas) {
+        int total = 0;
+        for (EntradaFuncionario entrada : entradas) {
+            total += Math.max(0, entrada.nomeDobrado().length() - 1);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,111 @@
+package br.sst.auditoria.busca;
+
+import java.text.Normalizer;
+
+/**
+ * Normalização de texto para o índice de busca.
+ *
+ * dobrar() remove acentos, passa para minúsculas e reduz tudo o que não é letra ou dígito a um único espaço,
+ * de modo que o texto indexado usa só o alfabeto [a-z0-9 ] (37 símbolos). Assim um trigrama cabe em um int
+ * menor que 37³ e as listas de postagens ficam em arrays primitivos.
+ */
+final class TextoBusca {
+
+    static final int SIMBOLOS = 37;
+
+    private TextoBusca() {
+    }
+
+    /**
+     * "José  da Conceição-Filho" → "jose da conceicao filho"
+     */
+    static String dobrar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String decomposto = ascii(texto) ? texto : Normalizer.normalize(texto, Normalizer.Form.NFD);
+
+        StringBuilder dobrado = new StringBuilder(decomposto.length());
+        boolean espaco = false;
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = Character.toLowerCase(decomposto.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (espaco && !dobrado.isEmpty()) {
+                    dobrado.append(' ');
+                }
+                dobrado.append(c);
+                espaco = false;
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                espaco = true;
+            }
+        }
+        return dobrado.toString();
+    }
+
+    /**
+     * Chave de prefixo (CPF, matrícula): texto dobrado sem espaços nem pontuação
+     */
+    static String chave(String texto) {
+        return dobrar(texto).replace(" ", "");
+    }
+
+    static boolean somenteDigitos(String texto) {
+        if (texto.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) < '0' || texto.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Código do trigrama (a, b, c) no intervalo [0, 37³)
+     */
+    static int grama(char a, char b, char c) {
+        return (simbolo(a) * SIMBOLOS + simbolo(b)) * SIMBOLOS + simbolo(c);
+    }
+
+    /**
+     * Verifica se o nome dobrado contém todos os termos: termos com até 2 letras devem iniciar uma palavra,
+     * os demais podem aparecer em qualquer posição
+     */
+    static boolean corresponde(String nomeDobrado, String[] termos) {
+        for (String termo : termos) {
+            if (termo.length() <= 2 ? !inicioDePalavra(nomeDobrado, termo) : !nomeDobrado.contains(termo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean inicioDePalavra(String nome, String termo) {
+        for (int i = nome.indexOf(termo); i >= 0; i = nome.indexOf(termo, i + 1)) {
+            if (i == 0 || nome.charAt(i - 1) == ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int simbolo(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return 0;
+    }
+
+    private static boolean ascii(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
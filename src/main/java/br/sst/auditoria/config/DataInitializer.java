@@ -4,12 +4,11 @@ import br.sst.auditoria.model.Conta;
 import br.sst.auditoria.model.Usuario;
 import br.sst.auditoria.repository.ContaRepository;
 import br.sst.auditoria.repository.UsuarioRepository;
+import br.sst.auditoria.security.GeradorIdentificadores;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
-
 /**
  * Componente para inicializar dados padrão no banco de dados.
  * Cria um usuário admin padrão se não existir.
@@ -20,13 +19,16 @@ public class DataInitializer implements CommandLineRunner {
     private final UsuarioRepository usuarioRepository;
     private final ContaRepository contaRepository;
     private final PasswordEncoder passwordEncoder;
+    private final GeradorIdentificadores geradorIdentificadores;
 
     public DataInitializer(UsuarioRepository usuarioRepository,
             ContaRepository contaRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            GeradorIdentificadores geradorIdentificadores) {
         this.usuarioRepository = usuarioRepository;
         this.contaRepository = contaRepository;
         this.passwordEncoder = passwordEncoder;
+        this.geradorIdentificadores = geradorIdentificadores;
     }
 
     @Override
@@ -35,7 +37,7 @@ public class DataInitializer implements CommandLineRunner {
         if (!usuarioRepository.existsByEmail("admin@gmail.com")) {
             // Cria o usuário admin
             Usuario admin = Usuario.builder()
-                    .id(UUID.randomUUID().toString())
+                    .id(geradorIdentificadores.novoId())
                     .nome("Administrador")
                     .email("admin@gmail.com")
                     .cpf("000.000.000-00")
@@ -49,7 +51,7 @@ public class DataInitializer implements CommandLineRunner {
 
             // Cria a conta com senha
             Conta conta = Conta.builder()
-                    .id(UUID.randomUUID().toString())
+                    .id(geradorIdentificadores.novoId())
                     .contaId(admin.getId())
                     .provedorId("credentials")
                     .senha(passwordEncoder.encode("admin123")) // Senha padrão - alterar em produção!
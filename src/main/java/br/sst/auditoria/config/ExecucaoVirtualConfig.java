@@ -0,0 +1,45 @@
+package br.sst.auditoria.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Modo de execução com virtual threads (spring.threads.virtual.enabled=true).
+ *
+ * O Tomcat, o @Scheduled e o @Async passam a usar virtual threads pela própria auto-configuração do Spring Boot;
+ * aqui o DataSource é envolvido por um {@link LimitadorConexoesDataSource} dimensionado pelo pool do Hikari,
+ * para que a concorrência ilimitada das requisições não se converta em espera dentro do pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ExecucaoVirtualConfig {
+
+    @Bean
+    public static BeanPostProcessor limitadorConexoesPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                   Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof LimitadorConexoesDataSource) {
+                    return bean;
+                }
+
+                int limite = environment.getProperty("virtual-threads.jdbc.permits", Integer.class,
+                        bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10);
+                Duration espera = environment.getProperty("virtual-threads.jdbc.acquire-timeout", Duration.class,
+                        Duration.ofSeconds(5));
+
+                return new LimitadorConexoesDataSource(dataSource, limite, espera, meterRegistry.getObject());
+            }
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package br.sst.auditoria.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que limita o número de conexões em uso simultâneo com um semáforo justo.
+ *
+ * Com virtual threads não há mais um pool de workers limitando a concorrência: milhares de requisições
+ * podem pedir conexão ao mesmo tempo. O semáforo, dimensionado pelo pool, faz as threads excedentes
+ * aguardarem de forma barata (sem ocupar carrier) e falha rápido após o tempo de espera configurado.
+ * A permissão é devolvida quando a conexão é fechada (devolvida ao pool).
+ */
+public class LimitadorConexoesDataSource extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final Duration esperaMaxima;
+    private final Timer tempoEspera;
+
+    public LimitadorConexoesDataSource(DataSource alvo, int limite, Duration esperaMaxima, MeterRegistry meterRegistry) {
+        super(alvo);
+        this.permissoes = new Semaphore(limite, true);
+        this.esperaMaxima = esperaMaxima;
+        this.tempoEspera = meterRegistry.timer("jdbc.limitador.espera");
+        Gauge.builder("jdbc.limitador.disponiveis", permissoes, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return comLiberacaoAoFechar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return comLiberacaoAoFechar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    private void adquirir() throws SQLException {
+        long inicio = System.nanoTime();
+        try {
+            if (!permissoes.tryAcquire(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Limite de conexões simultâneas atingido após " + esperaMaxima.toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão", e);
+        } finally {
+            tempoEspera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Connection comLiberacaoAoFechar(Connection conexao) {
+        AtomicBoolean liberada = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if ("close".equals(metodo.getName()) && liberada.compareAndSet(false, true)) {
+                        try {
+                            conexao.close();
+                        } finally {
+                            permissoes.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conexao, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,75 @@
+package br.sst.auditoria.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Detecta, via JFR (evento jdk.VirtualThreadPinned), virtual threads que prendem a carrier thread
+ * ao bloquear — por exemplo dentro de código nativo ou de um monitor em bibliotecas antigas.
+ *
+ * Cada ocorrência acima do limiar incrementa jvm.threads.virtual.pinagens, com a tag "origem"
+ * apontando o primeiro frame da aplicação na pilha, e é registrada em log.
+ * Ativo apenas no modo virtual threads.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class MonitorPinagemVirtualThreads {
+
+    private static final String PACOTE_APLICACAO = "br.sst.auditoria.";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration limiar;
+    private RecordingStream stream;
+
+    public MonitorPinagemVirtualThreads(MeterRegistry meterRegistry,
+                                        @Value("${virtual-threads.pinning.threshold:20ms}") Duration limiar) {
+        this.meterRegistry = meterRegistry;
+        this.limiar = limiar;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(limiar).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::registrar);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        String origem = origem(evento);
+        meterRegistry.counter("jvm.threads.virtual.pinagens", "origem", origem).increment();
+        log.warn("Virtual thread presa à carrier por {}ms em {}", evento.getDuration().toMillis(), origem);
+    }
+
+    private String origem(RecordedEvent evento) {
+        if (evento.getStackTrace() == null) {
+            return "desconhecida";
+        }
+
+        for (RecordedFrame frame : evento.getStackTrace().getFrames()) {
+            String tipo = frame.getMethod().getType().getName();
+            if (tipo.startsWith(PACOTE_APLICACAO)) {
+                return tipo.substring(PACOTE_APLICACAO.length()) + "." + frame.getMethod().getName();
+            }
+        }
+        return "externa";
+    }
+}
@@ -2,7 +2,9 @@ package br.sst.auditoria.config;
 
 import br.sst.auditoria.security.CustomAuthenticationEntryPoint;
 import br.sst.auditoria.security.CustomUserDetailsService;
+import br.sst.auditoria.security.PasswordEncoderIsolado;
 import br.sst.auditoria.security.session.SessionAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,15 +16,19 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Configuração de segurança usando autenticação baseada em sessão persistida no banco.
@@ -52,7 +58,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
         http
                 // Disable CSRF for REST API
                 .csrf(csrf -> csrf.disable())
@@ -75,10 +81,13 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         // Admin endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Actuator (health público, métricas apenas para admin)
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // All other endpoints require authentication
                         .anyRequest().authenticated())
                 // Add Session authentication filter
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider(passwordEncoder))
                 .addFilterBefore(sessionAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -99,9 +108,11 @@ public class SecurityConfig {
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Regrava o hash após um login bem-sucedido quando o algoritmo ou o custo configurado mudou
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -110,8 +121,26 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * Encoder de senhas com prefixo de algoritmo ({bcrypt}, {pbkdf2}), executado em um executor isolado.
+     * Hashes antigos sem prefixo são tratados como BCrypt e atualizados no próximo login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password.algorithm:bcrypt}") String algoritmo,
+                                           @Value("${security.password.bcrypt-strength:10}") int forcaBcrypt,
+                                           @Value("${security.password.threads:0}") int threads,
+                                           @Value("${security.password.queue-capacity:64}") int capacidadeFila,
+                                           @Value("${security.password.max-wait:2s}") Duration esperaMaxima) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(forcaBcrypt);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder delegado = new DelegatingPasswordEncoder(algoritmo, encoders);
+        delegado.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int threadsEfetivas = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new PasswordEncoderIsolado(delegado, threadsEfetivas, capacidadeFila, esperaMaxima, meterRegistry);
     }
 }
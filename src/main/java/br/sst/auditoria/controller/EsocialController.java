@@ -0,0 +1,50 @@
+package br.sst.auditoria.controller;
+
+import br.sst.auditoria.dto.esocial.ExportacaoS2240Response;
+import br.sst.auditoria.esocial.ExportacaoS2240Service;
+import br.sst.auditoria.security.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller de geração de eventos do eSocial de uma organização
+ *
+ * Endpoints:
+ * - POST   /api/organizacao/{organizacaoId}/esocial/s2240                - Exportar eventos S-2240 (em segundo plano)
+ * - GET    /api/organizacao/{organizacaoId}/esocial/s2240/{exportacaoId} - Acompanhar exportação S-2240
+ */
+@RestController
+@RequestMapping("/api/organizacao/{organizacaoId}/esocial")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+public class EsocialController {
+
+    private final ExportacaoS2240Service exportacaoS2240Service;
+
+    /**
+     * Exportar os eventos S-2240 dos funcionários ativos (processada em segundo plano; acompanhe pelo ID)
+     */
+    @PostMapping("/s2240")
+    public ResponseEntity<ExportacaoS2240Response> exportarS2240(
+            @PathVariable String organizacaoId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        ExportacaoS2240Response exportacao = exportacaoS2240Service.solicitar(organizacaoId, userDetails.getId());
+        return ResponseEntity.accepted().body(exportacao);
+    }
+
+    /**
+     * Acompanhar uma exportação S-2240
+     */
+    @GetMapping("/s2240/{exportacaoId}")
+    public ResponseEntity<ExportacaoS2240Response> obterExportacaoS2240(
+            @PathVariable String organizacaoId,
+            @PathVariable String exportacaoId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return ResponseEntity.ok(exportacaoS2240Service.obter(organizacaoId, exportacaoId, userDetails.getId()));
+    }
+}
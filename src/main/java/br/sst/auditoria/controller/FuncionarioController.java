@@ -0,0 +1,79 @@
+package br.sst.auditoria.controller;
+
+import br.sst.auditoria.dto.PaginaCursor;
+import br.sst.auditoria.dto.funcionario.FiltroFuncionarios;
+import br.sst.auditoria.dto.funcionario.FuncionarioEncontrado;
+import br.sst.auditoria.dto.funcionario.FuncionarioResumo;
+import br.sst.auditoria.dto.funcionario.ImportacaoFuncionariosResponse;
+import br.sst.auditoria.importacao.ImportacaoFuncionariosService;
+import br.sst.auditoria.security.CustomUserDetails;
+import br.sst.auditoria.service.FuncionarioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Controller de funcionários de uma organização
+ *
+ * Endpoints:
+ * - GET    /api/organizacao/{organizacaoId}/funcionarios            - Listar funcionários (filtros e cursor)
+ * - GET    /api/organizacao/{organizacaoId}/funcionarios/busca?q=   - Buscar por nome, CPF ou matrícula (typeahead)
+ * - POST   /api/organizacao/{organizacaoId}/funcionarios/importacao - Importar funcionários (CSV)
+ */
+@RestController
+@RequestMapping("/api/organizacao/{organizacaoId}/funcionarios")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+public class FuncionarioController {
+
+    private final FuncionarioService funcionarioService;
+    private final ImportacaoFuncionariosService importacaoFuncionariosService;
+
+    /**
+     * Listar funcionários por empresa, unidade, setor, cargo, situação, datas e prefixo do nome,
+     * ordenados por nome e paginados por cursor
+     */
+    @GetMapping
+    public ResponseEntity<PaginaCursor<FuncionarioResumo>> listar(
+            @PathVariable String organizacaoId,
+            FiltroFuncionarios filtro,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limite,
+            @RequestParam(defaultValue = "false") boolean total,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return ResponseEntity.ok(funcionarioService.listar(
+                organizacaoId, userDetails.getId(), filtro, cursor, limite, total));
+    }
+
+    /**
+     * Buscar funcionários por partes do nome, prefixo de CPF ou prefixo de matrícula
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<List<FuncionarioEncontrado>> buscar(
+            @PathVariable String organizacaoId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limite,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return ResponseEntity.ok(funcionarioService.buscar(organizacaoId, userDetails.getId(), q, limite));
+    }
+
+    /**
+     * Importar funcionários de um CSV enviado no corpo (lido em fluxo, sem carregar o arquivo)
+     */
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    public ResponseEntity<ImportacaoFuncionariosResponse> importar(
+            @PathVariable String organizacaoId,
+            InputStream corpo,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) throws IOException {
+        return ResponseEntity.ok(importacaoFuncionariosService.importarCsv(organizacaoId, corpo, userDetails.getId()));
+    }
+}
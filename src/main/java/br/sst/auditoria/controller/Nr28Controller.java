@@ -0,0 +1,41 @@
+package br.sst.auditoria.controller;
+
+import br.sst.auditoria.dto.nr28.SimulacaoMultasResponse;
+import br.sst.auditoria.nr28.AreaInfracao;
+import br.sst.auditoria.nr28.NivelInfracao;
+import br.sst.auditoria.nr28.SimulacaoMultasService;
+import br.sst.auditoria.security.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller de simulação de multas da NR 28 de uma organização
+ *
+ * Endpoints:
+ * - GET    /api/organizacao/{organizacaoId}/nr28/simulacao - Simular a multa de uma infração em cada unidade
+ */
+@RestController
+@RequestMapping("/api/organizacao/{organizacaoId}/nr28")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+public class Nr28Controller {
+
+    private final SimulacaoMultasService simulacaoMultasService;
+
+    /**
+     * Simular a multa de uma infração (área e nível) em todas as unidades ativas com empregados
+     */
+    @GetMapping("/simulacao")
+    public ResponseEntity<SimulacaoMultasResponse> simular(
+            @PathVariable String organizacaoId,
+            @RequestParam AreaInfracao area,
+            @RequestParam NivelInfracao nivel,
+            @RequestParam(defaultValue = "false") boolean reincidencia,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return ResponseEntity.ok(simulacaoMultasService.simular(organizacaoId, userDetails.getId(), area, nivel, reincidencia));
+    }
+}
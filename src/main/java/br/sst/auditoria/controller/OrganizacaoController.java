@@ -1,7 +1,9 @@
 package br.sst.auditoria.controller;
 
+import br.sst.auditoria.dto.PaginaCursor;
 import br.sst.auditoria.dto.organizacao.*;
 import br.sst.auditoria.security.CustomUserDetails;
+import br.sst.auditoria.service.ConviteLoteService;
 import br.sst.auditoria.service.OrganizacaoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,10 +11,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -26,16 +30,20 @@ import java.util.Map;
  * ORGANIZAÇÃO:
  * - POST   /api/organizacao              - Criar organização
  * - GET    /api/organizacao              - Listar organizações do usuário
+ * - GET    /api/organizacao?cursor=      - Listar organizações do usuário (paginação por cursor)
  * - GET    /api/organizacao/verificar-slug - Verificar disponibilidade de slug
  * - POST   /api/organizacao/ativar       - Definir organização ativa
  * - GET    /api/organizacao/{id}         - Obter organização por ID
  * - GET    /api/organizacao/{id}/completa - Obter organização completa
  * - PUT    /api/organizacao/{id}         - Atualizar organização
- * - DELETE /api/organizacao/{id}         - Deletar organização
+ * - DELETE /api/organizacao/{id}         - Deletar organização (em segundo plano)
+ * - GET    /api/organizacao/{id}/exclusao - Acompanhar exclusão da organização
  * 
  * CONVITES:
  * - POST   /api/organizacao/{id}/convites          - Convidar membro
+ * - POST   /api/organizacao/{id}/convites/lote     - Convidar vários e-mails (resposta NDJSON)
  * - GET    /api/organizacao/{id}/convites          - Listar convites da organização
+ * - GET    /api/organizacao/{id}/convites?cursor=  - Listar convites da organização (paginação por cursor)
  * - GET    /api/organizacao/meus-convites          - Listar convites do usuário
  * - GET    /api/organizacao/convites/{id}          - Obter convite
  * - POST   /api/organizacao/convites/{id}/aceitar  - Aceitar convite
@@ -44,7 +52,9 @@ import java.util.Map;
  * 
  * MEMBROS:
  * - GET    /api/organizacao/{id}/membros                   - Listar membros
+ * - GET    /api/organizacao/{id}/membros?cursor=           - Listar membros (paginação por cursor)
  * - POST   /api/organizacao/{id}/membros                   - Adicionar membro
+ * - POST   /api/organizacao/{id}/membros/lote              - Adicionar vários membros
  * - DELETE /api/organizacao/{id}/membros/{membroIdOuEmail} - Remover membro
  * - PUT    /api/organizacao/{id}/membros/papel             - Atualizar papel do membro
  * - GET    /api/organizacao/membro-ativo                   - Obter membro ativo
@@ -54,12 +64,14 @@ import java.util.Map;
  * PAPÉIS DINÂMICOS:
  * - POST   /api/organizacao/{id}/papeis              - Criar papel
  * - GET    /api/organizacao/{id}/papeis              - Listar papéis
+ * - GET    /api/organizacao/{id}/papeis?cursor=      - Listar papéis (paginação por cursor)
  * - GET    /api/organizacao/{id}/papeis/{idOuNome}   - Obter papel
  * - PUT    /api/organizacao/{id}/papeis/{idOuNome}   - Atualizar papel
  * - DELETE /api/organizacao/{id}/papeis/{idOuNome}   - Deletar papel
  * 
  * PERMISSÕES:
  * - POST   /api/organizacao/verificar-permissao      - Verificar permissão
+ * - POST   /api/organizacao/verificar-permissoes     - Verificar várias permissões
  */
 @RestController
 @RequestMapping("/api/organizacao")
@@ -68,6 +80,7 @@ import java.util.Map;
 public class OrganizacaoController {
 
     private final OrganizacaoService organizacaoService;
+    private final ConviteLoteService conviteLoteService;
 
     // ========================================================================
     // ORGANIZAÇÃO
@@ -97,12 +110,33 @@ public class OrganizacaoController {
     }
 
     /**
-     * Verificar se slug está disponível
+     * Listar organizações do usuário com paginação por cursor
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<PaginaCursor<OrganizacaoResponse>> listarOrganizacoesPorCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int limite,
+            @RequestParam(defaultValue = "false") boolean total,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        PaginaCursor<OrganizacaoResponse> pagina = organizacaoService.listarOrganizacoesDoUsuario(
+                userDetails.getId(), cursor, limite, total);
+        return ResponseEntity.ok(pagina);
+    }
+
+    /**
+     * Verificar se slug está disponível; se estiver em uso, sugere variações livres
      */
     @GetMapping("/verificar-slug")
-    public ResponseEntity<Map<String, Boolean>> verificarSlug(@RequestParam String slug) {
+    public ResponseEntity<Map<String, Object>> verificarSlug(@RequestParam String slug) {
         boolean disponivel = organizacaoService.verificarSlugDisponivel(slug);
-        return ResponseEntity.ok(Map.of("disponivel", disponivel));
+        if (disponivel) {
+            return ResponseEntity.ok(Map.of("disponivel", true));
+        }
+        return ResponseEntity.ok(Map.of(
+                "disponivel", false,
+                "sugestoes", organizacaoService.sugerirSlugs(slug)
+        ));
     }
 
     /**
@@ -169,15 +203,27 @@ public class OrganizacaoController {
     }
 
     /**
-     * Deletar organização
+     * Deletar organização (processada em segundo plano; acompanhe em /{id}/exclusao)
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletarOrganizacao(
+    public ResponseEntity<ExclusaoOrganizacaoResponse> deletarOrganizacao(
             @PathVariable String id,
             @AuthenticationPrincipal CustomUserDetails userDetails
     ) {
-        organizacaoService.deletarOrganizacao(id, userDetails.getId());
-        return ResponseEntity.noContent().build();
+        ExclusaoOrganizacaoResponse exclusao = organizacaoService.deletarOrganizacao(id, userDetails.getId());
+        return ResponseEntity.accepted().body(exclusao);
+    }
+
+    /**
+     * Acompanhar a exclusão de uma organização
+     */
+    @GetMapping("/{id}/exclusao")
+    public ResponseEntity<ExclusaoOrganizacaoResponse> obterExclusao(
+            @PathVariable String id,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        ExclusaoOrganizacaoResponse exclusao = organizacaoService.obterExclusao(id, userDetails.getId());
+        return ResponseEntity.ok(exclusao);
     }
 
     // ========================================================================
@@ -197,6 +243,23 @@ public class OrganizacaoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Convidar vários e-mails; o resultado de cada e-mail é enviado como uma linha NDJSON
+     * à medida que os blocos são gravados
+     */
+    @PostMapping(value = "/{id}/convites/lote", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> convidarMembros(
+            @PathVariable String id,
+            @Valid @RequestBody ConvidarMembrosRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        String convidadorId = userDetails.getId();
+        conviteLoteService.verificarPermissao(id, convidadorId);
+
+        StreamingResponseBody corpo = saida -> conviteLoteService.convidar(id, request, convidadorId, saida);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+    }
+
     /**
      * Listar convites de uma organização
      */
@@ -209,6 +272,21 @@ public class OrganizacaoController {
         return ResponseEntity.ok(convites);
     }
 
+    /**
+     * Listar convites de uma organização com paginação por cursor
+     */
+    @GetMapping(value = "/{id}/convites", params = "cursor")
+    public ResponseEntity<PaginaCursor<ConviteResponse>> listarConvitesPorCursor(
+            @PathVariable String id,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int limite,
+            @RequestParam(defaultValue = "false") boolean total,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        PaginaCursor<ConviteResponse> pagina = organizacaoService.listarConvites(id, userDetails.getId(), cursor, limite, total);
+        return ResponseEntity.ok(pagina);
+    }
+
     /**
      * Listar convites do usuário (convites recebidos)
      */
@@ -282,6 +360,21 @@ public class OrganizacaoController {
         return ResponseEntity.ok(membros);
     }
 
+    /**
+     * Listar membros de uma organização com paginação por cursor
+     */
+    @GetMapping(value = "/{id}/membros", params = "cursor")
+    public ResponseEntity<PaginaCursor<MembroResponse>> listarMembrosPorCursor(
+            @PathVariable String id,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int limite,
+            @RequestParam(defaultValue = "false") boolean total,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        PaginaCursor<MembroResponse> pagina = organizacaoService.listarMembros(id, userDetails.getId(), cursor, limite, total);
+        return ResponseEntity.ok(pagina);
+    }
+
     /**
      * Adicionar membro diretamente (sem convite)
      */
@@ -295,6 +388,19 @@ public class OrganizacaoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Adicionar vários membros diretamente (sem convite), com o resultado de cada item
+     */
+    @PostMapping("/{id}/membros/lote")
+    public ResponseEntity<AdicionarMembrosResponse> adicionarMembros(
+            @PathVariable String id,
+            @Valid @RequestBody AdicionarMembrosRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        AdicionarMembrosResponse response = organizacaoService.adicionarMembros(id, request, userDetails.getId());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Remover membro
      */
@@ -386,6 +492,21 @@ public class OrganizacaoController {
         return ResponseEntity.ok(papeis);
     }
 
+    /**
+     * Listar papéis de uma organização com paginação por cursor
+     */
+    @GetMapping(value = "/{id}/papeis", params = "cursor")
+    public ResponseEntity<PaginaCursor<PapelOrganizacaoResponse>> listarPapeisPorCursor(
+            @PathVariable String id,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int limite,
+            @RequestParam(defaultValue = "false") boolean total,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        PaginaCursor<PapelOrganizacaoResponse> pagina = organizacaoService.listarPapeis(id, userDetails.getId(), cursor, limite, total);
+        return ResponseEntity.ok(pagina);
+    }
+
     /**
      * Obter papel específico
      */
@@ -453,4 +574,15 @@ public class OrganizacaoController {
         );
         return ResponseEntity.ok(Map.of("temPermissao", temPermissao));
     }
+
+    /**
+     * Verificar várias permissões em uma única chamada
+     */
+    @PostMapping("/verificar-permissoes")
+    public ResponseEntity<VerificarPermissoesResponse> verificarPermissoes(
+            @Valid @RequestBody VerificarPermissoesRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return ResponseEntity.ok(organizacaoService.verificarPermissoes(request, userDetails.getId()));
+    }
 }
@@ -0,0 +1,88 @@
+package br.sst.auditoria.dto;
+
+import br.sst.auditoria.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset).
+ *
+ * O cursor é opaco para o cliente: codifica a posição (criadoEm, id) ou (nome, id) do último item
+ * devolvido, e a próxima página começa estritamente depois dela. proximoCursor é nulo na última página;
+ * total só é preenchido quando solicitado.
+ */
+public record PaginaCursor<T>(
+    List<T> itens,
+    String proximoCursor,
+    Long total
+) {
+
+    /**
+     * Posição de um item na ordenação (criadoEm, id)
+     */
+    public record Posicao(LocalDateTime criadoEm, String id) {
+
+        private static final char SEPARADOR = '|';
+
+        public String codificar() {
+            String valor = criadoEm + String.valueOf(SEPARADOR) + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Decodifica um cursor recebido do cliente; cursor vazio significa primeira página
+         */
+        public static Posicao decodificar(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separador = valor.indexOf(SEPARADOR);
+                if (separador <= 0 || separador == valor.length() - 1) {
+                    throw new BusinessException("Cursor inválido");
+                }
+                return new Posicao(LocalDateTime.parse(valor.substring(0, separador)), valor.substring(separador + 1));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new BusinessException("Cursor inválido");
+            }
+        }
+    }
+
+    /**
+     * Posição de um item na ordenação (nome, id)
+     */
+    public record PosicaoNome(String nome, String id) {
+
+        private static final char SEPARADOR = '|';
+
+        public String codificar() {
+            String valor = nome + SEPARADOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Decodifica um cursor recebido do cliente; cursor vazio significa primeira página.
+         * O nome pode conter o separador, o ID não.
+         */
+        public static PosicaoNome decodificar(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separador = valor.lastIndexOf(SEPARADOR);
+                if (separador <= 0 || separador == valor.length() - 1) {
+                    throw new BusinessException("Cursor inválido");
+                }
+                return new PosicaoNome(valor.substring(0, separador), valor.substring(separador + 1));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Cursor inválido");
+            }
+        }
+    }
+}
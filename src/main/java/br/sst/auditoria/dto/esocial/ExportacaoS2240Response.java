@@ -0,0 +1,41 @@
+package br.sst.auditoria.dto.esocial;
+
+import br.sst.auditoria.model.ExportacaoS2240;
+import br.sst.auditoria.model.enums.StatusExportacao;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de resposta para o andamento de uma exportação S-2240
+ */
+public record ExportacaoS2240Response(
+    String id,
+    String organizacaoId,
+    StatusExportacao status,
+    int unidades,
+    int unidadesConcluidas,
+    long eventos,
+    int arquivos,
+    String diretorio,
+    String erro,
+    LocalDateTime criadoEm,
+    LocalDateTime atualizadoEm,
+    LocalDateTime concluidoEm
+) {
+    public static ExportacaoS2240Response fromEntity(ExportacaoS2240 exportacao, String diretorio) {
+        return new ExportacaoS2240Response(
+            exportacao.getId(),
+            exportacao.getOrganizacaoId(),
+            exportacao.getStatus(),
+            exportacao.getUnidades(),
+            exportacao.getUnidadesConcluidas(),
+            exportacao.getEventos(),
+            exportacao.getArquivos(),
+            diretorio,
+            exportacao.getErro(),
+            exportacao.getCriadoEm(),
+            exportacao.getAtualizadoEm(),
+            exportacao.getConcluidoEm()
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package br.sst.auditoria.dto.funcionario;
+
+import br.sst.auditoria.model.enums.SituacaoFuncionario;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionais da listagem de funcionários (combinados com E); nome é um prefixo do nome completo
+ */
+public record FiltroFuncionarios(
+    String empresaId,
+    String unidadeId,
+    String setorId,
+    String cargoId,
+    SituacaoFuncionario situacao,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate admissaoDe,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate admissaoAte,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate demissaoDe,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate demissaoAte,
+    String nome
+) {}
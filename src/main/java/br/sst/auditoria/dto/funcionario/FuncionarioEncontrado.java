@@ -0,0 +1,14 @@
+package br.sst.auditoria.dto.funcionario;
+
+import br.sst.auditoria.model.enums.SituacaoFuncionario;
+
+/**
+ * Funcionário devolvido pela busca rápida (typeahead) por nome, CPF ou matrícula
+ */
+public record FuncionarioEncontrado(
+    String id,
+    String nomeCompleto,
+    String cpf,
+    String matricula,
+    SituacaoFuncionario situacao
+) {}
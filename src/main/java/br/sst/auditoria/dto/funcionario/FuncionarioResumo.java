@@ -0,0 +1,25 @@
+package br.sst.auditoria.dto.funcionario;
+
+import br.sst.auditoria.model.enums.SituacaoFuncionario;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção plana de funcionário para listagens, com setor e cargo obtidos na mesma consulta
+ */
+public record FuncionarioResumo(
+    String id,
+    String nomeCompleto,
+    String cpf,
+    String matricula,
+    SituacaoFuncionario situacao,
+    LocalDate dataAdmissao,
+    LocalDate dataDemissao,
+    String empresaId,
+    String unidadeId,
+    String setorId,
+    String setorNome,
+    String cargoId,
+    String cargoNome,
+    String cargoCbo
+) {}
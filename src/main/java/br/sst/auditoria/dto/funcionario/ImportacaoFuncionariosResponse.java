@@ -0,0 +1,22 @@
+package br.sst.auditoria.dto.funcionario;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da importação de funcionários: contagens, vazão e erros por linha
+ * (limitados; os excedentes são apenas contados em errosOmitidos)
+ */
+public record ImportacaoFuncionariosResponse(
+    long linhas,
+    long importados,
+    long comErro,
+    long duracaoMs,
+    long linhasPorSegundo,
+    List<ErroLinha> erros,
+    long errosOmitidos
+) {
+    public record ErroLinha(
+        long linha,
+        String mensagem
+    ) {}
+}
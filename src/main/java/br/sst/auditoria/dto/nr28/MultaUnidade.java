@@ -0,0 +1,17 @@
+package br.sst.auditoria.dto.nr28;
+
+import java.math.BigDecimal;
+
+/**
+ * Faixa da multa simulada para uma unidade (valores em UFIR e em reais)
+ */
+public record MultaUnidade(
+    String unidadeId,
+    String nome,
+    Short grauRisco,
+    int empregados,
+    int minimoUfir,
+    int maximoUfir,
+    BigDecimal minimo,
+    BigDecimal maximo
+) {}
@@ -0,0 +1,24 @@
+package br.sst.auditoria.dto.nr28;
+
+import br.sst.auditoria.nr28.AreaInfracao;
+import br.sst.auditoria.nr28.NivelInfracao;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Simulação das multas da NR 28 para uma infração em todas as unidades ativas da organização
+ */
+public record SimulacaoMultasResponse(
+    AreaInfracao area,
+    NivelInfracao nivel,
+    boolean reincidencia,
+    BigDecimal valorUfir,
+    int unidades,
+    long empregados,
+    long totalMinimoUfir,
+    long totalMaximoUfir,
+    BigDecimal totalMinimo,
+    BigDecimal totalMaximo,
+    List<MultaUnidade> itens
+) {}
@@ -0,0 +1,28 @@
+package br.sst.auditoria.dto.organizacao;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para adicionar vários membros diretamente (sem convite); cada item informa usuarioId ou email
+ */
+public record AdicionarMembrosRequest(
+    @NotEmpty(message = "Informe ao menos um membro")
+    @Size(max = 500, message = "Máximo de 500 membros por chamada")
+    List<@Valid Item> membros
+) {
+    public record Item(
+        String usuarioId,
+
+        @Email(message = "E-mail inválido")
+        String email,
+
+        @NotBlank(message = "Papel é obrigatório")
+        String papel
+    ) {}
+}
@@ -0,0 +1,28 @@
+package br.sst.auditoria.dto.organizacao;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da adição de membros em lote, com o resultado de cada item na ordem da requisição
+ */
+public record AdicionarMembrosResponse(
+    int adicionados,
+    List<Resultado> resultados
+) {
+    public record Resultado(
+        String usuarioId,
+        String email,
+        String papel,
+        Situacao situacao,
+        String membroId
+    ) {}
+
+    public enum Situacao {
+        ADICIONADO,
+        JA_MEMBRO,
+        DUPLICADO,
+        USUARIO_NAO_ENCONTRADO,
+        IDENTIFICACAO_AUSENTE,
+        PAPEL_INEXISTENTE
+    }
+}
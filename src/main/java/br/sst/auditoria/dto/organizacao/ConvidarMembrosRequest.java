@@ -0,0 +1,21 @@
+package br.sst.auditoria.dto.organizacao;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para convidar vários e-mails para a organização com o mesmo papel
+ */
+public record ConvidarMembrosRequest(
+    @NotEmpty(message = "Informe ao menos um e-mail")
+    @Size(max = 10000, message = "Máximo de 10000 e-mails por chamada")
+    List<String> emails,
+
+    @NotBlank(message = "Papel é obrigatório")
+    String papel,
+
+    Boolean reenviar
+) {}
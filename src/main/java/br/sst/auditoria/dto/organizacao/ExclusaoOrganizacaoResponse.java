@@ -0,0 +1,42 @@
+package br.sst.auditoria.dto.organizacao;
+
+import br.sst.auditoria.model.ExclusaoOrganizacao;
+import br.sst.auditoria.model.enums.StatusExclusao;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de resposta para o andamento da exclusão de uma organização
+ */
+public record ExclusaoOrganizacaoResponse(
+    String organizacaoId,
+    String nome,
+    StatusExclusao status,
+    String etapa,
+    long total,
+    long removidos,
+    int percentual,
+    String erro,
+    LocalDateTime criadoEm,
+    LocalDateTime atualizadoEm,
+    LocalDateTime concluidoEm
+) {
+    public static ExclusaoOrganizacaoResponse fromEntity(ExclusaoOrganizacao exclusao) {
+        int percentual = exclusao.getStatus() == StatusExclusao.CONCLUIDA || exclusao.getTotal() == 0
+                ? 100
+                : (int) Math.min(99, exclusao.getRemovidos() * 100 / exclusao.getTotal());
+        return new ExclusaoOrganizacaoResponse(
+            exclusao.getOrganizacaoId(),
+            exclusao.getNome(),
+            exclusao.getStatus(),
+            exclusao.getEtapa(),
+            exclusao.getTotal(),
+            exclusao.getRemovidos(),
+            percentual,
+            exclusao.getErro(),
+            exclusao.getCriadoEm(),
+            exclusao.getAtualizadoEm(),
+            exclusao.getConcluidoEm()
+        );
+    }
+}
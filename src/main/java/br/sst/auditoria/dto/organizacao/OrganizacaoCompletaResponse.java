@@ -6,7 +6,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 /**
- * DTO de resposta para organização completa com membros e convites
+ * DTO de resposta para organização completa com membros e convites.
+ * As listas são limitadas; os totais trazem a contagem completa.
  */
 public record OrganizacaoCompletaResponse(
     String id,
@@ -16,12 +17,16 @@ public record OrganizacaoCompletaResponse(
     String metadados,
     LocalDateTime criadoEm,
     List<MembroResponse> membros,
-    List<ConviteResponse> convites
+    List<ConviteResponse> convites,
+    long totalMembros,
+    long totalConvites
 ) {
     public static OrganizacaoCompletaResponse fromEntity(
             Organizacao organizacao,
             List<MembroResponse> membros,
-            List<ConviteResponse> convites
+            List<ConviteResponse> convites,
+            long totalMembros,
+            long totalConvites
     ) {
         return new OrganizacaoCompletaResponse(
             organizacao.getId(),
@@ -31,7 +36,9 @@ public record OrganizacaoCompletaResponse(
             organizacao.getMetadados(),
             organizacao.getCriadoEm(),
             membros,
-            convites
+            convites,
+            totalMembros,
+            totalConvites
         );
     }
 }
@@ -0,0 +1,20 @@
+package br.sst.auditoria.dto.organizacao;
+
+/**
+ * Resultado do convite de um e-mail no convite em lote (uma linha NDJSON por e-mail)
+ */
+public record ResultadoConvite(
+    String email,
+    Situacao situacao,
+    String conviteId
+) {
+    public enum Situacao {
+        CONVIDADO,
+        REENVIADO,
+        CONVITE_PENDENTE,
+        JA_MEMBRO,
+        DUPLICADO,
+        EMAIL_INVALIDO,
+        ERRO
+    }
+}
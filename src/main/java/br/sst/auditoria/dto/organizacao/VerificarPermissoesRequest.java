@@ -0,0 +1,28 @@
+package br.sst.auditoria.dto.organizacao;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para verificar várias permissões em uma única chamada
+ */
+public record VerificarPermissoesRequest(
+    @NotEmpty(message = "Informe ao menos uma verificação")
+    @Size(max = 500, message = "Máximo de 500 verificações por chamada")
+    List<@Valid Verificacao> verificacoes
+) {
+    public record Verificacao(
+        @NotBlank(message = "Organização é obrigatória")
+        String organizacaoId,
+
+        @NotBlank(message = "Recurso é obrigatório")
+        String recurso,
+
+        @NotBlank(message = "Ação é obrigatória")
+        String acao
+    ) {}
+}
@@ -0,0 +1,10 @@
+package br.sst.auditoria.dto.organizacao;
+
+import java.util.Map;
+
+/**
+ * DTO de resposta da verificação em lote: organizacaoId → "recurso:acao" → permitido
+ */
+public record VerificarPermissoesResponse(
+    Map<String, Map<String, Boolean>> permissoes
+) {}
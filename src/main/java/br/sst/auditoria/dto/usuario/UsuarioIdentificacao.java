@@ -0,0 +1,9 @@
+package br.sst.auditoria.dto.usuario;
+
+/**
+ * Projeção mínima de usuário (ID e e-mail) para resolução em lote
+ */
+public record UsuarioIdentificacao(
+    String id,
+    String email
+) {}
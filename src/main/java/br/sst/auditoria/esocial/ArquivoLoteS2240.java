@@ -0,0 +1,173 @@
+package br.sst.auditoria.esocial;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+
+/**
+ * Arquivo de lote de envio (envioLoteEventos, grupo 2 - não periódicos) com eventos S-2240 de uma unidade.
+ *
+ * Escrito em fluxo com StAX direto no disco, sem montar a árvore XML: a memória usada não depende do número de
+ * eventos. O conteúdo vai para um arquivo .part, renomeado para o nome final só em concluir(); um arquivo com o
+ * nome final está sempre completo.
+ *
+ * O modelo ainda não tem o inventário de riscos (PGR/LTCAT) nem o responsável pelos registros ambientais, então
+ * cada evento sai com o agente 09.01.001 (ausência de agente nocivo) e sem respReg: os arquivos devem ser
+ * revisados antes da transmissão.
+ */
+final class ArquivoLoteS2240 implements Closeable {
+
+    static final String NAMESPACE_LOTE = "http://www.esocial.gov.br/schema/lote/eventos/envio/v1_1_1";
+    static final String NAMESPACE_EVENTO = "http://www.esocial.gov.br/schema/evt/evtExpRisco/v_S_01_02_00";
+    static final String AGENTE_AUSENTE = "09.01.001";
+
+    private static final XMLOutputFactory FABRICA = XMLOutputFactory.newFactory();
+    private static final int TAMANHO_SETOR = 100;
+    private static final int TAMANHO_ATIVIDADE = 999;
+
+    private final Path destino;
+    private final Path parcial;
+    private final OutputStream saida;
+    private final XMLStreamWriter xml;
+    private final UnidadeS2240 unidade;
+    private final int ambiente;
+    private final String versaoProcesso;
+    private int eventos;
+    private boolean concluido;
+
+    ArquivoLoteS2240(Path destino, UnidadeS2240 unidade, int ambiente, String versaoProcesso)
+            throws IOException, XMLStreamException {
+        this.destino = destino;
+        this.parcial = destino.resolveSibling(destino.getFileName() + ".part");
+        this.unidade = unidade;
+        this.ambiente = ambiente;
+        this.versaoProcesso = versaoProcesso;
+        this.saida = new BufferedOutputStream(Files.newOutputStream(parcial), 64 * 1024);
+        this.xml = FABRICA.createXMLStreamWriter(saida, "UTF-8");
+
+        xml.writeStartDocument("UTF-8", "1.0");
+        xml.writeStartElement("eSocial");
+        xml.writeDefaultNamespace(NAMESPACE_LOTE);
+        xml.writeStartElement("envioLoteEventos");
+        xml.writeAttribute("grupo", "2");
+        inscricao("ideEmpregador", unidade.tipoInscricaoEmpregador(), unidade.inscricaoEmpregador());
+        inscricao("ideTransmissor", unidade.tipoInscricaoEmpregador(), unidade.empresaNumeroDocumento());
+        xml.writeStartElement("eventos");
+    }
+
+    int eventos() {
+        return eventos;
+    }
+
+    /**
+     * Escreve o evento S-2240 do trabalhador
+     */
+    void adicionar(String id, TrabalhadorS2240 trabalhador, LocalDate hoje) throws XMLStreamException {
+        xml.writeStartElement("evento");
+        xml.writeAttribute("Id", id);
+        xml.writeStartElement("eSocial");
+        xml.writeDefaultNamespace(NAMESPACE_EVENTO);
+        xml.writeStartElement("evtExpRisco");
+        xml.writeAttribute("Id", id);
+
+        xml.writeStartElement("ideEvento");
+        elemento("indRetif", "1");
+        elemento("tpAmb", String.valueOf(ambiente));
+        elemento("procEmi", "1");
+        elemento("verProc", versaoProcesso);
+        xml.writeEndElement();
+
+        inscricao("ideEmpregador", unidade.tipoInscricaoEmpregador(), unidade.inscricaoEmpregador());
+
+        xml.writeStartElement("ideVinculo");
+        elemento("cpfTrab", trabalhador.cpf());
+        if (trabalhador.matricula() != null && !trabalhador.matricula().isBlank()) {
+            elemento("matricula", trabalhador.matricula());
+        }
+        xml.writeEndElement();
+
+        xml.writeStartElement("infoExpRisco");
+        LocalDate inicio = trabalhador.dataAdmissao() != null ? trabalhador.dataAdmissao() : hoje;
+        elemento("dtIniCondicao", inicio.toString());
+
+        xml.writeStartElement("infoAmb");
+        elemento("localAmb", "1");
+        elemento("dscSetor", limitar(trabalhador.setorNome(), TAMANHO_SETOR));
+        elemento("tpInsc", String.valueOf(unidade.tipoInscricao()));
+        elemento("nrInsc", unidade.numeroDocumento());
+        xml.writeEndElement();
+
+        xml.writeStartElement("infoAtiv");
+        String atividade = trabalhador.cargoDescricao() != null && !trabalhador.cargoDescricao().isBlank()
+                ? trabalhador.cargoDescricao()
+                : trabalhador.cargoNome();
+        elemento("dscAtivDes", limitar(atividade, TAMANHO_ATIVIDADE));
+        xml.writeEndElement();
+
+        xml.writeStartElement("agNoc");
+        elemento("codAgNoc", AGENTE_AUSENTE);
+        xml.writeEndElement();
+
+        xml.writeEndElement(); // infoExpRisco
+        xml.writeEndElement(); // evtExpRisco
+        xml.writeEndElement(); // eSocial
+        xml.writeEndElement(); // evento
+        eventos++;
+    }
+
+    /**
+     * Fecha o lote e publica o arquivo com o nome final
+     */
+    void concluir() throws IOException, XMLStreamException {
+        xml.writeEndElement(); // eventos
+        xml.writeEndElement(); // envioLoteEventos
+        xml.writeEndElement(); // eSocial
+        xml.writeEndDocument();
+        xml.close();
+        saida.close();
+        Files.move(parcial, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        concluido = true;
+    }
+
+    /**
+     * Sem concluir(), descarta o arquivo parcial
+     */
+    @Override
+    public void close() throws IOException {
+        if (concluido) {
+            return;
+        }
+        try {
+            xml.close();
+        } catch (XMLStreamException e) {
+            // O arquivo parcial é descartado de qualquer forma
+        }
+        saida.close();
+        Files.deleteIfExists(parcial);
+    }
+
+    private void inscricao(String elemento, int tipo, String numero) throws XMLStreamException {
+        xml.writeStartElement(elemento);
+        elemento("tpInsc", String.valueOf(tipo));
+        elemento("nrInsc", numero);
+        xml.writeEndElement();
+    }
+
+    private void elemento(String nome, String valor) throws XMLStreamException {
+        xml.writeStartElement(nome);
+        xml.writeCharacters(valor);
+        xml.writeEndElement();
+    }
+
+    private static String limitar(String texto, int tamanho) {
+        return texto.length() > tamanho ? texto.substring(0, tamanho) : texto;
+    }
+}
@@ -0,0 +1,581 @@
+package br.sst.auditoria.esocial;
+
+import br.sst.auditoria.dto.esocial.ExportacaoS2240Response;
+import br.sst.auditoria.exception.ResourceNotFoundException;
+import br.sst.auditoria.exception.UnauthorizedException;
+import br.sst.auditoria.model.ExportacaoS2240;
+import br.sst.auditoria.model.enums.Papel;
+import br.sst.auditoria.model.enums.StatusExportacao;
+import br.sst.auditoria.repository.ExportacaoS2240Repository;
+import br.sst.auditoria.security.permissao.VinculosUsuarioCache;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exportação dos eventos S-2240 de todos os funcionários ativos de uma organização, em segundo plano.
+ *
+ * - solicitar(): registra a exportação e um ponto de retomada por unidade ativa (um único INSERT ... SELECT).
+ * - processarPendentes(): periodicamente, assume exportações pendentes (ou cujo lease expirou) e distribui as
+ *   unidades em um pool limitado a esocial.s2240.threads; renova o lease das exportações em andamento no nó.
+ *
+ * O lease pertence ao nó que assumiu a exportação (coluna executor). Renovação, pontos de retomada e conclusão
+ * só são gravados por esse nó; se outro nó assumir a exportação (por exemplo, após uma pausa maior que
+ * esocial.s2240.lease), a renovação ou o próximo ponto não altera nenhuma linha e o trabalho local é
+ * interrompido sem publicar mais arquivos.
+ *
+ * Cada unidade é lida com um cursor somente-avanço (fetch size esocial.s2240.fetch-size) ordenado por
+ * (nome_completo, id), no índice de unidade/situação de funcionario, e escrita em fluxo em arquivos de lote de
+ * até esocial.s2240.events-per-file eventos ({@link ArquivoLoteS2240}). A cada arquivo concluído o ponto de
+ * retomada é gravado em uma transação própria; uma exportação interrompida descarta os arquivos posteriores
+ * ao último ponto e continua dele. A memória usada não depende do tamanho da organização: no máximo um
+ * arquivo aberto e um lote do cursor por thread.
+ *
+ * Cada thread usa duas conexões ao mesmo tempo (a do cursor e a do ponto de retomada, REQUIRES_NEW). Para que
+ * as threads não se bloqueiem esperando a segunda conexão, a inicialização exige
+ * 2 × esocial.s2240.threads menor que o limite de conexões (pool do Hikari, ou virtual-threads.jdbc.permits
+ * quando menor, com virtual threads).
+ *
+ * Métricas: esocial.s2240.eventos, esocial.s2240.arquivos e esocial.s2240.concluidas.
+ */
+@Service
+@Slf4j
+public class ExportacaoS2240Service implements DisposableBean {
+
+    private static final Set<String> PAPEIS_QUE_EXPORTAM = Set.of(Papel.PROPRIETARIO.name(), Papel.ADMINISTRADOR.name());
+    private static final List<StatusExportacao> STATUS_ABERTOS = List.of(StatusExportacao.PENDENTE, StatusExportacao.EM_ANDAMENTO);
+    private static final int EXPORTACOES_POR_CICLO = 5;
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    private static final String SQL_CRIAR_PONTOS =
+            "INSERT INTO exportacao_s2240_unidade (id, exportacao_id, organizacao_id, unidade_id, status, arquivos, "
+                    + "eventos, atualizado_em) "
+                    + "SELECT gen_random_uuid()::text, ?, u.organizacao_id, u.id, 'PENDENTE', 0, 0, ? FROM unidade u "
+                    + "WHERE u.organizacao_id = ? AND u.situacao = 'ATIVO'";
+
+    private static final String SQL_ASSUMIR =
+            "UPDATE exportacao_s2240 SET status = 'EM_ANDAMENTO', executor = ?, atualizado_em = ? "
+                    + "WHERE id = ? AND (status = 'PENDENTE' "
+                    + "OR (status = 'EM_ANDAMENTO' AND atualizado_em < ?))";
+
+    private static final String SQL_RENOVAR =
+            "UPDATE exportacao_s2240 SET atualizado_em = ? WHERE id = ? AND status = 'EM_ANDAMENTO' AND executor = ?";
+
+    private static final String SQL_PONTOS_ABERTOS =
+            "SELECT unidade_id, arquivos, ultimo_nome, ultimo_funcionario_id FROM exportacao_s2240_unidade "
+                    + "WHERE exportacao_id = ? AND status <> 'CONCLUIDA'";
+
+    private static final String SQL_UNIDADE =
+            "SELECT u.id, u.tipo_documento, u.numero_documento, "
+                    + "e.tipo_documento AS empresa_tipo_documento, e.numero_documento AS empresa_numero_documento "
+                    + "FROM unidade u JOIN empresa e ON e.id = u.empresa_id WHERE u.id = ?";
+
+    private static final String SQL_TRABALHADORES =
+            "SELECT f.id, f.nome_completo, f.cpf, f.matricula, f.data_admissao, "
+                    + "s.nome AS setor_nome, c.nome AS cargo_nome, c.descricao AS cargo_descricao "
+                    + "FROM funcionario f JOIN setor s ON s.id = f.setor_id JOIN cargo c ON c.id = f.cargo_id "
+                    + "WHERE f.unidade_id = ? AND f.situacao = 'ATIVO' ";
+
+    private static final String SQL_APOS = "AND (f.nome_completo, f.id) > (?, ?) ";
+
+    private static final String SQL_ORDEM = "ORDER BY f.nome_completo, f.id";
+
+    private static final String SQL_PONTO =
+            "UPDATE exportacao_s2240_unidade SET status = 'EM_ANDAMENTO', arquivos = ?, eventos = eventos + ?, "
+                    + "ultimo_nome = ?, ultimo_funcionario_id = ?, atualizado_em = ? "
+                    + "WHERE exportacao_id = ? AND unidade_id = ?";
+
+    private static final String SQL_PROGRESSO =
+            "UPDATE exportacao_s2240 SET arquivos = arquivos + 1, eventos = eventos + ?, atualizado_em = ?, erro = NULL "
+                    + "WHERE id = ? AND status = 'EM_ANDAMENTO' AND executor = ?";
+
+    private static final String SQL_CONCLUIR_PONTO =
+            "UPDATE exportacao_s2240_unidade SET status = 'CONCLUIDA', atualizado_em = ? "
+                    + "WHERE exportacao_id = ? AND unidade_id = ?";
+
+    private static final String SQL_UNIDADE_CONCLUIDA =
+            "UPDATE exportacao_s2240 SET unidades_concluidas = unidades_concluidas + 1, atualizado_em = ? "
+                    + "WHERE id = ? AND status = 'EM_ANDAMENTO' AND executor = ?";
+
+    private static final String SQL_CONCLUIR =
+            "UPDATE exportacao_s2240 SET status = 'CONCLUIDA', atualizado_em = ?, concluido_em = ?, erro = NULL "
+                    + "WHERE id = ? AND status = 'EM_ANDAMENTO' AND executor = ?";
+
+    private static final String SQL_ERRO =
+            "UPDATE exportacao_s2240 SET erro = ? WHERE id = ? AND executor = ?";
+
+    private final ExportacaoS2240Repository exportacaoRepository;
+    private final VinculosUsuarioCache vinculosUsuarioCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacaoLeitura;
+    private final TransactionTemplate transacaoPonto;
+    private final ExecutorService executor;
+    private final IdentificadorEventos identificadorEventos = new IdentificadorEventos();
+    private final Set<String> emAndamento = ConcurrentHashMap.newKeySet();
+    private final Set<String> perdidas = ConcurrentHashMap.newKeySet();
+    private final String noId = UUID.randomUUID().toString();
+
+    private final Path diretorioBase;
+    private final int eventosPorArquivo;
+    private final int tamanhoCursor;
+    private final Duration lease;
+    private final int ambiente;
+    private final String versaoProcesso;
+
+    private final Counter eventosGerados;
+    private final Counter arquivosGerados;
+    private final Counter exportacoesConcluidas;
+
+    public ExportacaoS2240Service(ExportacaoS2240Repository exportacaoRepository,
+                                  VinculosUsuarioCache vinculosUsuarioCache,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  DataSource dataSource,
+                                  Environment environment,
+                                  @Value("${esocial.s2240.directory:esocial}") String diretorioBase,
+                                  @Value("${esocial.s2240.threads:4}") int threads,
+                                  @Value("${esocial.s2240.events-per-file:50}") int eventosPorArquivo,
+                                  @Value("${esocial.s2240.fetch-size:500}") int tamanhoCursor,
+                                  @Value("${esocial.s2240.lease:2m}") Duration lease,
+                                  @Value("${esocial.environment:2}") int ambiente,
+                                  @Value("${esocial.software-version:SST-AuditoriA}") String versaoProcesso) {
+        this.exportacaoRepository = exportacaoRepository;
+        this.vinculosUsuarioCache = vinculosUsuarioCache;
+        this.jdbcTemplate = jdbcTemplate;
+
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.transacaoPonto = new TransactionTemplate(transactionManager);
+        this.transacaoPonto.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        verificarConexoes(threads, dataSource, environment);
+        this.executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("esocial-s2240-", 0).daemon(true).factory());
+
+        this.diretorioBase = Path.of(diretorioBase).toAbsolutePath();
+        this.eventosPorArquivo = eventosPorArquivo;
+        this.tamanhoCursor = tamanhoCursor;
+        this.lease = lease;
+        this.ambiente = ambiente;
+        this.versaoProcesso = versaoProcesso;
+
+        this.eventosGerados = meterRegistry.counter("esocial.s2240.eventos");
+        this.arquivosGerados = meterRegistry.counter("esocial.s2240.arquivos");
+        this.exportacoesConcluidas = meterRegistry.counter("esocial.s2240.concluidas");
+    }
+
+    /**
+     * Registra a exportação S-2240 da organização. Enquanto houver uma em aberto, ela é devolvida.
+     */
+    @Transactional
+    public ExportacaoS2240Response solicitar(String organizacaoId, String usuarioId) {
+        verificarPermissao(organizacaoId, usuarioId);
+
+        Optional<ExportacaoS2240> aberta = exportacaoRepository.findFirstByOrganizacaoIdAndStatusInOrderByCriadoEmDesc(
+                organizacaoId, STATUS_ABERTOS);
+        if (aberta.isPresent()) {
+            return resposta(aberta.get());
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        ExportacaoS2240 exportacao = exportacaoRepository.save(ExportacaoS2240.builder()
+                .organizacaoId(organizacaoId)
+                .solicitadoPor(usuarioId)
+                .atualizadoEm(agora)
+                .build());
+        exportacao.setUnidades(jdbcTemplate.update(SQL_CRIAR_PONTOS,
+                exportacao.getId(), Timestamp.valueOf(agora), organizacaoId));
+
+        log.info("Exportação S-2240 {} da organização {} solicitada por {} ({} unidades)",
+                exportacao.getId(), organizacaoId, usuarioId, exportacao.getUnidades());
+        return resposta(exportacao);
+    }
+
+    /**
+     * Andamento de uma exportação, visível para os membros da organização
+     */
+    @Transactional(readOnly = true)
+    public ExportacaoS2240Response obter(String organizacaoId, String exportacaoId, String usuarioId) {
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacaoId)) {
+            throw new UnauthorizedException("Usuário não é membro desta organização");
+        }
+
+        return exportacaoRepository.findByIdAndOrganizacaoId(exportacaoId, organizacaoId)
+                .map(this::resposta)
+                .orElseThrow(() -> new ResourceNotFoundException("Exportação S-2240", "id", exportacaoId));
+    }
+
+    /**
+     * Renova o lease das exportações em andamento neste nó e inicia as pendentes (ou abandonadas por outro nó).
+     * Não espera as unidades: o agendador é compartilhado com as demais tarefas periódicas.
+     */
+    @Scheduled(fixedDelayString = "${esocial.s2240.poll-interval:5000}")
+    public void processarPendentes() {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        for (String id : emAndamento) {
+            if (jdbcTemplate.update(SQL_RENOVAR, agora, id, noId) == 0) {
+                perder(id);
+            }
+        }
+
+        List<String> exportacaoIds = exportacaoRepository.findIdsByStatus(STATUS_ABERTOS, Limit.of(EXPORTACOES_POR_CICLO));
+        for (String exportacaoId : exportacaoIds) {
+            if (!emAndamento.contains(exportacaoId) && assumir(exportacaoId)) {
+                iniciar(exportacaoId);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    // ========================================================================
+    // HELPERS
+    // ========================================================================
+
+    /**
+     * Cada thread segura duas conexões (cursor + ponto de retomada); com metade do limite ou mais em threads,
+     * todas podem ficar com o cursor aberto esperando a segunda conexão
+     */
+    private static void verificarConexoes(int threads, DataSource dataSource, Environment environment) {
+        int limite;
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return;
+            }
+            limite = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException e) {
+            return;
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            limite = Math.min(limite, environment.getProperty("virtual-threads.jdbc.permits", Integer.class, limite));
+        }
+        if (threads * 2 >= limite) {
+            throw new IllegalStateException("esocial.s2240.threads = " + threads + " exige mais de " + threads * 2
+                    + " conexões (cada thread usa duas), mas o limite de conexões é " + limite
+                    + "; reduza esocial.s2240.threads ou aumente o pool");
+        }
+    }
+
+    private void verificarPermissao(String organizacaoId, String usuarioId) {
+        String papel = vinculosUsuarioCache.papel(usuarioId, organizacaoId);
+        if (papel == null) {
+            throw new UnauthorizedException("Usuário não é membro desta organização");
+        }
+        if (!PAPEIS_QUE_EXPORTAM.contains(papel)) {
+            throw new UnauthorizedException("Você não tem permissão para realizar esta ação");
+        }
+    }
+
+    private ExportacaoS2240Response resposta(ExportacaoS2240 exportacao) {
+        return ExportacaoS2240Response.fromEntity(exportacao, diretorio(exportacao.getOrganizacaoId(), exportacao.getId()).toString());
+    }
+
+    private Path diretorio(String organizacaoId, String exportacaoId) {
+        return diretorioBase.resolve(organizacaoId).resolve(exportacaoId);
+    }
+
+    private boolean assumir(String exportacaoId) {
+        LocalDateTime agora = LocalDateTime.now();
+        return jdbcTemplate.update(SQL_ASSUMIR,
+                noId, Timestamp.valueOf(agora), exportacaoId, Timestamp.valueOf(agora.minus(lease))) == 1;
+    }
+
+    /**
+     * Outro nó assumiu a exportação: as unidades em andamento aqui param no próximo funcionário ou ponto
+     */
+    private void perder(String exportacaoId) {
+        if (perdidas.add(exportacaoId)) {
+            log.warn("Lease da exportação S-2240 {} perdido; interrompendo o trabalho neste nó", exportacaoId);
+        }
+    }
+
+    private void exigirLease(String exportacaoId) {
+        if (perdidas.contains(exportacaoId)) {
+            throw new IllegalStateException("Lease da exportação S-2240 " + exportacaoId + " assumido por outro nó");
+        }
+    }
+
+    /**
+     * Grava, na transação corrente, uma alteração condicionada ao lease deste nó; sem linha alterada o lease
+     * foi perdido e a transação é desfeita
+     */
+    private void gravarComLease(String exportacaoId, String sql, Object... argumentos) {
+        if (jdbcTemplate.update(sql, argumentos) == 0) {
+            perder(exportacaoId);
+            exigirLease(exportacaoId);
+        }
+    }
+
+    private void iniciar(String exportacaoId) {
+        ExportacaoS2240 exportacao = exportacaoRepository.findById(exportacaoId).orElse(null);
+        if (exportacao == null) {
+            return;
+        }
+        Path diretorio = diretorio(exportacao.getOrganizacaoId(), exportacaoId);
+        List<PontoRetomada> pontos = jdbcTemplate.query(SQL_PONTOS_ABERTOS, (rs, linha) -> new PontoRetomada(
+                rs.getString("unidade_id"),
+                rs.getInt("arquivos"),
+                rs.getString("ultimo_nome"),
+                rs.getString("ultimo_funcionario_id")), exportacaoId);
+
+        perdidas.remove(exportacaoId);
+        emAndamento.add(exportacaoId);
+        CompletableFuture<?>[] unidades = pontos.stream()
+                .map(ponto -> CompletableFuture.runAsync(() -> exportarUnidade(exportacaoId, diretorio, ponto), executor))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(unidades).whenComplete((resultado, erro) -> {
+            try {
+                if (perdidas.contains(exportacaoId)) {
+                    log.info("Exportação S-2240 {} interrompida neste nó; segue no nó que a assumiu", exportacaoId);
+                } else if (erro == null) {
+                    concluir(exportacaoId);
+                } else {
+                    // Mantém EM_ANDAMENTO: a exportação é retomada dos pontos gravados quando o lease expirar
+                    Throwable causa = erro.getCause() != null ? erro.getCause() : erro;
+                    log.error("Falha na exportação S-2240 {}: {}", exportacaoId, causa.getMessage(), causa);
+                    jdbcTemplate.update(SQL_ERRO, limitar(causa.getMessage()), exportacaoId, noId);
+                }
+            } finally {
+                emAndamento.remove(exportacaoId);
+                perdidas.remove(exportacaoId);
+            }
+        });
+    }
+
+    private void exportarUnidade(String exportacaoId, Path diretorio, PontoRetomada ponto) {
+        exigirLease(exportacaoId);
+        try {
+            Files.createDirectories(diretorio);
+            descartarIncompletos(diretorio, ponto);
+
+            UnidadeS2240 unidade;
+            try {
+                unidade = jdbcTemplate.queryForObject(SQL_UNIDADE, (rs, linha) -> new UnidadeS2240(
+                        rs.getString("id"),
+                        rs.getString("tipo_documento"),
+                        rs.getString("numero_documento"),
+                        rs.getString("empresa_tipo_documento"),
+                        rs.getString("empresa_numero_documento")), ponto.unidadeId());
+            } catch (EmptyResultDataAccessException e) {
+                unidade = null; // removida depois da solicitação
+            }
+
+            if (unidade != null) {
+                EscritaUnidade escrita = new EscritaUnidade(exportacaoId, diretorio, unidade, ponto.arquivos());
+                try {
+                    // O cursor do PostgreSQL (fetch size) só vale dentro de uma transação
+                    transacaoLeitura.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                        boolean retomando = ponto.ultimoFuncionarioId() != null;
+                        PreparedStatement ps = con.prepareStatement(
+                                SQL_TRABALHADORES + (retomando ? SQL_APOS : "") + SQL_ORDEM,
+                                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        ps.setFetchSize(tamanhoCursor);
+                        ps.setString(1, ponto.unidadeId());
+                        if (retomando) {
+                            ps.setString(2, ponto.ultimoNome());
+                            ps.setString(3, ponto.ultimoFuncionarioId());
+                        }
+                        return ps;
+                    }, escrita));
+                    escrita.finalizar();
+                } catch (RuntimeException e) {
+                    escrita.descartar();
+                    throw e;
+                }
+            }
+
+            transacaoPonto.executeWithoutResult(status -> {
+                Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+                gravarComLease(exportacaoId, SQL_UNIDADE_CONCLUIDA, agora, exportacaoId, noId);
+                jdbcTemplate.update(SQL_CONCLUIR_PONTO, agora, exportacaoId, ponto.unidadeId());
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Remove arquivos parciais e os gravados depois do último ponto de retomada da unidade
+     */
+    static void descartarIncompletos(Path diretorio, PontoRetomada ponto) throws IOException {
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, ponto.unidadeId() + "-*")) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                if (nome.endsWith(".part") || sequencia(nome, ponto.unidadeId()) > ponto.arquivos()) {
+                    Files.deleteIfExists(arquivo);
+                }
+            }
+        }
+    }
+
+    private static Path arquivo(Path diretorio, String unidadeId, int sequencia) {
+        return diretorio.resolve(String.format("%s-%05d.xml", unidadeId, sequencia));
+    }
+
+    private static int sequencia(String nome, String unidadeId) {
+        try {
+            return Integer.parseInt(nome.substring(unidadeId.length() + 1, nome.indexOf('.')));
+        } catch (RuntimeException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private void concluir(String exportacaoId) {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update(SQL_CONCLUIR, agora, agora, exportacaoId, noId) == 0) {
+            log.warn("Exportação S-2240 {} assumida por outro nó antes da conclusão", exportacaoId);
+            return;
+        }
+        exportacoesConcluidas.increment();
+        log.info("Exportação S-2240 {} concluída", exportacaoId);
+    }
+
+    private static String limitar(String mensagem) {
+        return mensagem != null && mensagem.length() > TAMANHO_MAXIMO_ERRO
+                ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO)
+                : mensagem;
+    }
+
+    record PontoRetomada(String unidadeId, int arquivos, String ultimoNome, String ultimoFuncionarioId) {
+    }
+
+    /**
+     * Consome o cursor de uma unidade escrevendo os eventos em arquivos de lote; grava o ponto de retomada
+     * a cada arquivo concluído
+     */
+    private final class EscritaUnidade implements RowCallbackHandler {
+        private final String exportacaoId;
+        private final Path diretorio;
+        private final UnidadeS2240 unidade;
+        private final LocalDate hoje = LocalDate.now();
+        private int arquivos;
+        private ArquivoLoteS2240 atual;
+        private TrabalhadorS2240 ultimo;
+
+        private EscritaUnidade(String exportacaoId, Path diretorio, UnidadeS2240 unidade, int arquivos) {
+            this.exportacaoId = exportacaoId;
+            this.diretorio = diretorio;
+            this.unidade = unidade;
+            this.arquivos = arquivos;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            exigirLease(exportacaoId);
+            Date admissao = rs.getDate("data_admissao");
+            ultimo = new TrabalhadorS2240(
+                    rs.getString("id"),
+                    rs.getString("nome_completo"),
+                    rs.getString("cpf"),
+                    rs.getString("matricula"),
+                    admissao != null ? admissao.toLocalDate() : null,
+                    rs.getString("setor_nome"),
+                    rs.getString("cargo_nome"),
+                    rs.getString("cargo_descricao"));
+
+            try {
+                if (atual == null) {
+                    atual = new ArquivoLoteS2240(arquivo(diretorio, unidade.id(), arquivos + 1),
+                            unidade, ambiente, versaoProcesso);
+                }
+                atual.adicionar(identificadorEventos.proximo(unidade.tipoInscricaoEmpregador(),
+                        unidade.inscricaoEmpregador()), ultimo, hoje);
+                if (atual.eventos() == eventosPorArquivo) {
+                    fecharArquivo();
+                }
+            } catch (IOException e) {
+                descartar();
+                throw new UncheckedIOException(e);
+            } catch (XMLStreamException e) {
+                descartar();
+                throw new IllegalStateException("Falha ao escrever o XML do S-2240: " + e.getMessage(), e);
+            }
+        }
+
+        private void finalizar() {
+            if (atual != null) {
+                fecharArquivo();
+            }
+        }
+
+        /**
+         * Publica o arquivo e grava o ponto de retomada na mesma transação: a linha da exportação fica bloqueada
+         * pelo UPDATE condicionado ao lease, então o arquivo só recebe o nome final se este nó ainda for o dono
+         */
+        private void fecharArquivo() {
+            ArquivoLoteS2240 arquivo = atual;
+            int eventos = arquivo.eventos();
+            transacaoPonto.executeWithoutResult(status -> {
+                Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+                gravarComLease(exportacaoId, SQL_PROGRESSO, eventos, agora, exportacaoId, noId);
+                jdbcTemplate.update(SQL_PONTO, arquivos + 1, eventos, ultimo.nomeCompleto(), ultimo.id(), agora,
+                        exportacaoId, unidade.id());
+                try {
+                    arquivo.concluir();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (XMLStreamException e) {
+                    throw new IllegalStateException("Falha ao escrever o XML do S-2240: " + e.getMessage(), e);
+                }
+            });
+            atual = null;
+            arquivos++;
+            eventosGerados.increment(eventos);
+            arquivosGerados.increment();
+        }
+
+        private void descartar() {
+            if (atual != null) {
+                try {
+                    atual.close();
+                } catch (IOException e) {
+                    log.warn("Não foi possível remover o arquivo parcial: {}", e.getMessage());
+                }
+                atual = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package br.sst.auditoria.esocial;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Gera o atributo Id dos eventos do eSocial: "ID" + tipo de inscrição (1) + inscrição do empregador
+ * (14, completada com zeros à direita) + data e hora (AAAAMMDDHHMMSS) + sequencial (5) no segundo.
+ *
+ * Compartilhado pelas threads de exportação do nó; ao esgotar o sequencial, espera o próximo segundo.
+ */
+final class IdentificadorEventos {
+
+    private static final DateTimeFormatter DATA_HORA = DateTimeFormatter.ofPattern("yyyyMMddHHmmss")
+            .withZone(ZoneId.systemDefault());
+    private static final int SEQUENCIAL_MAXIMO = 99999;
+
+    private long segundo;
+    private int sequencial;
+
+    synchronized String proximo(int tipoInscricao, String inscricaoEmpregador) {
+        long agora = System.currentTimeMillis() / 1000;
+        while (agora == segundo && sequencial == SEQUENCIAL_MAXIMO) {
+            esperar();
+            agora = System.currentTimeMillis() / 1000;
+        }
+        if (agora != segundo) {
+            segundo = agora;
+            sequencial = 0;
+        }
+        sequencial++;
+
+        StringBuilder id = new StringBuilder(36).append("ID").append(tipoInscricao).append(inscricaoEmpregador);
+        while (id.length() < 17) {
+            id.append('0');
+        }
+        id.append(DATA_HORA.format(Instant.ofEpochSecond(agora)));
+        return id.append(String.format("%05d", sequencial)).toString();
+    }
+
+    private void esperar() {
+        try {
+            wait(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Geração de identificadores interrompida", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package br.sst.auditoria.esocial;
+
+import java.time.LocalDate;
+
+/**
+ * Linha lida pelo cursor da exportação: funcionário ativo com setor e cargo
+ */
+record TrabalhadorS2240(
+    String id,
+    String nomeCompleto,
+    String cpf,
+    String matricula,
+    LocalDate dataAdmissao,
+    String setorNome,
+    String cargoNome,
+    String cargoDescricao
+) {}
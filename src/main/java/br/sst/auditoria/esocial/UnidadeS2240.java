@@ -0,0 +1,43 @@
+package br.sst.auditoria.esocial;
+
+/**
+ * Inscrições da unidade (estabelecimento do ambiente de trabalho) e da empresa (empregador e transmissor)
+ */
+record UnidadeS2240(
+    String id,
+    String tipoDocumento,
+    String numeroDocumento,
+    String empresaTipoDocumento,
+    String empresaNumeroDocumento
+) {
+
+    int tipoInscricao() {
+        return tipoInscricao(tipoDocumento);
+    }
+
+    int tipoInscricaoEmpregador() {
+        return tipoInscricao(empresaTipoDocumento);
+    }
+
+    /**
+     * Pessoa jurídica é identificada pela raiz do CNPJ (8 dígitos)
+     */
+    String inscricaoEmpregador() {
+        return "CNPJ".equals(empresaTipoDocumento) && empresaNumeroDocumento.length() > 8
+                ? empresaNumeroDocumento.substring(0, 8)
+                : empresaNumeroDocumento;
+    }
+
+    /**
+     * Tabela 05 do eSocial: 1 = CNPJ, 2 = CPF, 3 = CAEPF, 4 = CNO
+     */
+    private static int tipoInscricao(String tipoDocumento) {
+        return switch (tipoDocumento) {
+            case "CNPJ" -> 1;
+            case "CPF" -> 2;
+            case "CAEPF" -> 3;
+            case "CNO" -> 4;
+            default -> throw new IllegalArgumentException("Tipo de documento sem inscrição no eSocial: " + tipoDocumento);
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package br.sst.auditoria.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    private final long retryAfterSegundos;
+
+    public ServicoSobrecarregadoException(String message, long retryAfterSegundos) {
+        super(message);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
@@ -0,0 +1,84 @@
+package br.sst.auditoria.importacao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dicionários da hierarquia empresa → unidade → setor / cargo de uma importação, por chave natural.
+ *
+ * As empresas da organização são carregadas na criação; unidades, setores e cargos de uma empresa são
+ * carregados (três consultas) na primeira linha que a referencia. A memória usada é proporcional à
+ * hierarquia, não ao número de funcionários. Não é thread-safe: a resolução é feita na thread da importação.
+ */
+class DicionarioHierarquia {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, String> empresaPorDocumento = new HashMap<>();
+    private final Set<String> empresasCarregadas = new HashSet<>();
+
+    // Chaves: empresaId|nome (unidade, cargo) e unidadeId|nome (setor)
+    private final Map<String, String> unidades = new HashMap<>();
+    private final Map<String, String> setores = new HashMap<>();
+    private final Map<String, String> cargos = new HashMap<>();
+
+    DicionarioHierarquia(JdbcTemplate jdbcTemplate, String organizacaoId) {
+        this.jdbcTemplate = jdbcTemplate;
+        jdbcTemplate.query("SELECT id, numero_documento FROM empresa WHERE organizacao_id = ?",
+                rs -> {
+                    empresaPorDocumento.put(rs.getString("numero_documento"), rs.getString("id"));
+                }, organizacaoId);
+    }
+
+    /**
+     * Resolve os IDs da hierarquia da linha; lança IllegalArgumentException se algum nível não existir
+     */
+    Hierarquia resolver(LinhaFuncionario linha) {
+        String empresaId = empresaPorDocumento.get(linha.empresaDocumento());
+        if (empresaId == null) {
+            throw new IllegalArgumentException("Empresa não encontrada: " + linha.empresaDocumento());
+        }
+        carregarEmpresa(empresaId);
+
+        String unidadeId = unidades.get(empresaId + "|" + LinhaFuncionario.chave(linha.unidade()));
+        if (unidadeId == null) {
+            throw new IllegalArgumentException("Unidade não encontrada: " + linha.unidade());
+        }
+
+        String setorId = setores.get(unidadeId + "|" + LinhaFuncionario.chave(linha.setor()));
+        if (setorId == null) {
+            throw new IllegalArgumentException("Setor não encontrado na unidade: " + linha.setor());
+        }
+
+        String cargoId = cargos.get(empresaId + "|" + LinhaFuncionario.chave(linha.cargo()));
+        if (cargoId == null) {
+            throw new IllegalArgumentException("Cargo não encontrado: " + linha.cargo());
+        }
+
+        return new Hierarquia(empresaId, unidadeId, setorId, cargoId);
+    }
+
+    private void carregarEmpresa(String empresaId) {
+        if (!empresasCarregadas.add(empresaId)) {
+            return;
+        }
+        jdbcTemplate.query("SELECT id, nome FROM unidade WHERE empresa_id = ?",
+                rs -> {
+                    unidades.put(empresaId + "|" + LinhaFuncionario.chave(rs.getString("nome")), rs.getString("id"));
+                }, empresaId);
+        jdbcTemplate.query("SELECT id, unidade_id, nome FROM setor WHERE empresa_id = ?",
+                rs -> {
+                    setores.put(rs.getString("unidade_id") + "|" + LinhaFuncionario.chave(rs.getString("nome")), rs.getString("id"));
+                }, empresaId);
+        jdbcTemplate.query("SELECT id, nome FROM cargo WHERE empresa_id = ?",
+                rs -> {
+                    cargos.put(empresaId + "|" + LinhaFuncionario.chave(rs.getString("nome")), rs.getString("id"));
+                }, empresaId);
+    }
+
+    record Hierarquia(String empresaId, String unidadeId, String setorId, String cargoId) {
+    }
+}
@@ -0,0 +1,29 @@
+package br.sst.auditoria.importacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fonte de linhas de uma planilha lida de forma incremental (uma linha por vez, sem materializar o arquivo).
+ *
+ * As colunas são identificadas pelo cabeçalho, normalizado em minúsculas e sem acentos.
+ */
+public interface FonteLinhas extends Closeable {
+
+    /**
+     * Colunas do cabeçalho, normalizadas
+     */
+    List<String> cabecalho();
+
+    /**
+     * Próxima linha como mapa coluna → valor, ou null ao fim do arquivo
+     */
+    Map<String, String> proxima() throws IOException;
+
+    /**
+     * Número (1-based, contando o cabeçalho) da última linha retornada
+     */
+    long numeroLinha();
+}
@@ -0,0 +1,304 @@
+package br.sst.auditoria.importacao;
+
+import br.sst.auditoria.dto.funcionario.ImportacaoFuncionariosResponse;
+import br.sst.auditoria.dto.funcionario.ImportacaoFuncionariosResponse.ErroLinha;
+import br.sst.auditoria.exception.BusinessException;
+import br.sst.auditoria.exception.UnauthorizedException;
+import br.sst.auditoria.importacao.DicionarioHierarquia.Hierarquia;
+import br.sst.auditoria.invalidacao.BarramentoInvalidacao;
+import br.sst.auditoria.invalidacao.EventoInvalidacao;
+import br.sst.auditoria.model.enums.Papel;
+import br.sst.auditoria.security.GeradorIdentificadores;
+import br.sst.auditoria.security.permissao.VinculosUsuarioCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importação de funcionários em fluxo.
+ *
+ * As linhas são lidas uma a uma da {@link FonteLinhas} e acumuladas em blocos. Em cada bloco:
+ * - os campos são validados em paralelo (sem acesso ao banco);
+ * - a hierarquia (empresa/unidade/setor/cargo) é resolvida pelo {@link DicionarioHierarquia} da importação;
+ * - CPFs repetidos no bloco ficam com a última ocorrência;
+ * - as linhas são gravadas com um batch JDBC de INSERT ... ON CONFLICT na restrição uk_funcionario_cpf
+ *   (empresa_id, cpf), em uma transação por bloco. Se o bloco falhar no banco, ele é dividido ao meio e
+ *   regravado (cada metade em sua transação) até isolar as linhas rejeitadas, que recebem o próprio erro.
+ *
+ * Só o bloco corrente e os dicionários ficam em memória; os erros por linha são limitados a
+ * funcionario.import.max-errors. Ao final, se alguma linha foi gravada, um evento FUNCIONARIOS atualiza os
+ * índices de busca da organização. Métricas: funcionario.importacao.linhas (tag resultado) e o timer
+ * funcionario.importacao.
+ */
+@Service
+@Slf4j
+public class ImportacaoFuncionariosService {
+
+    private static final Set<String> PAPEIS_QUE_IMPORTAM = Set.of(Papel.PROPRIETARIO.name(), Papel.ADMINISTRADOR.name());
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of("empresa_documento", "unidade", "setor", "cargo", "nome", "cpf");
+
+    private static final String SQL_UPSERT =
+            "INSERT INTO funcionario (id, organizacao_id, empresa_id, unidade_id, setor_id, cargo_id, situacao, "
+                    + "nome_completo, cpf, data_nascimento, data_admissao, data_demissao, matricula, email, telefone, "
+                    + "criado_em, atualizado_em) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                    + "ON CONFLICT ON CONSTRAINT uk_funcionario_cpf DO UPDATE SET "
+                    + "unidade_id = EXCLUDED.unidade_id, setor_id = EXCLUDED.setor_id, cargo_id = EXCLUDED.cargo_id, "
+                    + "situacao = EXCLUDED.situacao, nome_completo = EXCLUDED.nome_completo, "
+                    + "data_nascimento = EXCLUDED.data_nascimento, data_admissao = EXCLUDED.data_admissao, "
+                    + "data_demissao = EXCLUDED.data_demissao, matricula = EXCLUDED.matricula, "
+                    + "email = EXCLUDED.email, telefone = EXCLUDED.telefone, atualizado_em = EXCLUDED.atualizado_em";
+
+    private final VinculosUsuarioCache vinculosUsuarioCache;
+    private final BarramentoInvalidacao barramentoInvalidacao;
+    private final GeradorIdentificadores geradorIdentificadores;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoBloco;
+    private final int maximoErros;
+
+    private final Counter linhasImportadas;
+    private final Counter linhasComErro;
+    private final Timer duracao;
+
+    public ImportacaoFuncionariosService(VinculosUsuarioCache vinculosUsuarioCache,
+                                         BarramentoInvalidacao barramentoInvalidacao,
+                                         GeradorIdentificadores geradorIdentificadores,
+                                         JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${funcionario.import.batch-size:1000}") int tamanhoBloco,
+                                         @Value("${funcionario.import.max-errors:1000}") int maximoErros) {
+        this.vinculosUsuarioCache = vinculosUsuarioCache;
+        this.barramentoInvalidacao = barramentoInvalidacao;
+        this.geradorIdentificadores = geradorIdentificadores;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoBloco = tamanhoBloco;
+        this.maximoErros = maximoErros;
+        this.linhasImportadas = meterRegistry.counter("funcionario.importacao.linhas", "resultado", "importada");
+        this.linhasComErro = meterRegistry.counter("funcionario.importacao.linhas", "resultado", "erro");
+        this.duracao = meterRegistry.timer("funcionario.importacao");
+    }
+
+    /**
+     * Importa um CSV (UTF-8, separador ';' ou ',') de funcionários para a organização
+     */
+    public ImportacaoFuncionariosResponse importarCsv(String organizacaoId, InputStream corpo, String usuarioId)
+            throws IOException {
+        verificarPermissao(organizacaoId, usuarioId);
+
+        try (FonteLinhas fonte = new LeitorCsv(
+                new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8)))) {
+            return importar(organizacaoId, fonte);
+        }
+    }
+
+    /**
+     * Importa as linhas de qualquer fonte (CSV, futuramente planilhas)
+     */
+    public ImportacaoFuncionariosResponse importar(String organizacaoId, FonteLinhas fonte) throws IOException {
+        List<String> ausentes = COLUNAS_OBRIGATORIAS.stream()
+                .filter(coluna -> !fonte.cabecalho().contains(coluna))
+                .toList();
+        if (!ausentes.isEmpty()) {
+            throw new BusinessException("Colunas obrigatórias ausentes: " + String.join(", ", ausentes));
+        }
+
+        long inicio = System.nanoTime();
+        DicionarioHierarquia dicionario = new DicionarioHierarquia(jdbcTemplate, organizacaoId);
+        Relatorio relatorio = new Relatorio(maximoErros);
+
+        try {
+            List<LinhaBruta> bloco = new ArrayList<>(tamanhoBloco);
+            Map<String, String> campos;
+            while ((campos = fonte.proxima()) != null) {
+                bloco.add(new LinhaBruta(fonte.numeroLinha(), campos));
+                if (bloco.size() == tamanhoBloco) {
+                    processarBloco(organizacaoId, bloco, dicionario, relatorio);
+                    bloco.clear();
+                }
+            }
+            if (!bloco.isEmpty()) {
+                processarBloco(organizacaoId, bloco, dicionario, relatorio);
+            }
+        } finally {
+            // Também quando a leitura falha no meio: os blocos anteriores já foram gravados
+            if (relatorio.importados > 0) {
+                barramentoInvalidacao.publicar(EventoInvalidacao.funcionarios(organizacaoId));
+            }
+        }
+
+        long nanos = System.nanoTime() - inicio;
+        duracao.record(nanos, TimeUnit.NANOSECONDS);
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(nanos);
+        long linhasPorSegundo = nanos > 0 ? relatorio.linhas * 1_000_000_000L / nanos : relatorio.linhas;
+
+        log.info("Importação de funcionários da organização {}: {} linhas, {} importadas, {} com erro em {} ms ({} linhas/s)",
+                organizacaoId, relatorio.linhas, relatorio.importados, relatorio.comErro, duracaoMs, linhasPorSegundo);
+
+        return new ImportacaoFuncionariosResponse(relatorio.linhas, relatorio.importados, relatorio.comErro,
+                duracaoMs, linhasPorSegundo, relatorio.erros, relatorio.comErro - relatorio.erros.size());
+    }
+
+    // ========================================================================
+    // HELPERS
+    // ========================================================================
+
+    private void processarBloco(String organizacaoId, List<LinhaBruta> bloco, DicionarioHierarquia dicionario,
+                                Relatorio relatorio) {
+        relatorio.linhas += bloco.size();
+
+        // Validação em paralelo: apenas formato dos campos, sem estado compartilhado
+        List<Validacao> validacoes = bloco.parallelStream()
+                .map(bruta -> {
+                    try {
+                        return new Validacao(bruta.numero(), LinhaFuncionario.validar(bruta.numero(), bruta.campos()), null);
+                    } catch (IllegalArgumentException e) {
+                        return new Validacao(bruta.numero(), null, e.getMessage());
+                    }
+                })
+                .toList();
+
+        // Resolução da hierarquia e deduplicação por (empresa, cpf), na ordem do arquivo
+        Map<String, Registro> registros = new LinkedHashMap<>();
+        for (Validacao validacao : validacoes) {
+            if (validacao.erro() != null) {
+                relatorio.erro(validacao.numero(), validacao.erro());
+                continue;
+            }
+            try {
+                Hierarquia hierarquia = dicionario.resolver(validacao.linha());
+                Registro anterior = registros.put(hierarquia.empresaId() + "|" + validacao.linha().cpf(),
+                        new Registro(validacao.linha(), hierarquia));
+                if (anterior != null) {
+                    relatorio.erro(anterior.linha().numero(),
+                            "CPF repetido na linha " + validacao.numero() + "; mantida a última ocorrência");
+                }
+            } catch (IllegalArgumentException e) {
+                relatorio.erro(validacao.numero(), e.getMessage());
+            }
+        }
+
+        if (registros.isEmpty()) {
+            return;
+        }
+
+        gravarIsolandoFalhas(organizacaoId, new ArrayList<>(registros.values()), relatorio);
+    }
+
+    /**
+     * Grava o lote; se o banco rejeitar, divide ao meio e tenta cada metade até chegar às linhas com erro
+     */
+    private void gravarIsolandoFalhas(String organizacaoId, List<Registro> lote, Relatorio relatorio) {
+        try {
+            gravar(organizacaoId, lote);
+            relatorio.importados += lote.size();
+            linhasImportadas.increment(lote.size());
+        } catch (DataAccessException e) {
+            if (lote.size() == 1) {
+                relatorio.erro(lote.getFirst().linha().numero(),
+                        "Falha ao gravar: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            log.debug("Falha ao gravar lote de {} funcionários, dividindo: {}", lote.size(), e.getMessage());
+            int meio = lote.size() / 2;
+            gravarIsolandoFalhas(organizacaoId, lote.subList(0, meio), relatorio);
+            gravarIsolandoFalhas(organizacaoId, lote.subList(meio, lote.size()), relatorio);
+        }
+    }
+
+    private void gravar(String organizacaoId, List<Registro> lote) {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(SQL_UPSERT, lote, lote.size(), (ps, registro) -> {
+                    LinhaFuncionario linha = registro.linha();
+                    Hierarquia hierarquia = registro.hierarquia();
+                    ps.setString(1, geradorIdentificadores.novoId());
+                    ps.setString(2, organizacaoId);
+                    ps.setString(3, hierarquia.empresaId());
+                    ps.setString(4, hierarquia.unidadeId());
+                    ps.setString(5, hierarquia.setorId());
+                    ps.setString(6, hierarquia.cargoId());
+                    ps.setString(7, linha.situacao().name());
+                    ps.setString(8, linha.nomeCompleto());
+                    ps.setString(9, linha.cpf());
+                    ps.setDate(10, data(linha.dataNascimento()));
+                    ps.setDate(11, data(linha.dataAdmissao()));
+                    ps.setDate(12, data(linha.dataDemissao()));
+                    ps.setString(13, linha.matricula());
+                    ps.setString(14, linha.email());
+                    ps.setString(15, linha.telefone());
+                    ps.setTimestamp(16, agora);
+                    ps.setTimestamp(17, agora);
+                }));
+    }
+
+    private void verificarPermissao(String organizacaoId, String usuarioId) {
+        String papel = vinculosUsuarioCache.papel(usuarioId, organizacaoId);
+        if (papel == null) {
+            throw new UnauthorizedException("Usuário não é membro desta organização");
+        }
+        if (!PAPEIS_QUE_IMPORTAM.contains(papel)) {
+            throw new UnauthorizedException("Você não tem permissão para realizar esta ação");
+        }
+    }
+
+    private static Date data(LocalDate data) {
+        return data != null ? Date.valueOf(data) : null;
+    }
+
+    private record LinhaBruta(long numero, Map<String, String> campos) {
+    }
+
+    private record Validacao(long numero, LinhaFuncionario linha, String erro) {
+    }
+
+    private record Registro(LinhaFuncionario linha, Hierarquia hierarquia) {
+    }
+
+    /**
+     * Contagens da importação e erros por linha até o limite configurado
+     */
+    private final class Relatorio {
+        private final int maximoErros;
+        private final List<ErroLinha> erros = new ArrayList<>();
+        private long linhas;
+        private long importados;
+        private long comErro;
+
+        private Relatorio(int maximoErros) {
+            this.maximoErros = maximoErros;
+        }
+
+        private void erro(long linha, String mensagem) {
+            comErro++;
+            linhasComErro.increment();
+            if (erros.size() < maximoErros) {
+                erros.add(new ErroLinha(linha, mensagem));
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package br.sst.auditoria.importacao;
+
+import br.sst.auditoria.exception.BusinessException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Leitor de CSV em fluxo (RFC 4180: aspas, aspas duplicadas e quebras de linha dentro de aspas).
+ *
+ * O separador (';' ou ',') é detectado no cabeçalho. Apenas a linha corrente fica em memória, limitada a
+ * {@value #MAXIMO_CAMPOS} campos de até {@value #TAMANHO_MAXIMO_CAMPO} caracteres (o cabeçalho a
+ * {@value #TAMANHO_MAXIMO_CABECALHO}): um arquivo sem quebras de linha ou com aspas não fechadas é rejeitado
+ * sem ser lido inteiro para a memória.
+ */
+public class LeitorCsv implements FonteLinhas {
+
+    private static final int FIM = -1;
+
+    static final int TAMANHO_MAXIMO_CAMPO = 4096;
+    static final int TAMANHO_MAXIMO_CABECALHO = 65536;
+    static final int MAXIMO_CAMPOS = 256;
+
+    private final Reader reader;
+    private final List<String> cabecalho;
+    private final char separador;
+    private final StringBuilder campo = new StringBuilder();
+    private long numeroLinha;
+    private int proximo = -2;
+
+    public LeitorCsv(Reader reader) throws IOException {
+        this.reader = reader;
+        String primeira = lerLinhaBruta();
+        if (primeira == null || primeira.isBlank()) {
+            throw new BusinessException("Arquivo vazio ou sem cabeçalho");
+        }
+        this.separador = primeira.indexOf(';') >= 0 ? ';' : ',';
+
+        List<String> colunas = new ArrayList<>();
+        for (String coluna : dividir(primeira)) {
+            colunas.add(normalizarColuna(coluna));
+        }
+        this.cabecalho = List.copyOf(colunas);
+    }
+
+    @Override
+    public List<String> cabecalho() {
+        return cabecalho;
+    }
+
+    @Override
+    public Map<String, String> proxima() throws IOException {
+        List<String> valores;
+        do {
+            valores = lerRegistro();
+            if (valores == null) {
+                return null;
+            }
+        } while (valores.size() == 1 && valores.getFirst().isBlank());
+
+        Map<String, String> linha = new HashMap<>(cabecalho.size() * 2);
+        for (int i = 0; i < cabecalho.size() && i < valores.size(); i++) {
+            linha.put(cabecalho.get(i), valores.get(i));
+        }
+        return linha;
+    }
+
+    @Override
+    public long numeroLinha() {
+        return numeroLinha;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // ========================================================================
+    // HELPERS
+    // ========================================================================
+
+    /**
+     * Primeira linha, sem BOM; o cabeçalho não tem campos entre aspas com quebra de linha
+     */
+    private String lerLinhaBruta() throws IOException {
+        StringBuilder linha = new StringBuilder();
+        int c = ler();
+        if (c == '\uFEFF') {
+            c = ler();
+        }
+        if (c == FIM) {
+            return null;
+        }
+        while (c != FIM && c != '\n') {
+            if (c != '\r') {
+                if (linha.length() == TAMANHO_MAXIMO_CABECALHO) {
+                    throw new BusinessException("Cabeçalho com mais de " + TAMANHO_MAXIMO_CABECALHO + " caracteres");
+                }
+                linha.append((char) c);
+            }
+            c = ler();
+        }
+        numeroLinha++;
+        return linha.toString();
+    }
+
+    private List<String> dividir(String linha) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                entreAspas = !entreAspas;
+            } else if (c == separador && !entreAspas) {
+                valores.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        valores.add(atual.toString());
+        return valores;
+    }
+
+    private List<String> lerRegistro() throws IOException {
+        int c = ler();
+        if (c == FIM) {
+            return null;
+        }
+
+        List<String> valores = new ArrayList<>();
+        campo.setLength(0);
+        boolean entreAspas = false;
+        numeroLinha++;
+
+        while (true) {
+            if (entreAspas) {
+                if (c == FIM) {
+                    throw new BusinessException("Aspas não fechadas a partir da linha " + numeroLinha);
+                }
+                if (c == '"') {
+                    int seguinte = ler();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        devolver(seguinte);
+                    }
+                } else {
+                    if (c == '\n') {
+                        numeroLinha++;
+                    }
+                    acrescentar(c);
+                }
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == separador) {
+                if (valores.size() == MAXIMO_CAMPOS) {
+                    throw new BusinessException("Linha " + numeroLinha + " com mais de " + MAXIMO_CAMPOS + " campos");
+                }
+                valores.add(campo.toString().trim());
+                campo.setLength(0);
+            } else if (c == '\n' || c == FIM) {
+                valores.add(campo.toString().trim());
+                return valores;
+            } else if (c != '\r') {
+                acrescentar(c);
+            }
+            c = ler();
+        }
+    }
+
+    private void acrescentar(int c) {
+        if (campo.length() == TAMANHO_MAXIMO_CAMPO) {
+            throw new BusinessException("Campo com mais de " + TAMANHO_MAXIMO_CAMPO
+                    + " caracteres a partir da linha " + numeroLinha + " (aspas não fechadas?)");
+        }
+        campo.append((char) c);
+    }
+
+    private int ler() throws IOException {
+        if (proximo != -2) {
+            int c = proximo;
+            proximo = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void devolver(int c) {
+        proximo = c;
+    }
+
+    static String normalizarColuna(String coluna) {
+        return Normalizer.normalize(coluna.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", "_")
+                .replaceAll("^_+|_+$", "");
+    }
+}
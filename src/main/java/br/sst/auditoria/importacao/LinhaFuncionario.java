@@ -0,0 +1,155 @@
+package br.sst.auditoria.importacao;
+
+import br.sst.auditoria.model.enums.SituacaoFuncionario;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Linha validada da planilha de funcionários, com a hierarquia ainda identificada pelas chaves naturais:
+ * documento da empresa, nome da unidade, nome do setor (na unidade) e nome do cargo (na empresa).
+ *
+ * Colunas: empresa_documento, unidade, setor, cargo, nome, cpf, situacao, data_nascimento, data_admissao,
+ * data_demissao, matricula, email, telefone. Datas em dd/MM/yyyy ou yyyy-MM-dd.
+ */
+public record LinhaFuncionario(
+    long numero,
+    String empresaDocumento,
+    String unidade,
+    String setor,
+    String cargo,
+    String nomeCompleto,
+    String cpf,
+    SituacaoFuncionario situacao,
+    LocalDate dataNascimento,
+    LocalDate dataAdmissao,
+    LocalDate dataDemissao,
+    String matricula,
+    String email,
+    String telefone
+) {
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D");
+    private static final Pattern FORMATO_EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    /**
+     * Valida os campos da linha; lança IllegalArgumentException com a mensagem do primeiro problema
+     */
+    public static LinhaFuncionario validar(long numero, Map<String, String> campos) {
+        String cpf = somenteDigitos(campos.get("cpf"));
+        if (!cpfValido(cpf)) {
+            throw new IllegalArgumentException("CPF inválido");
+        }
+
+        LocalDate demissao = data(campos.get("data_demissao"), "data_demissao");
+        LocalDate admissao = data(campos.get("data_admissao"), "data_admissao");
+        if (admissao != null && demissao != null && demissao.isBefore(admissao)) {
+            throw new IllegalArgumentException("data_demissao anterior à data_admissao");
+        }
+
+        String email = opcional(campos.get("email"), 100, "email");
+        if (email != null && !FORMATO_EMAIL.matcher(email).matches()) {
+            throw new IllegalArgumentException("E-mail inválido");
+        }
+
+        String telefone = somenteDigitos(campos.get("telefone"));
+
+        return new LinhaFuncionario(
+                numero,
+                obrigatorio(somenteDigitos(campos.get("empresa_documento")), 14, "empresa_documento"),
+                obrigatorio(campos.get("unidade"), 100, "unidade"),
+                obrigatorio(campos.get("setor"), 100, "setor"),
+                obrigatorio(campos.get("cargo"), 100, "cargo"),
+                obrigatorio(campos.get("nome"), 200, "nome"),
+                cpf,
+                situacao(campos.get("situacao")),
+                data(campos.get("data_nascimento"), "data_nascimento"),
+                admissao,
+                demissao,
+                opcional(campos.get("matricula"), 30, "matricula"),
+                email,
+                opcional(telefone, 15, "telefone")
+        );
+    }
+
+    /**
+     * Chave de um nome da hierarquia: sem espaços nas pontas e em minúsculas
+     */
+    public static String chave(String nome) {
+        return nome.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ========================================================================
+    // HELPERS
+    // ========================================================================
+
+    private static String obrigatorio(String valor, int tamanhoMaximo, String coluna) {
+        String texto = opcional(valor, tamanhoMaximo, coluna);
+        if (texto == null) {
+            throw new IllegalArgumentException(coluna + " é obrigatório");
+        }
+        return texto;
+    }
+
+    private static String opcional(String valor, int tamanhoMaximo, String coluna) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        String texto = valor.trim();
+        if (texto.length() > tamanhoMaximo) {
+            throw new IllegalArgumentException(coluna + " deve ter no máximo " + tamanhoMaximo + " caracteres");
+        }
+        return texto;
+    }
+
+    private static String somenteDigitos(String valor) {
+        return valor == null ? null : NAO_DIGITOS.matcher(valor).replaceAll("");
+    }
+
+    private static LocalDate data(String valor, String coluna) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        String texto = valor.trim();
+        try {
+            return texto.indexOf('/') >= 0 ? LocalDate.parse(texto, DATA_BR) : LocalDate.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(coluna + " inválida: " + texto);
+        }
+    }
+
+    private static SituacaoFuncionario situacao(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return SituacaoFuncionario.ATIVO;
+        }
+        String texto = LeitorCsv.normalizarColuna(valor);
+        for (SituacaoFuncionario situacao : SituacaoFuncionario.values()) {
+            if (situacao.name().equalsIgnoreCase(texto)
+                    || LeitorCsv.normalizarColuna(situacao.getDescricao()).equals(texto)) {
+                return situacao;
+            }
+        }
+        throw new IllegalArgumentException("situacao inválida: " + valor.trim());
+    }
+
+    private static boolean cpfValido(String cpf) {
+        if (cpf == null || cpf.length() != 11 || cpf.chars().distinct().count() == 1) {
+            return false;
+        }
+        return digitoVerificador(cpf, 9) == cpf.charAt(9) - '0'
+                && digitoVerificador(cpf, 10) == cpf.charAt(10) - '0';
+    }
+
+    private static int digitoVerificador(String cpf, int posicao) {
+        int soma = 0;
+        for (int i = 0; i < posicao; i++) {
+            soma += (cpf.charAt(i) - '0') * (posicao + 1 - i);
+        }
+        int resto = (soma * 10) % 11;
+        return resto == 10 ? 0 : resto;
+    }
+}
@@ -0,0 +1,282 @@
+package br.sst.auditoria.invalidacao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Barramento de invalidação entre nós usando LISTEN/NOTIFY do PostgreSQL (sem broker adicional).
+ *
+ * - publicar(): aplica o evento localmente na hora (ApplicationEvent) e o enfileira para os outros nós
+ *   após o commit da transação corrente.
+ * - A fila é descarregada periodicamente: eventos repetidos são agrupados e enviados em lotes via pg_notify
+ *   (JSON escrito com o JsonMapper da aplicação).
+ *   Se o NOTIFY falhar, os eventos não enviados voltam para a fila e seguem no próximo ciclo; se a fila
+ *   acumular mais que invalidation.max-pending eventos distintos, eles são trocados por um único TUDO.
+ * - Uma thread dedicada mantém uma conexão com LISTEN e republica localmente os eventos dos outros nós.
+ *   Ao reconectar, notificações podem ter sido perdidas, então todo o estado local é descartado (TUDO).
+ *   Uma falha em um ouvinte é registrada e não interrompe os demais eventos; ouvintes que consultam o
+ *   banco não devem fazê-lo nesta thread (ver IndiceSlugs e IndiceFuncionarios).
+ *
+ * Métricas: invalidacao.publicados, invalidacao.recebidos e o timer invalidacao.atraso
+ * (tempo entre a publicação em um nó e o recebimento em outro).
+ */
+@Component
+@Slf4j
+public class BarramentoInvalidacao implements SmartLifecycle {
+
+    // O payload de NOTIFY é limitado a 8000 bytes
+    private static final int EVENTOS_POR_NOTIFICACAO = 100;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final Queue<EventoInvalidacao> pendentes = new ConcurrentLinkedQueue<>();
+    private final String noId = UUID.randomUUID().toString();
+
+    private final Counter eventosPublicados;
+    private final Counter eventosRecebidos;
+    private final Timer atraso;
+
+    @Value("${invalidation.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${invalidation.channel:sst_invalidacao}")
+    private String canal;
+
+    @Value("${invalidation.max-pending:10000}")
+    private int maximoPendentes;
+
+    @Value("${invalidation.reconnect-delay:5s}")
+    private Duration intervaloReconexao;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String usuario;
+
+    @Value("${spring.datasource.password}")
+    private String senha;
+
+    private volatile boolean executando;
+    private Thread ouvinte;
+
+    public BarramentoInvalidacao(ApplicationEventPublisher eventPublisher,
+                                 JdbcTemplate jdbcTemplate,
+                                 JsonMapper jsonMapper,
+                                 MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.eventosPublicados = meterRegistry.counter("invalidacao.publicados");
+        this.eventosRecebidos = meterRegistry.counter("invalidacao.recebidos");
+        this.atraso = meterRegistry.timer("invalidacao.atraso");
+    }
+
+    /**
+     * Aplica o evento localmente e o replica para os demais nós após o commit
+     */
+    public void publicar(EventoInvalidacao evento) {
+        eventPublisher.publishEvent(evento);
+
+        if (!habilitado) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pendentes.add(evento);
+                }
+            });
+        } else {
+            pendentes.add(evento);
+        }
+    }
+
+    /**
+     * Envia os eventos pendentes, sem repetições, em lotes de NOTIFY
+     */
+    @Scheduled(fixedDelayString = "${invalidation.debounce:50}")
+    public void descarregar() {
+        if (!habilitado || pendentes.isEmpty()) {
+            return;
+        }
+
+        Set<EventoInvalidacao> eventos = new LinkedHashSet<>();
+        EventoInvalidacao evento;
+        while ((evento = pendentes.poll()) != null) {
+            eventos.add(evento);
+        }
+
+        if (eventos.size() > maximoPendentes) {
+            // Os outros nós descartam todo o estado local em vez de receber cada evento acumulado
+            log.warn("{} invalidações pendentes; publicando TUDO", eventos.size());
+            eventos = Set.of(EventoInvalidacao.tudo());
+        }
+
+        List<EventoInvalidacao> lista = new ArrayList<>(eventos);
+        for (int inicio = 0; inicio < lista.size(); inicio += EVENTOS_POR_NOTIFICACAO) {
+            List<EventoInvalidacao> lote = lista.subList(inicio, Math.min(inicio + EVENTOS_POR_NOTIFICACAO, lista.size()));
+            if (!notificar(new LoteInvalidacao(noId, System.currentTimeMillis(), lote))) {
+                // Nenhum outro nó recebeu estes eventos: voltam para a fila, junto com os lotes seguintes
+                pendentes.addAll(lista.subList(inicio, lista.size()));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Envia um lote; false se o NOTIFY falhou e o lote deve ser reenviado
+     */
+    private boolean notificar(LoteInvalidacao lote) {
+        try {
+            String payload = jsonMapper.writeValueAsString(lote);
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, canal, payload);
+            eventosPublicados.increment(lote.eventos().size());
+            return true;
+        } catch (JacksonException e) {
+            // Não se resolve com nova tentativa
+            log.error("Não foi possível serializar lote de invalidação: {}", e.getMessage());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar invalidação; {} eventos serão reenviados: {}", lote.eventos().size(), e.getMessage());
+            return false;
+        }
+    }
+
+    // ========================================================================
+    // LISTEN
+    // ========================================================================
+
+    @Override
+    public void start() {
+        if (!habilitado) {
+            return;
+        }
+        executando = true;
+        ouvinte = Thread.ofPlatform()
+                .name("invalidacao-listener")
+                .daemon(true)
+                .start(this::escutar);
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+        if (ouvinte != null) {
+            ouvinte.interrupt();
+        }
+        descarregar();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    private void escutar() {
+        boolean conectouAntes = false;
+
+        while (executando) {
+            try (Connection conexao = DriverManager.getConnection(url, usuario, senha)) {
+                PGConnection pgConexao = conexao.unwrap(PGConnection.class);
+                try (Statement statement = conexao.createStatement()) {
+                    statement.execute("LISTEN " + canal);
+                }
+
+                if (conectouAntes) {
+                    log.info("Conexão de invalidação restabelecida; descartando estado local");
+                    aplicar(EventoInvalidacao.tudo());
+                }
+                conectouAntes = true;
+
+                while (executando) {
+                    PGNotification[] notificacoes = pgConexao.getNotifications(1000);
+                    if (notificacoes != null) {
+                        for (PGNotification notificacao : notificacoes) {
+                            receber(notificacao.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!executando) {
+                    break;
+                }
+                log.warn("Conexão de invalidação perdida: {}. Reconectando em {}", e.getMessage(), intervaloReconexao);
+                aguardarReconexao();
+            }
+        }
+    }
+
+    private void receber(String payload) {
+        try {
+            LoteInvalidacao lote = jsonMapper.readValue(payload, LoteInvalidacao.class);
+            if (noId.equals(lote.no())) {
+                // Já aplicado localmente em publicar()
+                return;
+            }
+
+            atraso.record(Math.max(0, System.currentTimeMillis() - lote.emitidoEm()), TimeUnit.MILLISECONDS);
+            eventosRecebidos.increment(lote.eventos().size());
+            lote.eventos().forEach(this::aplicar);
+        } catch (JacksonException e) {
+            log.warn("Notificação de invalidação inválida ignorada: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Republica um evento recebido; a falha de um ouvinte não pode encerrar a thread do LISTEN
+     */
+    private void aplicar(EventoInvalidacao evento) {
+        try {
+            eventPublisher.publishEvent(evento);
+        } catch (RuntimeException e) {
+            log.error("Falha ao aplicar invalidação {}: {}", evento, e.getMessage(), e);
+        }
+    }
+
+    private void aguardarReconexao() {
+        try {
+            Thread.sleep(intervaloReconexao);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executando = false;
+        }
+    }
+
+    /**
+     * Payload de uma notificação: nó de origem, instante de envio e eventos
+     */
+    record LoteInvalidacao(String no, long emitidoEm, List<EventoInvalidacao> eventos) {
+    }
+}
@@ -0,0 +1,38 @@
+package br.sst.auditoria.invalidacao;
+
+/**
+ * Evento de invalidação publicado localmente (ApplicationEvent) e replicado
+ * para os demais nós pelo {@link BarramentoInvalidacao}.
+ */
+public record EventoInvalidacao(
+    TipoInvalidacao tipo,
+    String chave
+) {
+    public static EventoInvalidacao sessao(String sessaoId) {
+        return new EventoInvalidacao(TipoInvalidacao.SESSAO, sessaoId);
+    }
+
+    public static EventoInvalidacao sessoesUsuario(String usuarioId) {
+        return new EventoInvalidacao(TipoInvalidacao.SESSOES_USUARIO, usuarioId);
+    }
+
+    public static EventoInvalidacao membro(String usuarioId) {
+        return new EventoInvalidacao(TipoInvalidacao.MEMBRO, usuarioId);
+    }
+
+    public static EventoInvalidacao papel(String organizacaoId) {
+        return new EventoInvalidacao(TipoInvalidacao.PAPEL, organizacaoId);
+    }
+
+    public static EventoInvalidacao organizacao(String organizacaoId) {
+        return new EventoInvalidacao(TipoInvalidacao.ORGANIZACAO, organizacaoId);
+    }
+
+    public static EventoInvalidacao funcionarios(String organizacaoId) {
+        return new EventoInvalidacao(TipoInvalidacao.FUNCIONARIOS, organizacaoId);
+    }
+
+    public static EventoInvalidacao tudo() {
+        return new EventoInvalidacao(TipoInvalidacao.TUDO, null);
+    }
+}
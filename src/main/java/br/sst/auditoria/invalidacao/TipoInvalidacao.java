@@ -0,0 +1,21 @@
+package br.sst.auditoria.invalidacao;
+
+/**
+ * Tipos de evento de invalidação de caches locais
+ */
+public enum TipoInvalidacao {
+    /** Sessão revogada ou alterada (chave: ID da sessão) */
+    SESSAO,
+    /** Todas as sessões de um usuário revogadas ou alteradas (chave: ID do usuário) */
+    SESSOES_USUARIO,
+    /** Vínculo de membro alterado (chave: ID do usuário) */
+    MEMBRO,
+    /** Papéis dinâmicos de uma organização alterados (chave: ID da organização) */
+    PAPEL,
+    /** Slug de organização criado, alterado ou removido (chave: ID da organização) */
+    ORGANIZACAO,
+    /** Funcionários de uma organização inseridos ou alterados (chave: ID da organização) */
+    FUNCIONARIOS,
+    /** Descarta todo o estado local (usado na ressincronização após perda de conexão) */
+    TUDO
+}
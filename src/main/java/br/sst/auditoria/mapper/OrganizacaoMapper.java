@@ -53,5 +53,6 @@ public interface OrganizacaoMapper {
     @Mapping(target = "logo", source = "organizacao.logo")
     @Mapping(target = "metadados", source = "organizacao.metadados")
     @Mapping(target = "criadoEm", source = "organizacao.criadoEm")
-    OrganizacaoCompletaResponse toCompletaResponse(Organizacao organizacao, List<MembroResponse> membrosResponse, List<ConviteResponse> convitesResponse);
+    OrganizacaoCompletaResponse toCompletaResponse(Organizacao organizacao, List<MembroResponse> membrosResponse, List<ConviteResponse> convitesResponse,
+                                                   long totalMembros, long totalConvites);
 }
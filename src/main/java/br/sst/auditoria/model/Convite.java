@@ -19,7 +19,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "convite", indexes = {
-        @Index(name = "convite_organizacao_id_idx", columnList = "organizacao_id"),
+        @Index(name = "convite_organizacao_criado_em_idx", columnList = "organizacao_id, criado_em, id"),
         @Index(name = "convite_email_idx", columnList = "email")
 })
 public class Convite implements Serializable {
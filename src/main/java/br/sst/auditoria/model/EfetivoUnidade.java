@@ -0,0 +1,52 @@
+package br.sst.auditoria.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Efetivo (quantidade de funcionários por situação) de cada unidade.
+ *
+ * Mantido pelo banco: os gatilhos de funcionario (schema.sql) aplicam, a cada comando, a diferença das
+ * inclusões, mudanças de situação, transferências entre unidades e exclusões, inclusive as feitas por JDBC
+ * (importação e exclusão da organização). Somente leitura para a aplicação; a linha some com a unidade.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+    name = "efetivo_unidade",
+    indexes = {
+        @Index(name = "idx_efetivo_unidade_organizacao", columnList = "organizacao_id")
+    }
+)
+public class EfetivoUnidade {
+
+    @Id
+    @Column(name = "unidade_id")
+    private String unidadeId;
+
+    @Column(name = "organizacao_id", nullable = false)
+    private String organizacaoId;
+
+    @Column(name = "ativos", nullable = false)
+    private int ativos;
+
+    @Column(name = "afastados", nullable = false)
+    private int afastados;
+
+    @Column(name = "desligados", nullable = false)
+    private int desligados;
+
+    @Column(name = "em_contratacao", nullable = false)
+    private int emContratacao;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,66 @@
+package br.sst.auditoria.model;
+
+import br.sst.auditoria.model.enums.StatusExclusao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exclusão de organização processada em segundo plano.
+ *
+ * Sem chave estrangeira para a organização: o registro sobrevive à remoção e guarda o progresso
+ * (etapa atual e linhas removidas) para retomada após falha e para consulta do solicitante.
+ * atualizado_em funciona como lease do nó que está processando.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "exclusao_organizacao", indexes = {
+        @Index(name = "idx_exclusao_organizacao_status", columnList = "status, criado_em")
+})
+public class ExclusaoOrganizacao {
+
+    @Id
+    @Column(name = "organizacao_id", nullable = false)
+    private String organizacaoId;
+
+    @Column(name = "nome", nullable = false)
+    private String nome;
+
+    @Column(name = "solicitado_por", nullable = false)
+    private String solicitadoPor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private StatusExclusao status = StatusExclusao.PENDENTE;
+
+    @Column(name = "etapa")
+    private String etapa;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+
+    @Column(name = "removidos", nullable = false)
+    private long removidos;
+
+    @Column(name = "erro", length = 1000)
+    private String erro;
+
+    @CreationTimestamp
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    @Column(name = "concluido_em")
+    private LocalDateTime concluidoEm;
+}
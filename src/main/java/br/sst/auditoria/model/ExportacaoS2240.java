@@ -0,0 +1,74 @@
+package br.sst.auditoria.model;
+
+import br.sst.auditoria.model.enums.StatusExportacao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exportação dos eventos S-2240 (condições ambientais do trabalho) de uma organização.
+ *
+ * Processada em segundo plano, uma unidade por vez em cada thread do pool; o progresso de cada unidade fica em
+ * {@link ExportacaoS2240Unidade}. Os arquivos ficam em esocial.s2240.directory/{organizacaoId}/{id} no disco
+ * do nó que processa; atualizado_em funciona como lease desse nó (identificado em executor) e é renovado
+ * enquanto ele trabalha.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "exportacao_s2240", indexes = {
+        @Index(name = "idx_exportacao_s2240_status", columnList = "status, criado_em"),
+        @Index(name = "idx_exportacao_s2240_organizacao", columnList = "organizacao_id, criado_em")
+})
+public class ExportacaoS2240 {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "organizacao_id", nullable = false)
+    private String organizacaoId;
+
+    @Column(name = "solicitado_por", nullable = false)
+    private String solicitadoPor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private StatusExportacao status = StatusExportacao.PENDENTE;
+
+    @Column(name = "unidades", nullable = false)
+    private int unidades;
+
+    @Column(name = "unidades_concluidas", nullable = false)
+    private int unidadesConcluidas;
+
+    @Column(name = "eventos", nullable = false)
+    private long eventos;
+
+    @Column(name = "arquivos", nullable = false)
+    private int arquivos;
+
+    @Column(name = "executor", length = 36)
+    private String executor;
+
+    @Column(name = "erro", length = 1000)
+    private String erro;
+
+    @CreationTimestamp
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    @Column(name = "concluido_em")
+    private LocalDateTime concluidoEm;
+}
@@ -0,0 +1,67 @@
+package br.sst.auditoria.model;
+
+import br.sst.auditoria.model.enums.StatusExportacao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ponto de retomada da exportação S-2240 de uma unidade.
+ *
+ * Gravado a cada arquivo concluído: quantidade de arquivos e eventos e a posição (nome, ID) do último
+ * funcionário exportado. Uma exportação interrompida recomeça cada unidade a partir dessa posição.
+ * Sem chaves estrangeiras, como a própria exportação.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+    name = "exportacao_s2240_unidade",
+    indexes = {
+        @Index(name = "idx_exportacao_s2240_unidade_organizacao", columnList = "organizacao_id")
+    },
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_exportacao_s2240_unidade", columnNames = {"exportacao_id", "unidade_id"})
+    }
+)
+public class ExportacaoS2240Unidade {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "exportacao_id", nullable = false)
+    private String exportacaoId;
+
+    @Column(name = "organizacao_id", nullable = false)
+    private String organizacaoId;
+
+    @Column(name = "unidade_id", nullable = false)
+    private String unidadeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private StatusExportacao status = StatusExportacao.PENDENTE;
+
+    @Column(name = "arquivos", nullable = false)
+    private int arquivos;
+
+    @Column(name = "eventos", nullable = false)
+    private long eventos;
+
+    @Column(name = "ultimo_nome", length = 200)
+    private String ultimoNome;
+
+    @Column(name = "ultimo_funcionario_id")
+    private String ultimoFuncionarioId;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+}
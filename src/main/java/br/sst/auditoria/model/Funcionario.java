@@ -35,12 +35,19 @@ import java.time.LocalDateTime;
 @Table(
     name = "funcionario",
     indexes = {
-        @Index(name = "idx_funcionario_organizacao_id", columnList = "organizacao_id"),
-        @Index(name = "idx_funcionario_empresa_id", columnList = "empresa_id"),
-        @Index(name = "idx_funcionario_unidade_id", columnList = "unidade_id"),
-        @Index(name = "idx_funcionario_setor_id", columnList = "setor_id"),
-        @Index(name = "idx_funcionario_cargo_id", columnList = "cargo_id"),
-        @Index(name = "idx_funcionario_situacao", columnList = "situacao")
+        // Listagem por cursor (nome_completo, id) e prefixo de nome, com ou sem situação
+        @Index(name = "idx_funcionario_organizacao_nome", columnList = "organizacao_id, nome_completo, id"),
+        @Index(name = "idx_funcionario_organizacao_situacao_nome", columnList = "organizacao_id, situacao, nome_completo, id"),
+        // Filtros por nível da hierarquia (também atendem às chaves estrangeiras)
+        @Index(name = "idx_funcionario_empresa_situacao_nome", columnList = "empresa_id, situacao, nome_completo, id"),
+        @Index(name = "idx_funcionario_unidade_situacao_nome", columnList = "unidade_id, situacao, nome_completo, id"),
+        @Index(name = "idx_funcionario_setor_nome", columnList = "setor_id, nome_completo, id"),
+        @Index(name = "idx_funcionario_cargo_nome", columnList = "cargo_id, nome_completo, id"),
+        // Faixas de datas de admissão e demissão
+        @Index(name = "idx_funcionario_organizacao_admissao", columnList = "organizacao_id, data_admissao"),
+        @Index(name = "idx_funcionario_organizacao_demissao", columnList = "organizacao_id, data_demissao"),
+        // Sincronização do índice de busca (alterados desde a marca)
+        @Index(name = "idx_funcionario_organizacao_atualizado", columnList = "organizacao_id, atualizado_em")
     },
     uniqueConstraints = {
         @UniqueConstraint(
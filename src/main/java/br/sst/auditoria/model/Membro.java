@@ -17,8 +17,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "membro", indexes = {
-        @Index(name = "membro_organizacao_id_idx", columnList = "organizacao_id"),
-        @Index(name = "membro_usuario_id_idx", columnList = "usuario_id")
+        @Index(name = "membro_organizacao_criado_em_idx", columnList = "organizacao_id, criado_em, id"),
+        @Index(name = "membro_usuario_criado_em_idx", columnList = "usuario_id, criado_em, id")
 })
 public class Membro implements Serializable {
 
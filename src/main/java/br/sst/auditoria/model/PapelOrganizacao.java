@@ -25,7 +25,7 @@ import java.time.LocalDateTime;
 @Table(
     name = "papel_organizacao",
     indexes = {
-        @Index(name = "idx_papel_organizacao_organizacao_id", columnList = "organizacao_id"),
+        @Index(name = "idx_papel_organizacao_organizacao_criado_em", columnList = "organizacao_id, criado_em, id"),
         @Index(name = "idx_papel_organizacao_papel", columnList = "papel")
     }
 )
@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
 @Table(name = "sessao", indexes = {
         @Index(name = "idx_sessao_usuario_id", columnList = "usuario_id"),
         @Index(name = "idx_sessao_organizacao_ativa_id", columnList = "organizacao_ativa_id"),
-        @Index(name = "idx_sessao_token", columnList = "token")
+        @Index(name = "idx_sessao_token", columnList = "token"),
+        @Index(name = "idx_sessao_expira_em", columnList = "expira_em")
 })
 public class Sessao implements Serializable {
 
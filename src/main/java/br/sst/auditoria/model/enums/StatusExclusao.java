@@ -0,0 +1,19 @@
+package br.sst.auditoria.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Situação de uma exclusão de organização em segundo plano
+ */
+@Getter
+public enum StatusExclusao {
+    PENDENTE("Aguardando processamento"),
+    EM_ANDAMENTO("Removendo dados em lotes"),
+    CONCLUIDA("Organização removida");
+
+    private final String descricao;
+
+    StatusExclusao(String descricao) {
+        this.descricao = descricao;
+    }
+}
@@ -0,0 +1,19 @@
+package br.sst.auditoria.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Situação de uma exportação de eventos do eSocial em segundo plano
+ */
+@Getter
+public enum StatusExportacao {
+    PENDENTE("Aguardando processamento"),
+    EM_ANDAMENTO("Gerando arquivos"),
+    CONCLUIDA("Arquivos gerados");
+
+    private final String descricao;
+
+    StatusExportacao(String descricao) {
+        this.descricao = descricao;
+    }
+}
@@ -0,0 +1,9 @@
+package br.sst.auditoria.nr28;
+
+/**
+ * Colunas do Anexo I da NR 28 (gradação das multas): infrações às normas de segurança ou de medicina do trabalho
+ */
+public enum AreaInfracao {
+    SEGURANCA,
+    MEDICINA
+}
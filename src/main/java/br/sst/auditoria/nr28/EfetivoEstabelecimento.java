@@ -0,0 +1,12 @@
+package br.sst.auditoria.nr28;
+
+/**
+ * Projeção de efetivo_unidade com os dados da unidade usados na simulação.
+ * Empregados: ativos + afastados (o contrato dos afastados continua vigente).
+ */
+public record EfetivoEstabelecimento(
+    String unidadeId,
+    String nome,
+    Short grauRisco,
+    int empregados
+) {}
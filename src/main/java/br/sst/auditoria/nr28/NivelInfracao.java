@@ -0,0 +1,11 @@
+package br.sst.auditoria.nr28;
+
+/**
+ * Nível da infração (I1 a I4) atribuído a cada item no Anexo II da NR 28
+ */
+public enum NivelInfracao {
+    I1,
+    I2,
+    I3,
+    I4
+}
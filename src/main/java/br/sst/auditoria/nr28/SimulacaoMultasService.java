@@ -0,0 +1,80 @@
+package br.sst.auditoria.nr28;
+
+import br.sst.auditoria.dto.nr28.MultaUnidade;
+import br.sst.auditoria.dto.nr28.SimulacaoMultasResponse;
+import br.sst.auditoria.exception.UnauthorizedException;
+import br.sst.auditoria.nr28.TabelaMultasNr28.FaixaMulta;
+import br.sst.auditoria.repository.EfetivoUnidadeRepository;
+import br.sst.auditoria.security.permissao.VinculosUsuarioCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulação das multas da NR 28 por unidade (estabelecimento) de uma organização.
+ *
+ * O número de empregados vem de efetivo_unidade, mantido pelos gatilhos de funcionario, então a simulação
+ * da organização inteira é uma única consulta indexada, sem contar funcionários, mesmo com milhares de
+ * unidades. A conversão para reais usa o valor da UFIR configurado em nr28.ufir.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SimulacaoMultasService {
+
+    private final EfetivoUnidadeRepository efetivoUnidadeRepository;
+    private final VinculosUsuarioCache vinculosUsuarioCache;
+    private final BigDecimal valorUfir;
+
+    public SimulacaoMultasService(EfetivoUnidadeRepository efetivoUnidadeRepository,
+                                  VinculosUsuarioCache vinculosUsuarioCache,
+                                  @Value("${nr28.ufir:1.0641}") BigDecimal valorUfir) {
+        this.efetivoUnidadeRepository = efetivoUnidadeRepository;
+        this.vinculosUsuarioCache = vinculosUsuarioCache;
+        this.valorUfir = valorUfir;
+    }
+
+    /**
+     * Simular a multa de uma infração em cada unidade ativa com empregados
+     * GET /api/organizacao/{organizacaoId}/nr28/simulacao
+     *
+     * @param nivel nível da infração, do item infringido no Anexo II
+     * @param reincidencia aplica o valor máximo da faixa
+     */
+    public SimulacaoMultasResponse simular(String organizacaoId, String usuarioId, AreaInfracao area,
+                                           NivelInfracao nivel, boolean reincidencia) {
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacaoId)) {
+            throw new UnauthorizedException("Usuário não é membro desta organização");
+        }
+
+        List<EfetivoEstabelecimento> efetivos = efetivoUnidadeRepository.findEfetivosByOrganizacaoId(organizacaoId);
+
+        List<MultaUnidade> itens = new ArrayList<>(efetivos.size());
+        long empregados = 0;
+        long totalMinimo = 0;
+        long totalMaximo = 0;
+        for (EfetivoEstabelecimento efetivo : efetivos) {
+            FaixaMulta faixa = TabelaMultasNr28.faixa(area, nivel, efetivo.empregados());
+            if (reincidencia) {
+                faixa = faixa.agravada();
+            }
+
+            itens.add(new MultaUnidade(efetivo.unidadeId(), efetivo.nome(), efetivo.grauRisco(), efetivo.empregados(),
+                    faixa.minimo(), faixa.maximo(), emReais(faixa.minimo()), emReais(faixa.maximo())));
+            empregados += efetivo.empregados();
+            totalMinimo += faixa.minimo();
+            totalMaximo += faixa.maximo();
+        }
+
+        return new SimulacaoMultasResponse(area, nivel, reincidencia, valorUfir, itens.size(), empregados,
+                totalMinimo, totalMaximo, emReais(totalMinimo), emReais(totalMaximo), itens);
+    }
+
+    private BigDecimal emReais(long ufir) {
+        return valorUfir.multiply(BigDecimal.valueOf(ufir)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
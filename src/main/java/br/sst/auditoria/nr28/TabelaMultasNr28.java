@@ -0,0 +1,78 @@
+package br.sst.auditoria.nr28;
+
+/**
+ * Gradação das multas do Anexo I da NR 28, em UFIR, por número de empregados, área e nível da infração.
+ *
+ * Faixas de empregados: 1-10, 11-25, 26-50, 51-100, 101-250, 251-500, 501-1000 e mais de 1000.
+ */
+public final class TabelaMultasNr28 {
+
+    /**
+     * Limite superior (inclusivo) de empregados de cada faixa; a última não tem limite
+     */
+    private static final int[] LIMITES_FAIXAS = {10, 25, 50, 100, 250, 500, 1000};
+
+    /**
+     * [faixa][nível I1..I4] = {mínimo, máximo}
+     */
+    private static final int[][][] SEGURANCA = {
+            {{630, 729}, {1129, 1393}, {1691, 2091}, {2252, 2792}},
+            {{730, 830}, {1394, 1664}, {2092, 2495}, {2793, 3334}},
+            {{831, 963}, {1665, 1935}, {2496, 2898}, {3335, 3876}},
+            {{964, 1104}, {1936, 2200}, {2899, 3302}, {3877, 4418}},
+            {{1105, 1241}, {2201, 2471}, {3303, 3717}, {4419, 4948}},
+            {{1242, 1374}, {2472, 2748}, {3718, 4121}, {4949, 5490}},
+            {{1375, 1507}, {2749, 3020}, {4122, 4525}, {5491, 6033}},
+            {{1508, 1646}, {3021, 3284}, {4526, 4929}, {6034, 6304}}
+    };
+
+    private static final int[][][] MEDICINA = {
+            {{378, 428}, {676, 839}, {1015, 1254}, {1350, 1680}},
+            {{429, 498}, {840, 1002}, {1255, 1500}, {1681, 2000}},
+            {{499, 580}, {1003, 1166}, {1501, 1746}, {2001, 2330}},
+            {{581, 662}, {1167, 1324}, {1747, 1986}, {2331, 2656}},
+            {{663, 744}, {1325, 1482}, {1987, 2225}, {2657, 2984}},
+            {{745, 826}, {1483, 1646}, {2226, 2468}, {2985, 3314}},
+            {{827, 906}, {1647, 1810}, {2469, 2711}, {3315, 3646}},
+            {{907, 989}, {1811, 1973}, {2712, 2955}, {3647, 3979}}
+    };
+
+    private TabelaMultasNr28() {
+    }
+
+    /**
+     * Valores mínimo e máximo, em UFIR, de uma infração
+     */
+    public record FaixaMulta(int minimo, int maximo) {
+
+        public static final FaixaMulta NENHUMA = new FaixaMulta(0, 0);
+
+        /**
+         * Reincidência, embaraço ou resistência à fiscalização: a multa é aplicada no valor máximo (NR 28.3.1.1)
+         */
+        public FaixaMulta agravada() {
+            return new FaixaMulta(maximo, maximo);
+        }
+    }
+
+    /**
+     * Faixa da multa para uma infração em um estabelecimento; sem empregados não há multa a graduar
+     */
+    public static FaixaMulta faixa(AreaInfracao area, NivelInfracao nivel, int empregados) {
+        if (empregados <= 0) {
+            return FaixaMulta.NENHUMA;
+        }
+        int[][][] tabela = area == AreaInfracao.SEGURANCA ? SEGURANCA : MEDICINA;
+        int[] valores = tabela[indiceFaixa(empregados)][nivel.ordinal()];
+        return new FaixaMulta(valores[0], valores[1]);
+    }
+
+    private static int indiceFaixa(int empregados) {
+        for (int i = 0; i < LIMITES_FAIXAS.length; i++) {
+            if (empregados <= LIMITES_FAIXAS[i]) {
+                return i;
+            }
+        }
+        return LIMITES_FAIXAS.length;
+    }
+}
@@ -0,0 +1,210 @@
+package br.sst.auditoria.organizacao;
+
+import br.sst.auditoria.invalidacao.EventoInvalidacao;
+import br.sst.auditoria.repository.OrganizacaoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Índice local (por nó) slug → ID de organização.
+ *
+ * Carregado por inteiro na inicialização, responde às verificações de disponibilidade de slug
+ * (chamadas a cada tecla no formulário de criação) e à ativação de organização por slug sem ir ao banco.
+ * A verificação definitiva continua no caminho de escrita (criar/atualizar organização), protegida
+ * também pela restrição única da coluna.
+ *
+ * Eventos ORGANIZACAO recarregam a entrada da organização após o commit (neste e nos demais nós);
+ * TUDO recarrega o índice inteiro. Eventos recebidos fora de transação (os dos outros nós, entregues pela
+ * thread do LISTEN) são recarregados em uma thread própria, para não consultar o banco naquela thread.
+ *
+ * A recarga completa monta mapas novos e os publica com uma única troca de referência: as leituras
+ * concorrentes veem o índice anterior inteiro até a troca, nunca um índice parcialmente preenchido.
+ *
+ * Métrica: gauge organizacao.slugs com o número de slugs indexados.
+ */
+@Component
+@Slf4j
+public class IndiceSlugs implements DisposableBean {
+
+    private static final int TAMANHO_MAXIMO_SLUG = 50;
+    private static final int TENTATIVAS_SUGESTAO = 1000;
+
+    private final OrganizacaoRepository organizacaoRepository;
+    private final int quantidadeSugestoes;
+
+    private volatile Mapas mapas = new Mapas(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    private volatile boolean carregado;
+
+    private final ExecutorService recargas = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("slugs-recarga").daemon(true).factory());
+
+    public IndiceSlugs(OrganizacaoRepository organizacaoRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${organization.slug.suggestions:3}") int quantidadeSugestoes) {
+        this.organizacaoRepository = organizacaoRepository;
+        this.quantidadeSugestoes = quantidadeSugestoes;
+        meterRegistry.gauge("organizacao.slugs", this, indice -> indice.mapas.idPorSlug().size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        recarregar();
+    }
+
+    /**
+     * Retorna o ID da organização com o slug informado
+     */
+    public Optional<String> idPorSlug(String slug) {
+        garantirCarregado();
+        return Optional.ofNullable(mapas.idPorSlug().get(slug));
+    }
+
+    /**
+     * Verifica se o slug está livre segundo o índice local
+     */
+    public boolean disponivel(String slug) {
+        garantirCarregado();
+        return !mapas.idPorSlug().containsKey(slug);
+    }
+
+    /**
+     * Sugere variações livres de um slug (minha-empresa-2, minha-empresa-3, ...)
+     */
+    public List<String> sugerir(String slug) {
+        garantirCarregado();
+
+        Map<String, String> idPorSlug = mapas.idPorSlug();
+        String base = normalizar(slug);
+        List<String> sugestoes = new ArrayList<>(quantidadeSugestoes);
+        if (base.isEmpty()) {
+            return sugestoes;
+        }
+
+        if (!base.equals(slug) && !idPorSlug.containsKey(base)) {
+            sugestoes.add(base);
+        }
+
+        for (int n = 2; sugestoes.size() < quantidadeSugestoes && n < TENTATIVAS_SUGESTAO; n++) {
+            String sufixo = "-" + n;
+            String prefixo = base.length() + sufixo.length() > TAMANHO_MAXIMO_SLUG
+                    ? base.substring(0, TAMANHO_MAXIMO_SLUG - sufixo.length())
+                    : base;
+            String candidato = prefixo + sufixo;
+            if (!idPorSlug.containsKey(candidato)) {
+                sugestoes.add(candidato);
+            }
+        }
+        return sugestoes;
+    }
+
+    @EventListener
+    public void aoInvalidar(EventoInvalidacao evento) {
+        switch (evento.tipo()) {
+            case ORGANIZACAO -> aposCommit(() -> recarregar(evento.chave()));
+            case TUDO -> emSegundoPlano(this::recarregar);
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        recargas.shutdownNow();
+    }
+
+    private void garantirCarregado() {
+        if (!carregado) {
+            recarregar();
+        }
+    }
+
+    private synchronized void recarregar() {
+        List<SlugOrganizacao> slugs = organizacaoRepository.findSlugs();
+
+        Mapas novos = new Mapas(new ConcurrentHashMap<>(slugs.size()), new ConcurrentHashMap<>(slugs.size()));
+        slugs.forEach(s -> indexar(novos, s.id(), s.slug()));
+        mapas = novos;
+        carregado = true;
+
+        log.info("Índice de slugs carregado com {} organizações", slugs.size());
+    }
+
+    private synchronized void recarregar(String organizacaoId) {
+        String atual = organizacaoRepository.findSlugById(organizacaoId).orElse(null);
+
+        // Indexa o slug atual antes de remover o anterior, para que a organização não suma nas leituras
+        Mapas atuais = mapas;
+        String anterior = atual != null
+                ? atuais.slugPorId().put(organizacaoId, atual)
+                : atuais.slugPorId().remove(organizacaoId);
+        if (atual != null) {
+            atuais.idPorSlug().put(atual, organizacaoId);
+        }
+        if (anterior != null && !anterior.equals(atual)) {
+            atuais.idPorSlug().remove(anterior, organizacaoId);
+        }
+    }
+
+    private static void indexar(Mapas mapas, String organizacaoId, String slug) {
+        if (slug != null) {
+            mapas.idPorSlug().put(slug, organizacaoId);
+            mapas.slugPorId().put(organizacaoId, slug);
+        }
+    }
+
+    /**
+     * Os dois sentidos do índice, trocados juntos na recarga completa
+     */
+    private record Mapas(Map<String, String> idPorSlug, Map<String, String> slugPorId) {
+    }
+
+    private static String normalizar(String slug) {
+        String normalizado = slug.trim()
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("^-+|-+$", "");
+        return normalizado.length() > TAMANHO_MAXIMO_SLUG
+                ? normalizado.substring(0, TAMANHO_MAXIMO_SLUG)
+                : normalizado;
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            emSegundoPlano(acao);
+        }
+    }
+
+    private void emSegundoPlano(Runnable acao) {
+        recargas.execute(() -> {
+            try {
+                acao.run();
+            } catch (RuntimeException e) {
+                // Na próxima falta de carga (garantirCarregado) ou evento o índice é recarregado
+                log.warn("Falha ao recarregar o índice de slugs: {}", e.getMessage());
+            }
+        });
+    }
+}
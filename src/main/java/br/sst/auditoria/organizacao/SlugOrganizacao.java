@@ -0,0 +1,9 @@
+package br.sst.auditoria.organizacao;
+
+/**
+ * Projeção do slug de uma organização (ID → slug)
+ */
+public record SlugOrganizacao(
+    String id,
+    String slug
+) {}
@@ -1,13 +1,17 @@
 package br.sst.auditoria.repository;
 
+import br.sst.auditoria.dto.organizacao.ConviteResponse;
 import br.sst.auditoria.model.Convite;
 import br.sst.auditoria.model.Organizacao;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,11 +30,59 @@ public interface ConviteRepository extends JpaRepository<Convite, String> {
     
     boolean existsByOrganizacaoIdAndEmailAndStatus(String organizacaoId, String email, String status);
     
-    @Query("SELECT c FROM Convite c WHERE c.email = :email AND c.status = 'pending' AND c.expiraEm > :agora")
+    @Query("SELECT c FROM Convite c JOIN FETCH c.convidador JOIN FETCH c.organizacao "
+            + "WHERE c.email = :email AND c.status = 'PENDENTE' AND c.expiraEm > :agora")
     List<Convite> findConvitesPendentesValidos(@Param("email") String email, @Param("agora") LocalDateTime agora);
     
-    @Query("SELECT c FROM Convite c WHERE c.organizacao.id = :organizacaoId AND c.status = 'pending'")
+    @Query("SELECT c FROM Convite c WHERE c.organizacao.id = :organizacaoId AND c.status = 'PENDENTE'")
     List<Convite> findConvitesPendentesByOrganizacaoId(@Param("organizacaoId") String organizacaoId);
     
     long countByOrganizacaoIdAndStatus(String organizacaoId, String status);
+
+    @Query("SELECT new br.sst.auditoria.dto.organizacao.ConviteResponse("
+            + "c.id, c.email, cv.id, cv.nome, o.id, o.nome, c.papel, c.status, c.criadoEm, c.expiraEm) "
+            + "FROM Convite c JOIN c.convidador cv JOIN c.organizacao o "
+            + "WHERE o.id = :organizacaoId AND c.status = :status "
+            + "ORDER BY c.criadoEm DESC, c.id")
+    List<ConviteResponse> findConvitesResponseByOrganizacaoIdAndStatus(@Param("organizacaoId") String organizacaoId,
+                                                                       @Param("status") String status,
+                                                                       Limit limite);
+
+    @Query("SELECT new br.sst.auditoria.dto.organizacao.ConviteResponse("
+            + "c.id, c.email, cv.id, cv.nome, o.id, o.nome, c.papel, c.status, c.criadoEm, c.expiraEm) "
+            + "FROM Convite c JOIN c.convidador cv JOIN c.organizacao o "
+            + "WHERE o.id = :organizacaoId "
+            + "ORDER BY c.criadoEm, c.id")
+    List<ConviteResponse> findConvitesResponseByOrganizacaoId(@Param("organizacaoId") String organizacaoId, Limit limite);
+
+    @Query("SELECT new br.sst.auditoria.dto.organizacao.ConviteResponse("
+            + "c.id, c.email, cv.id, cv.nome, o.id, o.nome, c.papel, c.status, c.criadoEm, c.expiraEm) "
+            + "FROM Convite c JOIN c.convidador cv JOIN c.organizacao o "
+            + "WHERE o.id = :organizacaoId "
+            + "AND (c.criadoEm, c.id) > (:criadoEm, :id) "
+            + "ORDER BY c.criadoEm, c.id")
+    List<ConviteResponse> findConvitesResponseByOrganizacaoIdApos(@Param("organizacaoId") String organizacaoId,
+                                                                 @Param("criadoEm") LocalDateTime criadoEm,
+                                                                 @Param("id") String id,
+                                                                 Limit limite);
+
+    long countByOrganizacaoId(String organizacaoId);
+
+    @Modifying
+    @Query("DELETE FROM Convite c WHERE c.organizacao.id = :organizacaoId")
+    int deleteAllByOrganizacaoId(@Param("organizacaoId") String organizacaoId);
+
+    @Query("SELECT LOWER(c.email) FROM Convite c "
+            + "WHERE c.organizacao.id = :organizacaoId AND c.status = :status AND LOWER(c.email) IN :emails")
+    List<String> findEmailsByOrganizacaoIdAndStatusAndEmailIn(@Param("organizacaoId") String organizacaoId,
+                                                              @Param("status") String status,
+                                                              @Param("emails") Collection<String> emails);
+
+    @Modifying
+    @Query("UPDATE Convite c SET c.expiraEm = :expiraEm "
+            + "WHERE c.organizacao.id = :organizacaoId AND c.status = :status AND LOWER(c.email) IN :emails")
+    int renovarExpiracao(@Param("organizacaoId") String organizacaoId,
+                         @Param("status") String status,
+                         @Param("emails") Collection<String> emails,
+                         @Param("expiraEm") LocalDateTime expiraEm);
 }
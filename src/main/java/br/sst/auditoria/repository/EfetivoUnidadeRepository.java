@@ -0,0 +1,26 @@
+package br.sst.auditoria.repository;
+
+import br.sst.auditoria.model.EfetivoUnidade;
+import br.sst.auditoria.nr28.EfetivoEstabelecimento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EfetivoUnidadeRepository extends JpaRepository<EfetivoUnidade, String> {
+
+    /**
+     * Unidades ativas com empregados: varre efetivo_unidade pelo índice da organização e busca cada unidade
+     * pela chave primária, sem tocar em funcionario
+     */
+    @Query("SELECT new br.sst.auditoria.nr28.EfetivoEstabelecimento(u.id, u.nome, u.grauRisco, e.ativos + e.afastados) "
+            + "FROM EfetivoUnidade e JOIN Unidade u ON u.id = e.unidadeId "
+            + "WHERE e.organizacaoId = :organizacaoId "
+            + "AND e.ativos + e.afastados > 0 "
+            + "AND u.situacao = br.sst.auditoria.model.enums.Situacao.ATIVO "
+            + "ORDER BY u.nome, u.id")
+    List<EfetivoEstabelecimento> findEfetivosByOrganizacaoId(@Param("organizacaoId") String organizacaoId);
+}
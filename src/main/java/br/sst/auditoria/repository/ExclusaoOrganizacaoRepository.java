@@ -0,0 +1,20 @@
+package br.sst.auditoria.repository;
+
+import br.sst.auditoria.model.ExclusaoOrganizacao;
+import br.sst.auditoria.model.enums.StatusExclusao;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExclusaoOrganizacaoRepository extends JpaRepository<ExclusaoOrganizacao, String> {
+
+    @Query("SELECT e.organizacaoId FROM ExclusaoOrganizacao e "
+            + "WHERE e.status IN :status ORDER BY e.criadoEm")
+    List<String> findOrganizacaoIdsByStatus(@Param("status") Collection<StatusExclusao> status, Limit limit);
+}
@@ -0,0 +1,26 @@
+package br.sst.auditoria.repository;
+
+import br.sst.auditoria.model.ExportacaoS2240;
+import br.sst.auditoria.model.enums.StatusExportacao;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExportacaoS2240Repository extends JpaRepository<ExportacaoS2240, String> {
+
+    @Query("SELECT e.id FROM ExportacaoS2240 e "
+            + "WHERE e.status IN :status ORDER BY e.criadoEm")
+    List<String> findIdsByStatus(@Param("status") Collection<StatusExportacao> status, Limit limit);
+
+    Optional<ExportacaoS2240> findFirstByOrganizacaoIdAndStatusInOrderByCriadoEmDesc(
+            String organizacaoId, Collection<StatusExportacao> status);
+
+    Optional<ExportacaoS2240> findByIdAndOrganizacaoId(String id, String organizacaoId);
+}
@@ -0,0 +1,20 @@
+package br.sst.auditoria.repository;
+
+import br.sst.auditoria.dto.PaginaCursor.PosicaoNome;
+import br.sst.auditoria.dto.funcionario.FiltroFuncionarios;
+import br.sst.auditoria.dto.funcionario.FuncionarioResumo;
+
+import java.util.List;
+
+/**
+ * Consultas de funcionários com filtros combináveis, montadas apenas com os predicados informados
+ */
+public interface FuncionarioConsultas {
+
+    /**
+     * Página de resumos ordenada por (nomeCompleto, id), começando depois de {@code apos} (nulo = início)
+     */
+    List<FuncionarioResumo> buscarResumos(String organizacaoId, FiltroFuncionarios filtro, PosicaoNome apos, int limite);
+
+    long contar(String organizacaoId, FiltroFuncionarios filtro);
+}
@@ -0,0 +1,114 @@
+package br.sst.auditoria.repository;
+
+import br.sst.auditoria.dto.PaginaCursor.PosicaoNome;
+import br.sst.auditoria.dto.funcionario.FiltroFuncionarios;
+import br.sst.auditoria.dto.funcionario.FuncionarioResumo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação de {@link FuncionarioConsultas}.
+ *
+ * O JPQL inclui só os filtros presentes (sem "(:p IS NULL OR ...)"), de modo que cada combinação gera um plano
+ * próprio que usa os índices compostos de funcionario. Setor e cargo entram por JOIN na mesma consulta e o
+ * resultado é projetado direto em {@link FuncionarioResumo}, sem carregar entidades.
+ *
+ * O cursor usa a comparação de linhas (nome, id) > (:nome, :id), que o PostgreSQL usa como início da faixa no
+ * índice. O prefixo de nome vira também uma faixa [prefixo, prefixo seguinte) sobre nome_completo: com collation
+ * diferente de C, o LIKE 'x%' sozinho não é usado como faixa nos índices btree e varreria a organização inteira.
+ * O LIKE continua na consulta como filtro exato (maiúsculas e minúsculas).
+ */
+class FuncionarioConsultasImpl implements FuncionarioConsultas {
+
+    private static final String SELECT_RESUMO =
+            "SELECT new br.sst.auditoria.dto.funcionario.FuncionarioResumo("
+                    + "f.id, f.nomeCompleto, f.cpf, f.matricula, f.situacao, f.dataAdmissao, f.dataDemissao, "
+                    + "f.empresa.id, f.unidade.id, s.id, s.nome, c.id, c.nome, c.cbo) "
+                    + "FROM Funcionario f JOIN f.setor s JOIN f.cargo c ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FuncionarioResumo> buscarResumos(String organizacaoId, FiltroFuncionarios filtro, PosicaoNome apos,
+                                                 int limite) {
+        Map<String, Object> parametros = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(SELECT_RESUMO).append(onde(organizacaoId, filtro, parametros));
+
+        if (apos != null) {
+            jpql.append(" AND (f.nomeCompleto, f.id) > (:aposNome, :aposId)");
+            parametros.put("aposNome", apos.nome());
+            parametros.put("aposId", apos.id());
+        }
+        jpql.append(" ORDER BY f.nomeCompleto, f.id");
+
+        TypedQuery<FuncionarioResumo> consulta = entityManager.createQuery(jpql.toString(), FuncionarioResumo.class);
+        parametros.forEach(consulta::setParameter);
+        return consulta.setMaxResults(limite).getResultList();
+    }
+
+    @Override
+    public long contar(String organizacaoId, FiltroFuncionarios filtro) {
+        Map<String, Object> parametros = new HashMap<>();
+        String jpql = "SELECT count(f) FROM Funcionario f " + onde(organizacaoId, filtro, parametros);
+
+        TypedQuery<Long> consulta = entityManager.createQuery(jpql, Long.class);
+        parametros.forEach(consulta::setParameter);
+        return consulta.getSingleResult();
+    }
+
+    private static String onde(String organizacaoId, FiltroFuncionarios filtro, Map<String, Object> parametros) {
+        StringBuilder onde = new StringBuilder("WHERE f.organizacao.id = :organizacaoId");
+        parametros.put("organizacaoId", organizacaoId);
+
+        igual(onde, parametros, "f.empresa.id", "empresaId", filtro.empresaId());
+        igual(onde, parametros, "f.unidade.id", "unidadeId", filtro.unidadeId());
+        igual(onde, parametros, "f.setor.id", "setorId", filtro.setorId());
+        igual(onde, parametros, "f.cargo.id", "cargoId", filtro.cargoId());
+        igual(onde, parametros, "f.situacao", "situacao", filtro.situacao());
+
+        comparar(onde, parametros, "f.dataAdmissao >=", "admissaoDe", filtro.admissaoDe());
+        comparar(onde, parametros, "f.dataAdmissao <=", "admissaoAte", filtro.admissaoAte());
+        comparar(onde, parametros, "f.dataDemissao >=", "demissaoDe", filtro.demissaoDe());
+        comparar(onde, parametros, "f.dataDemissao <=", "demissaoAte", filtro.demissaoAte());
+
+        if (filtro.nome() != null && !filtro.nome().isBlank()) {
+            String prefixo = filtro.nome().trim();
+            onde.append(" AND f.nomeCompleto LIKE :nome ESCAPE '\\'");
+            parametros.put("nome", escaparLike(prefixo) + "%");
+
+            // Nas collations linguísticas a pontuação é ignorada e acentos só contam no segundo nível, então a
+            // faixa só é segura quando o último caractere e o seguinte são letras ASCII ou dígitos distintos
+            // (a → b, 0 → 1); nos demais casos fica apenas o LIKE
+            char ultimo = prefixo.charAt(prefixo.length() - 1);
+            if ((ultimo >= 'a' && ultimo < 'z') || (ultimo >= 'A' && ultimo < 'Z') || (ultimo >= '0' && ultimo < '9')) {
+                onde.append(" AND f.nomeCompleto >= :nomeDe AND f.nomeCompleto < :nomeAte");
+                parametros.put("nomeDe", prefixo);
+                parametros.put("nomeAte", prefixo.substring(0, prefixo.length() - 1) + (char) (ultimo + 1));
+            }
+        }
+        return onde.toString();
+    }
+
+    private static void igual(StringBuilder onde, Map<String, Object> parametros, String campo, String parametro,
+                              Object valor) {
+        comparar(onde, parametros, campo + " =", parametro, valor);
+    }
+
+    private static void comparar(StringBuilder onde, Map<String, Object> parametros, String expressao,
+                                 String parametro, Object valor) {
+        if (valor != null && !"".equals(valor)) {
+            onde.append(" AND ").append(expressao).append(" :").append(parametro);
+            parametros.put(parametro, valor);
+        }
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,9 @@
+package br.sst.auditoria.repository;
+
+import br.sst.auditoria.model.Funcionario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FuncionarioRepository extends JpaRepository<Funcionario, String>, FuncionarioConsultas {
+}
@@ -1,15 +1,22 @@
 package br.sst.auditoria.repository;
 
+import br.sst.auditoria.dto.organizacao.MembroResponse;
 import br.sst.auditoria.model.Membro;
 import br.sst.auditoria.model.Organizacao;
 import br.sst.auditoria.model.Usuario;
+import br.sst.auditoria.security.permissao.VinculoMembro;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +31,7 @@ public interface MembroRepository extends JpaRepository<Membro, String> {
     
     List<Membro> findByOrganizacaoId(String organizacaoId);
     
+    @EntityGraph(attributePaths = "usuario")
     Page<Membro> findByOrganizacaoId(String organizacaoId, Pageable pageable);
     
     Optional<Membro> findByOrganizacaoAndUsuario(Organizacao organizacao, Usuario usuario);
@@ -40,4 +48,59 @@ public interface MembroRepository extends JpaRepository<Membro, String> {
     List<Membro> findByUsuarioIdWithOrganizacao(@Param("usuarioId") String usuarioId);
     
     long countByOrganizacaoId(String organizacaoId);
+
+    @Query("SELECT new br.sst.auditoria.dto.organizacao.MembroResponse("
+            + "m.id, u.id, u.nome, u.email, m.organizacao.id, m.papel, m.criadoEm) "
+            + "FROM Membro m JOIN m.usuario u "
+            + "WHERE m.organizacao.id = :organizacaoId "
+            + "ORDER BY m.criadoEm, m.id")
+    List<MembroResponse> findMembrosResponseByOrganizacaoId(@Param("organizacaoId") String organizacaoId, Limit limite);
+
+    @Query("SELECT new br.sst.auditoria.dto.organizacao.MembroResponse("
+            + "m.id, u.id, u.nome, u.email, m.organizacao.id, m.papel, m.criadoEm) "
+            + "FROM Membro m JOIN m.usuario u "
+            + "WHERE m.organizacao.id = :organizacaoId "
+            + "AND (m.criadoEm, m.id) > (:criadoEm, :id) "
+            + "ORDER BY m.criadoEm, m.id")
+    List<MembroResponse> findMembrosResponseByOrganizacaoIdApos(@Param("organizacaoId") String organizacaoId,
+                                                               @Param("criadoEm") LocalDateTime criadoEm,
+                                                               @Param("id") String id,
+                                                               Limit limite);
+
+    @Query("SELECT m FROM Membro m JOIN FETCH m.organizacao "
+            + "WHERE m.usuario.id = :usuarioId "
+            + "ORDER BY m.criadoEm, m.id")
+    List<Membro> findByUsuarioIdWithOrganizacao(@Param("usuarioId") String usuarioId, Limit limite);
+
+    @Query("SELECT m FROM Membro m JOIN FETCH m.organizacao "
+            + "WHERE m.usuario.id = :usuarioId "
+            + "AND (m.criadoEm, m.id) > (:criadoEm, :id) "
+            + "ORDER BY m.criadoEm, m.id")
+    List<Membro> findByUsuarioIdWithOrganizacaoApos(@Param("usuarioId") String usuarioId,
+                                                    @Param("criadoEm") LocalDateTime criadoEm,
+                                                    @Param("id") String id,
+                                                    Limit limite);
+
+    long countByUsuarioId(String usuarioId);
+
+    @Query("SELECT new br.sst.auditoria.security.permissao.VinculoMembro(m.organizacao.id, m.papel) "
+            + "FROM Membro m WHERE m.usuario.id = :usuarioId")
+    List<VinculoMembro> findVinculosByUsuarioId(@Param("usuarioId") String usuarioId);
+
+    @Query("SELECT m.usuario.id FROM Membro m WHERE m.organizacao.id = :organizacaoId")
+    List<String> findUsuarioIdsByOrganizacaoId(@Param("organizacaoId") String organizacaoId);
+
+    @Query("SELECT LOWER(m.usuario.email) FROM Membro m "
+            + "WHERE m.organizacao.id = :organizacaoId AND LOWER(m.usuario.email) IN :emails")
+    List<String> findEmailsByOrganizacaoIdAndEmailIn(@Param("organizacaoId") String organizacaoId,
+                                                     @Param("emails") Collection<String> emails);
+
+    @Query("SELECT m.usuario.id FROM Membro m "
+            + "WHERE m.organizacao.id = :organizacaoId AND m.usuario.id IN :usuarioIds")
+    List<String> findUsuarioIdsByOrganizacaoIdAndUsuarioIdIn(@Param("organizacaoId") String organizacaoId,
+                                                             @Param("usuarioIds") Collection<String> usuarioIds);
+
+    @Modifying
+    @Query("DELETE FROM Membro m WHERE m.organizacao.id = :organizacaoId")
+    int deleteAllByOrganizacaoId(@Param("organizacaoId") String organizacaoId);
 }
@@ -1,9 +1,13 @@
 package br.sst.auditoria.repository;
 
 import br.sst.auditoria.model.Organizacao;
+import br.sst.auditoria.organizacao.SlugOrganizacao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,11 @@ public interface OrganizacaoRepository extends JpaRepository<Organizacao, String
     Optional<Organizacao> findBySlug(String slug);
     
     boolean existsBySlug(String slug);
+
+    @Query("SELECT new br.sst.auditoria.organizacao.SlugOrganizacao(o.id, o.slug) "
+            + "FROM Organizacao o WHERE o.slug IS NOT NULL")
+    List<SlugOrganizacao> findSlugs();
+
+    @Query("SELECT o.slug FROM Organizacao o WHERE o.id = :id")
+    Optional<String> findSlugById(@Param("id") String id);
 }
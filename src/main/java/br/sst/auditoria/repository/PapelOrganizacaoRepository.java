@@ -1,9 +1,14 @@
 package br.sst.auditoria.repository;
 
 import br.sst.auditoria.model.PapelOrganizacao;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +17,30 @@ public interface PapelOrganizacaoRepository extends JpaRepository<PapelOrganizac
     
     List<PapelOrganizacao> findByOrganizacaoId(String organizacaoId);
     
+    List<PapelOrganizacao> findByOrganizacaoIdIn(Collection<String> organizacoesIds);
+    
     Optional<PapelOrganizacao> findByOrganizacaoIdAndPapel(String organizacaoId, String papel);
     
     boolean existsByOrganizacaoIdAndPapel(String organizacaoId, String papel);
     
     long countByOrganizacaoId(String organizacaoId);
+
+    @Query("SELECT p.papel FROM PapelOrganizacao p "
+            + "WHERE p.organizacao.id = :organizacaoId AND p.papel IN :papeis")
+    List<String> findPapeisByOrganizacaoIdAndPapelIn(@Param("organizacaoId") String organizacaoId,
+                                                     @Param("papeis") Collection<String> papeis);
+
+    @Query("SELECT p FROM PapelOrganizacao p "
+            + "WHERE p.organizacao.id = :organizacaoId "
+            + "ORDER BY p.criadoEm, p.id")
+    List<PapelOrganizacao> findByOrganizacaoId(@Param("organizacaoId") String organizacaoId, Limit limite);
+
+    @Query("SELECT p FROM PapelOrganizacao p "
+            + "WHERE p.organizacao.id = :organizacaoId "
+            + "AND (p.criadoEm, p.id) > (:criadoEm, :id) "
+            + "ORDER BY p.criadoEm, p.id")
+    List<PapelOrganizacao> findByOrganizacaoIdApos(@Param("organizacaoId") String organizacaoId,
+                                                   @Param("criadoEm") LocalDateTime criadoEm,
+                                                   @Param("id") String id,
+                                                   Limit limite);
 }
@@ -1,11 +1,13 @@
 package br.sst.auditoria.repository;
 
 import br.sst.auditoria.model.Sessao;
+import br.sst.auditoria.security.session.SessaoAutenticada;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,13 +20,42 @@ public interface SessaoRepository extends JpaRepository<Sessao, String> {
 
     Optional<Sessao> findByToken(String token);
 
-    @Query("SELECT s FROM Sessao s WHERE s.usuario.id = :usuarioId AND s.expiraEm > :agora")
+    /**
+     * Carrega em uma única consulta os dados necessários para autenticar a requisição:
+     * sessão, usuário e organização ativa. Não toca na tabela de contas (hash de senha).
+     */
+    @Query("SELECT new br.sst.auditoria.security.session.SessaoAutenticada("
+            + "s.id, s.token, s.expiraEm, o.id, o.nome, "
+            + "u.id, u.nome, u.email, u.imagem, u.papel, u.emailVerificado, u.banido) "
+            + "FROM Sessao s JOIN s.usuario u LEFT JOIN s.organizacaoAtiva o "
+            + "WHERE s.token = :token")
+    Optional<SessaoAutenticada> findSessaoAutenticadaByToken(@Param("token") String token);
+
+    /**
+     * Mesma projeção de {@link #findSessaoAutenticadaByToken}, pelo ID da sessão (tokens assinados)
+     */
+    @Query("SELECT new br.sst.auditoria.security.session.SessaoAutenticada("
+            + "s.id, s.token, s.expiraEm, o.id, o.nome, "
+            + "u.id, u.nome, u.email, u.imagem, u.papel, u.emailVerificado, u.banido) "
+            + "FROM Sessao s JOIN s.usuario u LEFT JOIN s.organizacaoAtiva o "
+            + "WHERE s.id = :sessaoId")
+    Optional<SessaoAutenticada> findSessaoAutenticadaById(@Param("sessaoId") String sessaoId);
+
+    @Query("SELECT s FROM Sessao s LEFT JOIN FETCH s.organizacaoAtiva "
+            + "WHERE s.usuario.id = :usuarioId AND s.expiraEm > :agora")
     List<Sessao> findSessoesAtivasByUsuarioId(@Param("usuarioId") String usuarioId,
             @Param("agora") LocalDateTime agora);
 
+    /**
+     * Remove um lote de até {@code limite} sessões expiradas, usando o índice de expira_em.
+     * Cada chamada roda em sua própria transação para não manter locks entre lotes.
+     */
+    @Transactional
     @Modifying
-    @Query("DELETE FROM Sessao s WHERE s.expiraEm < :agora")
-    void deleteSessoesExpiradas(@Param("agora") LocalDateTime agora);
+    @Query(value = "DELETE FROM sessao WHERE id IN ("
+            + "SELECT id FROM sessao WHERE expira_em < :agora LIMIT :limite)",
+            nativeQuery = true)
+    int deleteSessoesExpiradas(@Param("agora") LocalDateTime agora, @Param("limite") int limite);
 
     @Modifying
     @Query("DELETE FROM Sessao s WHERE s.usuario.id = :usuarioId")
@@ -37,4 +68,8 @@ public interface SessaoRepository extends JpaRepository<Sessao, String> {
     @Modifying
     @Query("UPDATE Sessao s SET s.organizacaoAtiva = null WHERE s.id = :sessaoId")
     void limparOrganizacaoAtiva(@Param("sessaoId") String sessaoId);
+
+    @Modifying
+    @Query("UPDATE Sessao s SET s.organizacaoAtiva = null WHERE s.organizacaoAtiva.id = :organizacaoId")
+    int limparOrganizacaoAtivaDeTodas(@Param("organizacaoId") String organizacaoId);
 }
@@ -1,9 +1,14 @@
 package br.sst.auditoria.repository;
 
+import br.sst.auditoria.dto.usuario.UsuarioIdentificacao;
 import br.sst.auditoria.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +21,9 @@ public interface UsuarioRepository extends JpaRepository<Usuario, String> {
     boolean existsByEmail(String email);
 
     boolean existsByCpf(String cpf);
+
+    @Query("SELECT new br.sst.auditoria.dto.usuario.UsuarioIdentificacao(u.id, u.email) "
+            + "FROM Usuario u WHERE u.id IN :ids OR u.email IN :emails")
+    List<UsuarioIdentificacao> findIdentificacoesByIdsOrEmails(@Param("ids") Collection<String> ids,
+                                                               @Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,29 @@
+package br.sst.auditoria.security;
+
+import br.sst.auditoria.model.Usuario;
+import org.springframework.security.core.CredentialsContainer;
+
+/**
+ * Principal usado apenas no fluxo de login (DaoAuthenticationProvider).
+ * Carrega o hash da conta de credenciais, que é apagado pelo AuthenticationManager
+ * assim que a autenticação termina.
+ */
+public class CredenciaisUserDetails extends CustomUserDetails implements CredentialsContainer {
+
+    private String senha;
+
+    public CredenciaisUserDetails(Usuario usuario, String senha) {
+        super(usuario);
+        this.senha = senha;
+    }
+
+    @Override
+    public String getPassword() {
+        return senha;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.senha = null;
+    }
+}
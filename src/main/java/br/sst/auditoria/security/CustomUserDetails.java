@@ -8,14 +8,17 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.List;
 
+/**
+ * Principal do usuário autenticado.
+ * Não guarda o hash de senha: as requisições autenticadas por sessão nunca precisam dele.
+ * O login usa {@link CredenciaisUserDetails}, que carrega a senha apenas durante a autenticação.
+ */
 public class CustomUserDetails implements UserDetails {
 
     private final Usuario usuario;
-    private final String senha;
 
-    public CustomUserDetails(Usuario usuario, String senha) {
+    public CustomUserDetails(Usuario usuario) {
         this.usuario = usuario;
-        this.senha = senha;
     }
 
     @Override
@@ -37,7 +40,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public String getPassword() {
-        return senha;
+        return null;
     }
 
     @Override
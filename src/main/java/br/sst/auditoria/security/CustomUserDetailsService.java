@@ -5,6 +5,7 @@ import br.sst.auditoria.model.Usuario;
 import br.sst.auditoria.repository.ContaRepository;
 import br.sst.auditoria.repository.UsuarioRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -13,7 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
     private final ContaRepository contaRepository;
@@ -39,6 +40,23 @@ public class CustomUserDetailsService implements UserDetailsService {
         Optional<Conta> contaOpt = contaRepository.findByUsuarioIdAndProvedorId(usuario.getId(), "credentials");
         String senha = contaOpt.map(Conta::getSenha).orElse(null);
 
-        return new CustomUserDetails(usuario, senha);
+        return new CredenciaisUserDetails(usuario, senha);
+    }
+
+    /**
+     * Regrava o hash da conta de credenciais com o algoritmo/custo atual (chamado após login bem-sucedido)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Usuario usuario = ((CustomUserDetails) user).getUsuario();
+
+        contaRepository.findByUsuarioIdAndProvedorId(usuario.getId(), "credentials")
+                .ifPresent(conta -> {
+                    conta.setSenha(newPassword);
+                    contaRepository.save(conta);
+                });
+
+        return new CredenciaisUserDetails(usuario, newPassword);
     }
 }
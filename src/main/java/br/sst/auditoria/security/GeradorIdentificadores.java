@@ -0,0 +1,53 @@
+package br.sst.auditoria.security;
+
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Gerador de tokens secretos e identificadores de entidades.
+ *
+ * Substitui o SecureRandom estático e o UUID.randomUUID() (que compartilha outro SecureRandom global),
+ * ambos pontos de contenção sob logins concorrentes e inserções em lote. A implementação é escolhida
+ * por security.random.mode: "per-thread" (padrão) ou "drbg".
+ */
+public interface GeradorIdentificadores {
+
+    Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Preenche o array com bytes aleatórios criptograficamente seguros
+     */
+    void bytesAleatorios(byte[] destino);
+
+    /**
+     * Gera um token secreto com a quantidade de bytes informada, em Base64 URL-safe sem padding
+     */
+    default String novoToken(int bytes) {
+        byte[] aleatorios = new byte[bytes];
+        bytesAleatorios(aleatorios);
+        return BASE64_URL.encodeToString(aleatorios);
+    }
+
+    /**
+     * Gera um identificador no formato UUID versão 7: 48 bits de timestamp em milissegundos
+     * seguidos de 74 bits aleatórios. Cabe nas colunas de 36 caracteres existentes e, por ser
+     * crescente no tempo, mantém as inserções no final dos índices de chave primária.
+     */
+    default String novoId() {
+        byte[] aleatorios = new byte[10];
+        bytesAleatorios(aleatorios);
+
+        long timestamp = System.currentTimeMillis();
+        long msb = (timestamp << 16)
+                | 0x7000L
+                | ((aleatorios[0] & 0x0FL) << 8)
+                | (aleatorios[1] & 0xFFL);
+
+        long lsb = 0x8000000000000000L | ((aleatorios[2] & 0x3FL) << 56);
+        for (int i = 3; i < 10; i++) {
+            lsb |= (aleatorios[i] & 0xFFL) << ((9 - i) * 8);
+        }
+
+        return new UUID(msb, lsb).toString();
+    }
+}
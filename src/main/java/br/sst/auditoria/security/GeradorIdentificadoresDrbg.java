@@ -0,0 +1,37 @@
+package br.sst.auditoria.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+import static java.security.DrbgParameters.Capability.RESEED_ONLY;
+
+/**
+ * Gerador baseado em uma instância compartilhada de DRBG (NIST SP 800-90Ar1) com 256 bits de segurança.
+ * O DRBG do JDK é thread-safe, mas sincroniza internamente cada geração: todas as threads disputam esta
+ * instância. Indicado quando é necessário um algoritmo auditável e uma única instância com parâmetros
+ * explícitos; sob alta concorrência, o modo "per-thread" distribui a carga entre várias instâncias.
+ */
+@Component
+@ConditionalOnProperty(name = "security.random.mode", havingValue = "drbg")
+public class GeradorIdentificadoresDrbg implements GeradorIdentificadores {
+
+    private final SecureRandom random;
+
+    public GeradorIdentificadoresDrbg() {
+        try {
+            this.random = SecureRandom.getInstance("DRBG",
+                    DrbgParameters.instantiation(256, RESEED_ONLY, "sst-auditoria".getBytes()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DRBG não disponível nesta JVM", e);
+        }
+    }
+
+    @Override
+    public void bytesAleatorios(byte[] destino) {
+        random.nextBytes(destino);
+    }
+}
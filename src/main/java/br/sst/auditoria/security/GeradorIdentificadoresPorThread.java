@@ -0,0 +1,40 @@
+package br.sst.auditoria.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Gerador com um conjunto fixo de instâncias DRBG, cada thread usando a instância da sua faixa (pelo ID da thread).
+ *
+ * Não usa o SecureRandom padrão: no Linux ele é o NativePRNG, que lê por um bloqueio estático único, então
+ * instâncias separadas não eliminam a contenção. Também não usa uma instância por thread: com virtual threads
+ * seria uma instância nova, semeada a cada requisição. Cada DRBG sincroniza internamente, mas a disputa fica
+ * restrita às threads da mesma faixa.
+ */
+@Component
+@ConditionalOnProperty(name = "security.random.mode", havingValue = "per-thread", matchIfMissing = true)
+public class GeradorIdentificadoresPorThread implements GeradorIdentificadores {
+
+    private final SecureRandom[] faixas;
+
+    public GeradorIdentificadoresPorThread() {
+        // Potência de dois, para escolher a faixa com uma máscara
+        int quantidade = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        this.faixas = new SecureRandom[quantidade];
+        try {
+            for (int i = 0; i < quantidade; i++) {
+                faixas[i] = SecureRandom.getInstance("DRBG");
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DRBG não disponível nesta JVM", e);
+        }
+    }
+
+    @Override
+    public void bytesAleatorios(byte[] destino) {
+        faixas[(int) Thread.currentThread().threadId() & (faixas.length - 1)].nextBytes(destino);
+    }
+}
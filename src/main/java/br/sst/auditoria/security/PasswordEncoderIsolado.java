@@ -0,0 +1,124 @@
+package br.sst.auditoria.security;
+
+import br.sst.auditoria.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * PasswordEncoder que executa hash e verificação de senha em um executor dedicado e limitado.
+ *
+ * O custo do BCrypt é proposital e alto; rodando na thread da requisição, um pico de logins ocupa
+ * todos os workers e atrasa requisições baratas. Aqui o trabalho fica restrito a poucas threads
+ * com fila limitada: quando a fila está cheia (ou a espera passa do limite) a requisição falha
+ * imediatamente com {@link ServicoSobrecarregadoException} (HTTP 503 com Retry-After).
+ *
+ * Métricas: senha.fila (tarefas aguardando), senha.espera (tempo na fila),
+ * senha.hash (tempo de CPU por operação, tag "operacao") e senha.rejeitadas.
+ */
+public class PasswordEncoderIsolado implements PasswordEncoder, DisposableBean {
+
+    private static final long RETRY_AFTER_SEGUNDOS = 1;
+
+    private final PasswordEncoder delegado;
+    private final ThreadPoolExecutor executor;
+    private final Duration esperaMaxima;
+
+    private final Timer tempoEspera;
+    private final Timer tempoCodificar;
+    private final Timer tempoVerificar;
+    private final Counter rejeitadas;
+
+    public PasswordEncoderIsolado(PasswordEncoder delegado,
+                                  int threads,
+                                  int capacidadeFila,
+                                  Duration esperaMaxima,
+                                  MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.esperaMaxima = esperaMaxima;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                Thread.ofPlatform().name("senha-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.tempoEspera = meterRegistry.timer("senha.espera");
+        this.tempoCodificar = meterRegistry.timer("senha.hash", "operacao", "codificar");
+        this.tempoVerificar = meterRegistry.timer("senha.hash", "operacao", "verificar");
+        this.rejeitadas = meterRegistry.counter("senha.rejeitadas");
+        Gauge.builder("senha.fila", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(tempoCodificar, () -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(tempoVerificar, () -> delegado.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Apenas inspeciona o prefixo/custo do hash, por isso roda na thread chamadora
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T executar(Timer tempoHash, Callable<T> operacao) {
+        long submetidoEm = System.nanoTime();
+
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(() -> {
+                tempoEspera.record(System.nanoTime() - submetidoEm, TimeUnit.NANOSECONDS);
+                return tempoHash.recordCallable(operacao);
+            });
+        } catch (RejectedExecutionException e) {
+            throw sobrecarga();
+        }
+
+        try {
+            return futuro.get(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw sobrecarga();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw sobrecarga();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Falha ao processar senha", e.getCause());
+        }
+    }
+
+    private ServicoSobrecarregadoException sobrecarga() {
+        rejeitadas.increment();
+        return new ServicoSobrecarregadoException(
+                "Muitas operações de autenticação simultâneas. Tente novamente em instantes", RETRY_AFTER_SEGUNDOS);
+    }
+}
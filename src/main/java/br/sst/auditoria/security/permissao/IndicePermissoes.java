@@ -0,0 +1,38 @@
+package br.sst.auditoria.security.permissao;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Índice global (interno) de pares recurso × ação.
+ * Cada par recebe uma posição fixa, usada como bit nos conjuntos de permissões compilados.
+ * A busca é feita em dois níveis para não alocar chaves compostas a cada verificação.
+ */
+class IndicePermissoes {
+
+    static final int INEXISTENTE = -1;
+
+    private final Map<String, Map<String, Integer>> posicoes = new ConcurrentHashMap<>();
+    private final AtomicInteger proximaPosicao = new AtomicInteger();
+
+    /**
+     * Retorna a posição do par, ou {@link #INEXISTENTE} se nenhum papel o declarou
+     */
+    int obter(String recurso, String acao) {
+        Map<String, Integer> acoes = posicoes.get(recurso);
+        if (acoes == null) {
+            return INEXISTENTE;
+        }
+        Integer posicao = acoes.get(acao);
+        return posicao != null ? posicao : INEXISTENTE;
+    }
+
+    /**
+     * Retorna a posição do par, registrando-o se ainda não existir
+     */
+    int registrar(String recurso, String acao) {
+        return posicoes.computeIfAbsent(recurso, r -> new ConcurrentHashMap<>())
+                .computeIfAbsent(acao, a -> proximaPosicao.getAndIncrement());
+    }
+}
@@ -0,0 +1,218 @@
+package br.sst.auditoria.security.permissao;
+
+import br.sst.auditoria.exception.BusinessException;
+import br.sst.auditoria.invalidacao.EventoInvalidacao;
+import br.sst.auditoria.model.PapelOrganizacao;
+import br.sst.auditoria.repository.PapelOrganizacaoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Avaliação compilada das permissões de papéis dinâmicos.
+ *
+ * O JSON de permissões ({"recurso": ["acao1", "acao2"]}) de todos os papéis de uma organização é lido
+ * uma única vez e convertido em conjuntos de bits sobre o {@link IndicePermissoes}. Uma verificação
+ * passa a ser um teste de bit, sem consulta e sem alocação.
+ *
+ * As entradas são versionadas por organização: alterações de papéis (evento PAPEL) incrementam a versão
+ * imediatamente e após o commit, de modo que uma compilação concorrente com dados antigos é descartada.
+ * Eventos ORGANIZACAO (criação, troca de slug, exclusão) removem a versão e a compilação, para que o mapa
+ * de versões não cresça com organizações excluídas. Como rede de segurança contra um evento perdido, cada
+ * compilação expira após permissions.cache.ttl.
+ */
+@Component
+@Slf4j
+public class MotorPermissoes {
+
+    private final PapelOrganizacaoRepository papelOrganizacaoRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IndicePermissoes indice = new IndicePermissoes();
+    private final Map<String, Long> versoes = new ConcurrentHashMap<>();
+    private final Cache<String, PermissoesOrganizacao> compiladas;
+
+    public MotorPermissoes(PapelOrganizacaoRepository papelOrganizacaoRepository,
+                           @Value("${permissions.cache.ttl:10m}") Duration ttl,
+                           @Value("${permissions.cache.max-size:10000}") long tamanhoMaximo) {
+        this.papelOrganizacaoRepository = papelOrganizacaoRepository;
+        this.compiladas = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(tamanhoMaximo)
+                .build();
+    }
+
+    /**
+     * Verifica se o papel dinâmico da organização concede a ação sobre o recurso
+     */
+    public boolean permite(String organizacaoId, String papel, String recurso, String acao) {
+        // Compila antes de consultar o índice: é a compilação que registra os pares declarados pela organização
+        PermissoesOrganizacao permissoes = obterCompiladas(organizacaoId);
+        int posicao = indice.obter(recurso, acao);
+        if (posicao == IndicePermissoes.INEXISTENTE) {
+            return false;
+        }
+        return permissoes.permite(papel, posicao);
+    }
+
+    /**
+     * Compila de uma vez, com uma única consulta, as organizações ainda não presentes no cache
+     * (usado pela verificação em lote para manter o número de consultas fixo)
+     */
+    public void precarregar(Collection<String> organizacoesIds) {
+        Map<String, Long> pendentes = new HashMap<>();
+        for (String organizacaoId : organizacoesIds) {
+            long versaoAtual = versoes.getOrDefault(organizacaoId, 0L);
+            PermissoesOrganizacao permissoes = compiladas.getIfPresent(organizacaoId);
+            if (permissoes == null || permissoes.versao() != versaoAtual) {
+                pendentes.put(organizacaoId, versaoAtual);
+            }
+        }
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<PapelOrganizacao>> papeisPorOrganizacao = new HashMap<>();
+        pendentes.keySet().forEach(id -> papeisPorOrganizacao.put(id, new ArrayList<>()));
+        for (PapelOrganizacao papel : papelOrganizacaoRepository.findByOrganizacaoIdIn(pendentes.keySet())) {
+            papeisPorOrganizacao.get(papel.getOrganizacao().getId()).add(papel);
+        }
+
+        pendentes.forEach((organizacaoId, versao) ->
+                armazenar(organizacaoId, compilar(organizacaoId, versao, papeisPorOrganizacao.get(organizacaoId))));
+    }
+
+    /**
+     * Valida o JSON de permissões de um papel, rejeitando formatos que não seriam compilados
+     */
+    public void validar(String permissao) {
+        try {
+            JsonNode raiz = objectMapper.readTree(permissao);
+            if (raiz == null || !raiz.isObject()) {
+                throw new BusinessException("Permissão deve ser um objeto JSON no formato {\"recurso\": [\"acao\"]}");
+            }
+            for (JsonNode acoes : raiz) {
+                if (!acoes.isArray()) {
+                    throw new BusinessException("As ações de cada recurso devem ser uma lista");
+                }
+                for (JsonNode acao : acoes) {
+                    if (!acao.isTextual()) {
+                        throw new BusinessException("As ações devem ser textos");
+                    }
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Permissão não é um JSON válido");
+        }
+    }
+
+    @EventListener
+    public void aoInvalidar(EventoInvalidacao evento) {
+        switch (evento.tipo()) {
+            case PAPEL -> agoraEAposCommit(() -> {
+                versoes.merge(evento.chave(), 1L, Long::sum);
+                compiladas.invalidate(evento.chave());
+            });
+            case ORGANIZACAO -> agoraEAposCommit(() -> {
+                versoes.remove(evento.chave());
+                compiladas.invalidate(evento.chave());
+            });
+            case TUDO -> agoraEAposCommit(() -> {
+                versoes.replaceAll((organizacaoId, versao) -> versao + 1);
+                compiladas.invalidateAll();
+            });
+            default -> {
+            }
+        }
+    }
+
+    private PermissoesOrganizacao obterCompiladas(String organizacaoId) {
+        long versaoAtual = versoes.getOrDefault(organizacaoId, 0L);
+
+        PermissoesOrganizacao permissoes = compiladas.getIfPresent(organizacaoId);
+        if (permissoes != null && permissoes.versao() == versaoAtual) {
+            return permissoes;
+        }
+
+        permissoes = compilar(organizacaoId, versaoAtual, papelOrganizacaoRepository.findByOrganizacaoId(organizacaoId));
+        armazenar(organizacaoId, permissoes);
+        return permissoes;
+    }
+
+    /**
+     * Guarda a compilação apenas se nenhuma alteração de papéis ocorreu enquanto ela era feita
+     */
+    private void armazenar(String organizacaoId, PermissoesOrganizacao permissoes) {
+        if (versoes.getOrDefault(organizacaoId, 0L) == permissoes.versao()) {
+            compiladas.put(organizacaoId, permissoes);
+        }
+    }
+
+    private PermissoesOrganizacao compilar(String organizacaoId, long versao, List<PapelOrganizacao> papeis) {
+        Map<String, List<Integer>> posicoesPorPapel = new HashMap<>();
+        int maiorPosicao = -1;
+
+        for (PapelOrganizacao papel : papeis) {
+            List<Integer> posicoes = new ArrayList<>();
+            try {
+                JsonNode raiz = objectMapper.readTree(papel.getPermissao());
+                Iterator<Map.Entry<String, JsonNode>> recursos = raiz.fields();
+                while (recursos.hasNext()) {
+                    Map.Entry<String, JsonNode> recurso = recursos.next();
+                    for (JsonNode acao : recurso.getValue()) {
+                        int posicao = indice.registrar(recurso.getKey(), acao.asText());
+                        posicoes.add(posicao);
+                        maiorPosicao = Math.max(maiorPosicao, posicao);
+                    }
+                }
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Permissões inválidas no papel {} da organização {}: {}",
+                        papel.getPapel(), organizacaoId, e.getMessage());
+            }
+            posicoesPorPapel.put(papel.getPapel(), posicoes);
+        }
+
+        int palavras = maiorPosicao < 0 ? 0 : (maiorPosicao >>> 6) + 1;
+        Map<String, long[]> bitsPorPapel = new HashMap<>();
+        posicoesPorPapel.forEach((papel, posicoes) -> {
+            long[] bits = new long[palavras];
+            for (int posicao : posicoes) {
+                bits[posicao >>> 6] |= 1L << posicao;
+            }
+            bitsPorPapel.put(papel, bits);
+        });
+
+        log.debug("Permissões da organização {} compiladas ({} papéis, versão {})",
+                organizacaoId, bitsPorPapel.size(), versao);
+        return new PermissoesOrganizacao(versao, Map.copyOf(bitsPorPapel));
+    }
+
+    private void agoraEAposCommit(Runnable acao) {
+        acao.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.sst.auditoria.security.permissao;
+
+import java.util.Map;
+
+/**
+ * Papéis dinâmicos de uma organização compilados em conjuntos de bits, junto com a versão
+ * da organização no momento da compilação.
+ */
+record PermissoesOrganizacao(long versao, Map<String, long[]> bitsPorPapel) {
+
+    boolean permite(String papel, int posicao) {
+        long[] bits = bitsPorPapel.get(papel);
+        int palavra = posicao >>> 6;
+        return bits != null && palavra < bits.length && (bits[palavra] & (1L << posicao)) != 0;
+    }
+}
@@ -0,0 +1,9 @@
+package br.sst.auditoria.security.permissao;
+
+/**
+ * Projeção do vínculo de um usuário com uma organização (organização → papel)
+ */
+public record VinculoMembro(
+    String organizacaoId,
+    String papel
+) {}
@@ -0,0 +1,101 @@
+package br.sst.auditoria.security.permissao;
+
+import br.sst.auditoria.invalidacao.EventoInvalidacao;
+import br.sst.auditoria.repository.MembroRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Snapshot, por usuário, das organizações de que ele é membro e do papel em cada uma.
+ *
+ * Carregado com uma única consulta na primeira verificação e mantido por um TTL curto, substitui
+ * as consultas existsByOrganizacaoIdAndUsuarioId/findByOrganizacaoIdAndUsuarioId repetidas em cada
+ * método do OrganizacaoService. Eventos MEMBRO (adicionar, remover, sair, alterar papel, aceitar convite,
+ * deletar organização) descartam o snapshot imediatamente e após o commit.
+ *
+ * Métricas (hits, misses, evictions) são publicadas com o nome de cache "vinculos".
+ */
+@Component
+public class VinculosUsuarioCache {
+
+    public static final String NOME_CACHE = "vinculos";
+
+    private final MembroRepository membroRepository;
+    private final Cache<String, Map<String, String>> cache;
+
+    public VinculosUsuarioCache(MembroRepository membroRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${permissions.membership.ttl:60s}") Duration ttl,
+                                @Value("${permissions.membership.max-size:10000}") long tamanhoMaximo) {
+        this.membroRepository = membroRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME_CACHE);
+    }
+
+    /**
+     * Retorna o papel do usuário na organização, ou null se ele não for membro
+     */
+    public String papel(String usuarioId, String organizacaoId) {
+        return vinculos(usuarioId).get(organizacaoId);
+    }
+
+    /**
+     * Verifica se o usuário é membro da organização
+     */
+    public boolean ehMembro(String usuarioId, String organizacaoId) {
+        return vinculos(usuarioId).containsKey(organizacaoId);
+    }
+
+    /**
+     * Retorna o mapa organização → papel do usuário
+     */
+    public Map<String, String> vinculos(String usuarioId) {
+        return cache.get(usuarioId, this::carregar);
+    }
+
+    @EventListener
+    public void aoInvalidar(EventoInvalidacao evento) {
+        switch (evento.tipo()) {
+            case MEMBRO, SESSOES_USUARIO -> agoraEAposCommit(() -> cache.invalidate(evento.chave()));
+            case TUDO -> agoraEAposCommit(cache::invalidateAll);
+            default -> {
+            }
+        }
+    }
+
+    private Map<String, String> carregar(String usuarioId) {
+        Map<String, String> vinculos = new HashMap<>();
+        for (VinculoMembro vinculo : membroRepository.findVinculosByUsuarioId(usuarioId)) {
+            vinculos.put(vinculo.organizacaoId(), vinculo.papel());
+        }
+        return Map.copyOf(vinculos);
+    }
+
+    private void agoraEAposCommit(Runnable acao) {
+        acao.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package br.sst.auditoria.security.session;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR emitido pelo {@link SessionAuthenticationFilter} com a duração de cada etapa da autenticação.
+ * Só é instanciado quando o evento está habilitado na gravação.
+ */
+@Name("br.sst.auditoria.AutenticacaoSessao")
+@Label("Autenticação por Sessão")
+@Category({"SST Auditoria", "Segurança"})
+@Description("Etapas do filtro de autenticação por sessão")
+class AutenticacaoSessaoEvent extends Event {
+
+    @Label("Resultado")
+    String resultado;
+
+    @Label("Extração do Token")
+    @Timespan(Timespan.NANOSECONDS)
+    long extracaoToken;
+
+    @Label("Busca da Sessão")
+    @Timespan(Timespan.NANOSECONDS)
+    long buscaSessao;
+
+    @Label("Carga do Usuário")
+    @Timespan(Timespan.NANOSECONDS)
+    long cargaUsuario;
+
+    @Label("Construção do Principal")
+    @Timespan(Timespan.NANOSECONDS)
+    long construcaoPrincipal;
+
+    @Label("Contexto de Segurança")
+    @Timespan(Timespan.NANOSECONDS)
+    long contextoSeguranca;
+}
@@ -0,0 +1,41 @@
+package br.sst.auditoria.security.session;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado da autenticação de uma requisição pelo token de sessão.
+ * O valor de {@link #tag()} é usado nas métricas e eventos do filtro de autenticação.
+ */
+public enum ResultadoSessao {
+    VALIDA("valid"),
+    EXPIRADA("expired"),
+    BANIDA("banned"),
+    /** Sem token, token desconhecido ou com assinatura inválida */
+    AUSENTE("missing");
+
+    private final String tag;
+
+    ResultadoSessao(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * Classifica um snapshot de sessão no instante informado
+     */
+    public static ResultadoSessao avaliar(SessaoAutenticada sessao, LocalDateTime agora) {
+        if (sessao == null) {
+            return AUSENTE;
+        }
+        if (sessao.expirada(agora)) {
+            return EXPIRADA;
+        }
+        if (sessao.usuarioBanido()) {
+            return BANIDA;
+        }
+        return VALIDA;
+    }
+}
@@ -0,0 +1,69 @@
+package br.sst.auditoria.security.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Registro em memória de revogações para tokens assinados.
+ *
+ * Um token assinado é aceito sem consulta ao banco até o seu horizonte; este registro garante que
+ * revogações (logout, logout em todos os dispositivos, banimento, troca de organização ativa)
+ * tenham efeito antes disso, forçando a verificação no banco para tokens emitidos até o instante
+ * da revogação. As entradas expiram junto com o horizonte, quando o banco volta a ser consultado.
+ */
+@Component
+public class RevogacaoSessaoRegistro {
+
+    private static final String PREFIXO_SESSAO = "s:";
+    private static final String PREFIXO_USUARIO = "u:";
+    private static final String CHAVE_GLOBAL = "*";
+
+    private final Cache<String, Long> revogacoes;
+
+    public RevogacaoSessaoRegistro(@Value("${session.token.horizon:5m}") Duration horizonte) {
+        this.revogacoes = Caffeine.newBuilder()
+                .expireAfterWrite(horizonte)
+                .build();
+    }
+
+    /**
+     * Registra a revogação de uma sessão
+     */
+    public void registrarSessao(String sessaoId) {
+        revogacoes.put(PREFIXO_SESSAO + sessaoId, Instant.now().getEpochSecond());
+    }
+
+    /**
+     * Registra a revogação de todas as sessões de um usuário
+     */
+    public void registrarUsuario(String usuarioId) {
+        revogacoes.put(PREFIXO_USUARIO + usuarioId, Instant.now().getEpochSecond());
+    }
+
+    /**
+     * Registra uma revogação global: todo token emitido até agora volta a ser verificado no banco
+     * (usado quando notificações de outros nós podem ter sido perdidas)
+     */
+    public void registrarTudo() {
+        revogacoes.put(CHAVE_GLOBAL, Instant.now().getEpochSecond());
+    }
+
+    /**
+     * Verifica se o token foi emitido antes de uma revogação e precisa ser confirmado no banco
+     */
+    public boolean exigeVerificacao(TokenSessaoClaims claims) {
+        return revogadoDesde(CHAVE_GLOBAL, claims.emitidoEm())
+                || revogadoDesde(PREFIXO_SESSAO + claims.sessaoId(), claims.emitidoEm())
+                || revogadoDesde(PREFIXO_USUARIO + claims.usuarioId(), claims.emitidoEm());
+    }
+
+    private boolean revogadoDesde(String chave, long emitidoEm) {
+        Long revogadoEm = revogacoes.getIfPresent(chave);
+        return revogadoEm != null && revogadoEm >= emitidoEm;
+    }
+}
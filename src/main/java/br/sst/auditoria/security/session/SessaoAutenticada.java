@@ -0,0 +1,95 @@
+package br.sst.auditoria.security.session;
+
+import br.sst.auditoria.model.Organizacao;
+import br.sst.auditoria.model.Sessao;
+import br.sst.auditoria.model.Usuario;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot imutável de uma sessão já validada.
+ * Guarda apenas os dados necessários para autenticar a requisição,
+ * permitindo mantê-lo em cache sem referências a entidades gerenciadas.
+ */
+public record SessaoAutenticada(
+    String sessaoId,
+    String token,
+    LocalDateTime expiraEm,
+    String organizacaoAtivaId,
+    String organizacaoAtivaNome,
+    String usuarioId,
+    String nome,
+    String email,
+    String imagem,
+    String papel,
+    Boolean emailVerificado,
+    Boolean banido
+) {
+    /**
+     * Cria um snapshot a partir de uma entidade Sessao com o usuário carregado
+     */
+    public static SessaoAutenticada fromSessao(Sessao sessao) {
+        Usuario usuario = sessao.getUsuario();
+        Organizacao organizacaoAtiva = sessao.getOrganizacaoAtiva();
+
+        return new SessaoAutenticada(
+            sessao.getId(),
+            sessao.getToken(),
+            sessao.getExpiraEm(),
+            organizacaoAtiva != null ? organizacaoAtiva.getId() : null,
+            organizacaoAtiva != null ? organizacaoAtiva.getNome() : null,
+            usuario.getId(),
+            usuario.getNome(),
+            usuario.getEmail(),
+            usuario.getImagem(),
+            usuario.getPapel(),
+            usuario.getEmailVerificado(),
+            usuario.getBanido()
+        );
+    }
+
+    /**
+     * Verifica se a sessão já expirou no instante informado
+     */
+    public boolean expirada(LocalDateTime agora) {
+        return expiraEm.isBefore(agora);
+    }
+
+    /**
+     * Retorna uma cópia do snapshot com o token entregue ao cliente
+     */
+    public SessaoAutenticada comToken(String tokenCliente) {
+        return new SessaoAutenticada(sessaoId, tokenCliente, expiraEm, organizacaoAtivaId, organizacaoAtivaNome,
+                usuarioId, nome, email, imagem, papel, emailVerificado, banido);
+    }
+
+    /**
+     * Retorna uma cópia do snapshot com a nova data de expiração
+     */
+    public SessaoAutenticada comExpiracao(LocalDateTime novaExpiracao) {
+        return new SessaoAutenticada(sessaoId, token, novaExpiracao, organizacaoAtivaId, organizacaoAtivaNome,
+                usuarioId, nome, email, imagem, papel, emailVerificado, banido);
+    }
+
+    /**
+     * Verifica se o usuário da sessão está banido
+     */
+    public boolean usuarioBanido() {
+        return Boolean.TRUE.equals(banido);
+    }
+
+    /**
+     * Reconstrói um Usuario destacado (não gerenciado) com os dados do snapshot
+     */
+    public Usuario toUsuario() {
+        return Usuario.builder()
+                .id(usuarioId)
+                .nome(nome)
+                .email(email)
+                .imagem(imagem)
+                .papel(papel)
+                .emailVerificado(emailVerificado)
+                .banido(banido)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package br.sst.auditoria.security.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Cache em memória de sessões validadas, indexado pelo token.
+ * Limitado por tamanho e por TTL, evitando uma consulta ao banco a cada requisição autenticada.
+ * O TTL conta a partir do armazenamento e não é renovado por atualizações (renovação da expiração), para que
+ * uma sessão ativa também volte a ser lida do banco, cobrindo invalidações perdidas.
+ *
+ * As invalidações são aplicadas imediatamente e repetidas após o commit da transação corrente,
+ * para que uma leitura concorrente não recoloque no cache o estado anterior à alteração.
+ *
+ * Métricas (hits, misses, evictions) são publicadas com o nome de cache "sessao".
+ */
+@Component
+public class SessaoCache {
+
+    public static final String NOME_CACHE = "sessao";
+
+    private final Cache<String, SessaoAutenticada> cache;
+
+    public SessaoCache(MeterRegistry meterRegistry,
+                       @Value("${session.cache.ttl:60s}") Duration ttl,
+                       @Value("${session.cache.max-size:10000}") long tamanhoMaximo) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new Expiry<String, SessaoAutenticada>() {
+                    @Override
+                    public long expireAfterCreate(String token, SessaoAutenticada sessao, long agora) {
+                        return ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, SessaoAutenticada sessao, long agora, long restante) {
+                        return restante;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, SessaoAutenticada sessao, long agora, long restante) {
+                        return restante;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME_CACHE);
+    }
+
+    /**
+     * Obtém a sessão em cache, descartando-a se já tiver expirado
+     */
+    public Optional<SessaoAutenticada> obter(String token) {
+        SessaoAutenticada sessao = cache.getIfPresent(token);
+        if (sessao == null) {
+            return Optional.empty();
+        }
+
+        if (sessao.expirada(LocalDateTime.now())) {
+            cache.invalidate(token);
+            return Optional.empty();
+        }
+
+        return Optional.of(sessao);
+    }
+
+    /**
+     * Armazena o snapshot de uma sessão validada
+     */
+    public void armazenar(SessaoAutenticada sessao) {
+        cache.put(sessao.token(), sessao);
+    }
+
+    /**
+     * Atualiza a expiração de uma sessão em cache (renovação em modo "touch")
+     */
+    public void atualizarExpiracao(String token, LocalDateTime novaExpiracao) {
+        cache.asMap().computeIfPresent(token, (chave, sessao) -> sessao.comExpiracao(novaExpiracao));
+    }
+
+    /**
+     * Invalida a sessão com o token informado
+     */
+    public void invalidar(String token) {
+        if (token != null) {
+            executarAgoraEAposCommit(() -> cache.invalidate(token));
+        }
+    }
+
+    /**
+     * Invalida a sessão com o ID informado
+     */
+    public void invalidarSessao(String sessaoId) {
+        invalidarSe(s -> s.sessaoId().equals(sessaoId));
+    }
+
+    /**
+     * Invalida todas as sessões de um usuário
+     */
+    public void invalidarUsuario(String usuarioId) {
+        invalidarSe(s -> s.usuarioId().equals(usuarioId));
+    }
+
+    /**
+     * Remove todas as entradas do cache
+     */
+    public void invalidarTudo() {
+        executarAgoraEAposCommit(cache::invalidateAll);
+    }
+
+    private void invalidarSe(Predicate<SessaoAutenticada> filtro) {
+        executarAgoraEAposCommit(() -> cache.asMap().values().removeIf(filtro));
+    }
+
+    private void executarAgoraEAposCommit(Runnable invalidacao) {
+        invalidacao.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidacao.run();
+                }
+            });
+        }
+    }
+}
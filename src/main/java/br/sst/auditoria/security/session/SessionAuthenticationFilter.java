@@ -1,18 +1,18 @@
 package br.sst.auditoria.security.session;
 
-import br.sst.auditoria.model.Conta;
-import br.sst.auditoria.model.Sessao;
 import br.sst.auditoria.model.Usuario;
-import br.sst.auditoria.repository.ContaRepository;
 import br.sst.auditoria.security.CustomUserDetails;
 import br.sst.auditoria.service.SessaoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import jdk.jfr.EventType;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -21,7 +21,10 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Filtro de autenticação baseado em sessão persistida no banco de dados.
@@ -30,40 +33,85 @@ import java.util.Optional;
  * Suporta token via:
  * - Header Authorization: Bearer <token>
  * - Cookie: session_token=<token>
+ *
+ * Cada etapa (extração do token, busca da sessão, carga do usuário, construção do principal e
+ * contexto de segurança) é medida em sessao.filtro.etapa, o total em sessao.filtro por resultado
+ * (valid, expired, banned, missing) e, quando habilitado, em um evento JFR e no header Server-Timing.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class SessionAuthenticationFilter extends OncePerRequestFilter {
 
     private final SessaoService sessaoService;
-    private final ContaRepository contaRepository;
 
     public static final String SESSION_COOKIE_NAME = "session_token";
     public static final String AUTHORIZATION_HEADER = "Authorization";
     public static final String BEARER_PREFIX = "Bearer ";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final EventType EVENTO_JFR = EventType.getEventType(AutenticacaoSessaoEvent.class);
+
+    // Medidores criados uma única vez; por requisição só há registros de valores primitivos
+    private final Map<ResultadoSessao, Timer> tempoTotal = new EnumMap<>(ResultadoSessao.class);
+    private final Timer tempoExtracaoToken;
+    private final Timer tempoBuscaSessao;
+    private final Timer tempoCargaUsuario;
+    private final Timer tempoConstrucaoPrincipal;
+    private final Timer tempoContextoSeguranca;
+    private final boolean serverTimingHabilitado;
+
+    public SessionAuthenticationFilter(SessaoService sessaoService,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${session.instrumentation.server-timing:true}") boolean serverTimingHabilitado) {
+        this.sessaoService = sessaoService;
+        this.serverTimingHabilitado = serverTimingHabilitado;
+        for (ResultadoSessao resultado : ResultadoSessao.values()) {
+            tempoTotal.put(resultado, meterRegistry.timer("sessao.filtro", "resultado", resultado.tag()));
+        }
+        this.tempoExtracaoToken = meterRegistry.timer("sessao.filtro.etapa", "etapa", "token");
+        this.tempoBuscaSessao = meterRegistry.timer("sessao.filtro.etapa", "etapa", "sessao");
+        this.tempoCargaUsuario = meterRegistry.timer("sessao.filtro.etapa", "etapa", "usuario");
+        this.tempoConstrucaoPrincipal = meterRegistry.timer("sessao.filtro.etapa", "etapa", "principal");
+        this.tempoContextoSeguranca = meterRegistry.timer("sessao.filtro.etapa", "etapa", "contexto");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
+        long inicio = System.nanoTime();
+        long extracaoToken = 0;
+        long buscaSessao = 0;
+        long cargaUsuario = 0;
+        long construcaoPrincipal = 0;
+        long contextoSeguranca = 0;
+        ResultadoSessao resultado = ResultadoSessao.AUSENTE;
+
         try {
             String sessionToken = extrairToken(request);
+            long marca = System.nanoTime();
+            extracaoToken = marca - inicio;
 
             if (sessionToken != null) {
-                Optional<Sessao> sessaoOpt = sessaoService.validarSessao(sessionToken);
-
-                if (sessaoOpt.isPresent()) {
-                    Sessao sessao = sessaoOpt.get();
-                    Usuario usuario = sessao.getUsuario();
+                // Consulta o cache de sessões antes de ir ao banco
+                SessaoAutenticada sessao = sessaoService.localizar(sessionToken).orElse(null);
+                resultado = ResultadoSessao.avaliar(sessao, LocalDateTime.now());
+                long agora = System.nanoTime();
+                buscaSessao = agora - marca;
+                marca = agora;
+
+                if (resultado == ResultadoSessao.BANIDA) {
+                    log.warn("Tentativa de acesso com sessão de usuário banido: {}", sessao.email());
+                }
 
-                    // Busca a senha da conta de credenciais para o CustomUserDetails
-                    String senha = contaRepository
-                            .findByUsuarioIdAndProvedorId(usuario.getId(), "credentials")
-                            .map(Conta::getSenha)
-                            .orElse(null);
+                if (resultado == ResultadoSessao.VALIDA) {
+                    Usuario usuario = sessao.toUsuario();
 
-                    CustomUserDetails userDetails = new CustomUserDetails(usuario, senha);
+                    // O principal da sessão não carrega o hash de senha
+                    CustomUserDetails userDetails = new CustomUserDetails(usuario);
+                    agora = System.nanoTime();
+                    cargaUsuario = agora - marca;
+                    marca = agora;
 
                     // Define o contexto de autenticação com informações da sessão
                     UsernamePasswordAuthenticationToken authentication = new SessionAuthenticationToken(
@@ -72,9 +120,16 @@ public class SessionAuthenticationFilter extends OncePerRequestFilter {
                             userDetails.getAuthorities());
 
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    agora = System.nanoTime();
+                    construcaoPrincipal = agora - marca;
+                    marca = agora;
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
 
+                    // Sliding expiration: registra a renovação para gravação agrupada
+                    sessaoService.tocarSessao(sessao);
+                    contextoSeguranca = System.nanoTime() - marca;
+
                     log.debug("Autenticação via sessão bem-sucedida para usuário: {}", usuario.getEmail());
                 }
             }
@@ -82,9 +137,68 @@ public class SessionAuthenticationFilter extends OncePerRequestFilter {
             log.error("Não foi possível definir autenticação do usuário: {}", e.getMessage());
         }
 
+        long total = System.nanoTime() - inicio;
+        registrarTempos(resultado, total, extracaoToken, buscaSessao, cargaUsuario, construcaoPrincipal, contextoSeguranca);
+
+        if (serverTimingHabilitado) {
+            response.setHeader(SERVER_TIMING_HEADER, serverTiming(resultado, total, buscaSessao));
+        }
+
         filterChain.doFilter(request, response);
     }
 
+    private void registrarTempos(ResultadoSessao resultado, long total, long extracaoToken, long buscaSessao,
+                                 long cargaUsuario, long construcaoPrincipal, long contextoSeguranca) {
+        tempoTotal.get(resultado).record(total, TimeUnit.NANOSECONDS);
+        tempoExtracaoToken.record(extracaoToken, TimeUnit.NANOSECONDS);
+        if (buscaSessao > 0) {
+            tempoBuscaSessao.record(buscaSessao, TimeUnit.NANOSECONDS);
+        }
+        if (resultado == ResultadoSessao.VALIDA) {
+            tempoCargaUsuario.record(cargaUsuario, TimeUnit.NANOSECONDS);
+            tempoConstrucaoPrincipal.record(construcaoPrincipal, TimeUnit.NANOSECONDS);
+            tempoContextoSeguranca.record(contextoSeguranca, TimeUnit.NANOSECONDS);
+        }
+
+        if (EVENTO_JFR.isEnabled()) {
+            AutenticacaoSessaoEvent evento = new AutenticacaoSessaoEvent();
+            evento.resultado = resultado.tag();
+            evento.extracaoToken = extracaoToken;
+            evento.buscaSessao = buscaSessao;
+            evento.cargaUsuario = cargaUsuario;
+            evento.construcaoPrincipal = construcaoPrincipal;
+            evento.contextoSeguranca = contextoSeguranca;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Monta o header Server-Timing, ex.: auth;desc="valid";dur=0.412, auth-sessao;dur=0.380
+     */
+    private static String serverTiming(ResultadoSessao resultado, long total, long buscaSessao) {
+        StringBuilder valor = new StringBuilder(64)
+                .append("auth;desc=\"").append(resultado.tag()).append("\";dur=");
+        anexarMilissegundos(valor, total);
+        if (buscaSessao > 0) {
+            valor.append(", auth-sessao;dur=");
+            anexarMilissegundos(valor, buscaSessao);
+        }
+        return valor.toString();
+    }
+
+    private static void anexarMilissegundos(StringBuilder destino, long nanos) {
+        long micros = nanos / 1_000;
+        long fracao = micros % 1_000;
+        destino.append(micros / 1_000).append('.');
+        if (fracao < 100) {
+            destino.append('0');
+        }
+        if (fracao < 10) {
+            destino.append('0');
+        }
+        destino.append(fracao);
+    }
+
     /**
      * Extrai o token de sessão do request.
      * Prioridade: Header Authorization > Cookie
@@ -1,6 +1,5 @@
 package br.sst.auditoria.security.session;
 
-import br.sst.auditoria.model.Sessao;
 import br.sst.auditoria.security.CustomUserDetails;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,9 +12,9 @@ import java.util.Collection;
  */
 public class SessionAuthenticationToken extends UsernamePasswordAuthenticationToken {
 
-    private final Sessao sessao;
+    private final SessaoAutenticada sessao;
 
-    public SessionAuthenticationToken(CustomUserDetails principal, Sessao sessao,
+    public SessionAuthenticationToken(CustomUserDetails principal, SessaoAutenticada sessao,
             Collection<? extends GrantedAuthority> authorities) {
         super(principal, null, authorities);
         this.sessao = sessao;
@@ -24,7 +23,7 @@ public class SessionAuthenticationToken extends UsernamePasswordAuthenticationTo
     /**
      * Retorna a sessão associada a esta autenticação
      */
-    public Sessao getSessao() {
+    public SessaoAutenticada getSessao() {
         return sessao;
     }
 
@@ -32,23 +31,20 @@ public class SessionAuthenticationToken extends UsernamePasswordAuthenticationTo
      * Retorna o ID da organização ativa na sessão, se houver
      */
     public String getOrganizacaoAtivaId() {
-        if (sessao != null && sessao.getOrganizacaoAtiva() != null) {
-            return sessao.getOrganizacaoAtiva().getId();
-        }
-        return null;
+        return sessao != null ? sessao.organizacaoAtivaId() : null;
     }
 
     /**
      * Retorna o ID da sessão
      */
     public String getSessaoId() {
-        return sessao != null ? sessao.getId() : null;
+        return sessao != null ? sessao.sessaoId() : null;
     }
 
     /**
      * Retorna o token da sessão
      */
     public String getSessionToken() {
-        return sessao != null ? sessao.getToken() : null;
+        return sessao != null ? sessao.token() : null;
     }
 }
@@ -1,6 +1,5 @@
 package br.sst.auditoria.security.session;
 
-import br.sst.auditoria.model.Sessao;
 import br.sst.auditoria.security.CustomUserDetails;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,7 +18,7 @@ public final class SessionUtils {
     /**
      * Obtém a sessão atual do contexto de segurança
      */
-    public static Optional<Sessao> getSessaoAtual() {
+    public static Optional<SessaoAutenticada> getSessaoAtual() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication instanceof SessionAuthenticationToken sessionToken) {
             return Optional.ofNullable(sessionToken.getSessao());
@@ -31,16 +30,14 @@ public final class SessionUtils {
      * Obtém o token da sessão atual
      */
     public static Optional<String> getSessionToken() {
-        return getSessaoAtual().map(Sessao::getToken);
+        return getSessaoAtual().map(SessaoAutenticada::token);
     }
 
     /**
      * Obtém o ID da organização ativa na sessão atual
      */
     public static Optional<String> getOrganizacaoAtivaId() {
-        return getSessaoAtual()
-                .filter(s -> s.getOrganizacaoAtiva() != null)
-                .map(s -> s.getOrganizacaoAtiva().getId());
+        return getSessaoAtual().map(SessaoAutenticada::organizacaoAtivaId);
     }
 
     /**
@@ -0,0 +1,134 @@
+package br.sst.auditoria.security.session;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Emissão e verificação de tokens de sessão assinados (HMAC-SHA256).
+ *
+ * Formato: {@code v1.<payload base64url>.<assinatura base64url>}
+ *
+ * O payload traz o snapshot da sessão e um horizonte curto de validação. Até o horizonte o token
+ * é aceito sem consulta ao banco (salvo revogação registrada em memória); depois, a sessão volta
+ * a ser verificada no banco pelo ID embutido. Tokens opacos continuam aceitos: a propriedade
+ * session.token.format define apenas o formato emitido em novos logins. O payload é serializado com o
+ * JsonMapper da aplicação.
+ */
+@Component
+public class TokenSessaoAssinado {
+
+    public static final String PREFIXO = "v1.";
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+
+    private final JsonMapper jsonMapper;
+    private final boolean emissaoAtiva;
+    private final Duration horizonte;
+    private final SecretKeySpec chave;
+    private final ThreadLocal<Mac> mac;
+
+    public TokenSessaoAssinado(JsonMapper jsonMapper,
+                               @Value("${session.token.format:opaque}") String formato,
+                               @Value("${session.token.secret:}") String segredo,
+                               @Value("${session.token.horizon:5m}") Duration horizonte) {
+        this.jsonMapper = jsonMapper;
+        this.emissaoAtiva = "signed".equalsIgnoreCase(formato);
+        this.horizonte = horizonte;
+
+        if (emissaoAtiva && !StringUtils.hasText(segredo)) {
+            throw new IllegalStateException("session.token.secret é obrigatório quando session.token.format=signed");
+        }
+
+        this.chave = StringUtils.hasText(segredo)
+                ? new SecretKeySpec(segredo.getBytes(StandardCharsets.UTF_8), ALGORITMO)
+                : null;
+        this.mac = ThreadLocal.withInitial(this::criarMac);
+    }
+
+    /**
+     * Indica se novos logins devem receber tokens assinados
+     */
+    public boolean isEmissaoAtiva() {
+        return emissaoAtiva;
+    }
+
+    /**
+     * Indica se o token está no formato assinado (tokens opacos nunca contêm '.')
+     */
+    public boolean isAssinado(String token) {
+        return token != null && token.startsWith(PREFIXO);
+    }
+
+    /**
+     * Emite um token assinado para o snapshot da sessão
+     */
+    public String emitir(SessaoAutenticada sessao) {
+        Instant agora = Instant.now();
+        TokenSessaoClaims claims = TokenSessaoClaims.fromSessao(sessao, agora, agora.plus(horizonte));
+
+        try {
+            String conteudo = PREFIXO + BASE64_ENCODER.encodeToString(jsonMapper.writeValueAsBytes(claims));
+            return conteudo + "." + BASE64_ENCODER.encodeToString(assinar(conteudo));
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Não foi possível serializar o token de sessão", e);
+        }
+    }
+
+    /**
+     * Lê e verifica a assinatura de um token. Não consulta o banco.
+     * Retorna vazio se o token não for assinado, estiver malformado ou tiver assinatura inválida.
+     */
+    public Optional<TokenSessaoClaims> ler(String token) {
+        if (chave == null || !isAssinado(token)) {
+            return Optional.empty();
+        }
+
+        int separador = token.lastIndexOf('.');
+        if (separador <= PREFIXO.length()) {
+            return Optional.empty();
+        }
+
+        String conteudo = token.substring(0, separador);
+
+        try {
+            byte[] assinatura = BASE64_DECODER.decode(token.substring(separador + 1));
+            if (!MessageDigest.isEqual(assinar(conteudo), assinatura)) {
+                return Optional.empty();
+            }
+
+            byte[] payload = BASE64_DECODER.decode(conteudo.substring(PREFIXO.length()));
+            return Optional.of(jsonMapper.readValue(payload, TokenSessaoClaims.class));
+        } catch (IllegalArgumentException | JacksonException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] assinar(String conteudo) {
+        return mac.get().doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac criarMac() {
+        try {
+            Mac instancia = Mac.getInstance(ALGORITMO);
+            instancia.init(chave);
+            return instancia;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível inicializar " + ALGORITMO, e);
+        }
+    }
+}
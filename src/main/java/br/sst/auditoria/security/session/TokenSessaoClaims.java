@@ -0,0 +1,63 @@
+package br.sst.auditoria.security.session;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Conteúdo assinado de um token de sessão no formato "signed".
+ * Datas em segundos desde a época (UTC) para manter o payload compacto.
+ */
+public record TokenSessaoClaims(
+    String sessaoId,
+    String usuarioId,
+    String nome,
+    String email,
+    String imagem,
+    String papel,
+    Boolean emailVerificado,
+    String organizacaoAtivaId,
+    String organizacaoAtivaNome,
+    long expiraEm,
+    long emitidoEm,
+    long horizonte
+) {
+    /**
+     * Cria as claims a partir do snapshot da sessão, com o horizonte de validação informado
+     */
+    public static TokenSessaoClaims fromSessao(SessaoAutenticada sessao, Instant agora, Instant horizonte) {
+        long expiraEm = sessao.expiraEm().atZone(ZoneId.systemDefault()).toEpochSecond();
+
+        return new TokenSessaoClaims(
+            sessao.sessaoId(),
+            sessao.usuarioId(),
+            sessao.nome(),
+            sessao.email(),
+            sessao.imagem(),
+            sessao.papel(),
+            sessao.emailVerificado(),
+            sessao.organizacaoAtivaId(),
+            sessao.organizacaoAtivaNome(),
+            expiraEm,
+            agora.getEpochSecond(),
+            Math.min(horizonte.getEpochSecond(), expiraEm)
+        );
+    }
+
+    /**
+     * Verifica se o token ainda pode ser aceito sem consultar o banco
+     */
+    public boolean dentroDoHorizonte(Instant agora) {
+        return agora.getEpochSecond() < horizonte;
+    }
+
+    /**
+     * Converte as claims no snapshot usado pelo contexto de segurança
+     */
+    public SessaoAutenticada toSessaoAutenticada(String token) {
+        LocalDateTime expiracao = LocalDateTime.ofInstant(Instant.ofEpochSecond(expiraEm), ZoneId.systemDefault());
+
+        return new SessaoAutenticada(sessaoId, token, expiracao, organizacaoAtivaId, organizacaoAtivaNome,
+                usuarioId, nome, email, imagem, papel, emailVerificado, false);
+    }
+}
@@ -15,6 +15,8 @@ import br.sst.auditoria.model.Usuario;
 import br.sst.auditoria.repository.ContaRepository;
 import br.sst.auditoria.repository.UsuarioRepository;
 import br.sst.auditoria.security.CustomUserDetails;
+import br.sst.auditoria.security.GeradorIdentificadores;
+import br.sst.auditoria.security.session.SessaoAutenticada;
 import br.sst.auditoria.security.session.SessionAuthenticationToken;
 import br.sst.auditoria.security.session.SessionUtils;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,7 +31,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Serviço de autenticação com sessões persistidas no banco de dados.
@@ -44,6 +45,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final SessaoService sessaoService;
+    private final GeradorIdentificadores geradorIdentificadores;
     private final AuthMapper authMapper;
     private final UsuarioMapper usuarioMapper;
 
@@ -66,13 +68,14 @@ public class AuthService {
         String agenteUsuario = httpRequest.getHeader("User-Agent");
 
         Sessao sessao = sessaoService.criarSessao(usuario, enderecoIp, agenteUsuario);
+        String tokenCliente = sessaoService.emitirTokenCliente(sessao);
 
         // Define o contexto de autenticação com a sessão
         SessionAuthenticationToken sessionAuth = new SessionAuthenticationToken(
-                userDetails, sessao, userDetails.getAuthorities());
+                userDetails, SessaoAutenticada.fromSessao(sessao).comToken(tokenCliente), userDetails.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(sessionAuth);
 
-        return authMapper.toResponse(sessao.getToken(), userDetails);
+        return authMapper.toResponse(tokenCliente, userDetails);
     }
 
     /**
@@ -89,12 +92,13 @@ public class AuthService {
         Usuario usuario = userDetails.getUsuario();
 
         Sessao sessao = sessaoService.criarSessao(usuario, null, null);
+        String tokenCliente = sessaoService.emitirTokenCliente(sessao);
 
         SessionAuthenticationToken sessionAuth = new SessionAuthenticationToken(
-                userDetails, sessao, userDetails.getAuthorities());
+                userDetails, SessaoAutenticada.fromSessao(sessao).comToken(tokenCliente), userDetails.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(sessionAuth);
 
-        return authMapper.toResponse(sessao.getToken(), userDetails);
+        return authMapper.toResponse(tokenCliente, userDetails);
     }
 
     /**
@@ -119,12 +123,12 @@ public class AuthService {
 
         // Cria o usuário
         Usuario usuario = usuarioMapper.toEntity(request);
-        usuario.setId(UUID.randomUUID().toString());
+        usuario.setId(geradorIdentificadores.novoId());
         usuario = usuarioRepository.save(usuario);
 
         // Cria a conta com a senha
         Conta conta = Conta.builder()
-                .id(UUID.randomUUID().toString())
+                .id(geradorIdentificadores.novoId())
                 .contaId(usuario.getId())
                 .provedorId("credentials")
                 .senha(passwordEncoder.encode(request.senha()))
@@ -133,8 +137,7 @@ public class AuthService {
 
         contaRepository.save(conta);
 
-        // Busca a senha criptografada para o UserDetails
-        CustomUserDetails userDetails = new CustomUserDetails(usuario, conta.getSenha());
+        CustomUserDetails userDetails = new CustomUserDetails(usuario);
 
         // Cria a sessão no banco de dados
         String enderecoIp = httpRequest != null ? extrairEnderecoIp(httpRequest) : null;
@@ -142,7 +145,7 @@ public class AuthService {
 
         Sessao sessao = sessaoService.criarSessao(usuario, enderecoIp, agenteUsuario);
 
-        return authMapper.toResponse(sessao.getToken(), userDetails);
+        return authMapper.toResponse(sessaoService.emitirTokenCliente(sessao), userDetails);
     }
 
     /**
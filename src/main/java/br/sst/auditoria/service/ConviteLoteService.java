@@ -0,0 +1,190 @@
+package br.sst.auditoria.service;
+
+import br.sst.auditoria.dto.organizacao.ConvidarMembrosRequest;
+import br.sst.auditoria.dto.organizacao.ResultadoConvite;
+import br.sst.auditoria.dto.organizacao.ResultadoConvite.Situacao;
+import br.sst.auditoria.exception.UnauthorizedException;
+import br.sst.auditoria.model.enums.Papel;
+import br.sst.auditoria.repository.ConviteRepository;
+import br.sst.auditoria.repository.MembroRepository;
+import br.sst.auditoria.security.GeradorIdentificadores;
+import br.sst.auditoria.security.permissao.VinculosUsuarioCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Convite em lote de milhares de e-mails.
+ *
+ * Os e-mails são normalizados (sem espaços nas pontas, em minúsculas), deduplicados e validados em memória e
+ * processados em blocos, cada bloco em sua própria transação: duas consultas por conjunto classificam os
+ * e-mails (já membro, convite pendente, comparados em minúsculas), os convites pendentes são renovados com
+ * um único UPDATE (quando reenviar = true) e os novos são inseridos em um batch JDBC. O resultado de cada
+ * e-mail é escrito como uma linha NDJSON ao fim de cada bloco, com o JsonMapper da aplicação.
+ *
+ * A resposta já começou (200) quando um bloco é gravado, então uma falha não vira um status de erro: os
+ * e-mails do bloco que falhou e dos seguintes são informados com a situação ERRO e o processamento para.
+ */
+@Service
+@Slf4j
+public class ConviteLoteService {
+
+    private static final Pattern FORMATO_EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Set<String> PAPEIS_QUE_CONVIDAM = Set.of(Papel.PROPRIETARIO.name(), Papel.ADMINISTRADOR.name());
+
+    private static final String SQL_INSERIR_CONVITE =
+            "INSERT INTO convite (id, organizacao_id, convidador_id, email, papel, status, expira_em, criado_em) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ConviteRepository conviteRepository;
+    private final MembroRepository membroRepository;
+    private final VinculosUsuarioCache vinculosUsuarioCache;
+    private final GeradorIdentificadores geradorIdentificadores;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final int tamanhoBloco;
+
+    public ConviteLoteService(ConviteRepository conviteRepository,
+                              MembroRepository membroRepository,
+                              VinculosUsuarioCache vinculosUsuarioCache,
+                              GeradorIdentificadores geradorIdentificadores,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              JsonMapper jsonMapper,
+                              @Value("${organization.invitation.batch-size:500}") int tamanhoBloco) {
+        this.conviteRepository = conviteRepository;
+        this.membroRepository = membroRepository;
+        this.vinculosUsuarioCache = vinculosUsuarioCache;
+        this.geradorIdentificadores = geradorIdentificadores;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    /**
+     * Verifica se o usuário pode convidar (owner ou admin); chamado antes de iniciar a resposta
+     */
+    public void verificarPermissao(String organizacaoId, String convidadorId) {
+        String papel = vinculosUsuarioCache.papel(convidadorId, organizacaoId);
+        if (papel == null) {
+            throw new UnauthorizedException("Usuário não é membro desta organização");
+        }
+        if (!PAPEIS_QUE_CONVIDAM.contains(papel)) {
+            throw new UnauthorizedException("Você não tem permissão para realizar esta ação");
+        }
+    }
+
+    /**
+     * Processa os convites e escreve o resultado de cada e-mail, em NDJSON, na saída
+     */
+    public void convidar(String organizacaoId, ConvidarMembrosRequest request, String convidadorId,
+                         OutputStream saida) throws IOException {
+        Set<String> unicos = new LinkedHashSet<>();
+        List<ResultadoConvite> rejeitados = new ArrayList<>();
+        for (String email : request.emails()) {
+            String normalizado = email != null ? email.trim().toLowerCase(Locale.ROOT) : "";
+            if (!FORMATO_EMAIL.matcher(normalizado).matches()) {
+                rejeitados.add(new ResultadoConvite(email, Situacao.EMAIL_INVALIDO, null));
+            } else if (!unicos.add(normalizado)) {
+                rejeitados.add(new ResultadoConvite(normalizado, Situacao.DUPLICADO, null));
+            }
+        }
+        escrever(saida, rejeitados);
+
+        boolean reenviar = Boolean.TRUE.equals(request.reenviar());
+        List<String> emails = new ArrayList<>(unicos);
+        for (int inicio = 0; inicio < emails.size(); inicio += tamanhoBloco) {
+            List<String> bloco = emails.subList(inicio, Math.min(inicio + tamanhoBloco, emails.size()));
+            List<ResultadoConvite> resultados;
+            try {
+                resultados = transactionTemplate.execute(status ->
+                        processarBloco(organizacaoId, bloco, request.papel(), reenviar, convidadorId));
+            } catch (RuntimeException e) {
+                // O bloco foi desfeito; os anteriores continuam gravados
+                log.error("Falha no convite em lote da organização {}: {}", organizacaoId, e.getMessage(), e);
+                escrever(saida, emails.subList(inicio, emails.size()).stream()
+                        .map(email -> new ResultadoConvite(email, Situacao.ERRO, null))
+                        .toList());
+                return;
+            }
+            escrever(saida, resultados);
+        }
+    }
+
+    private List<ResultadoConvite> processarBloco(String organizacaoId, List<String> bloco, String papel,
+                                                  boolean reenviar, String convidadorId) {
+        Set<String> membros = new HashSet<>(membroRepository.findEmailsByOrganizacaoIdAndEmailIn(organizacaoId, bloco));
+        Set<String> pendentes = new HashSet<>(conviteRepository.findEmailsByOrganizacaoIdAndStatusAndEmailIn(
+                organizacaoId, OrganizacaoService.CONVITE_PENDENTE, bloco));
+
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime expiraEm = agora.plusHours(OrganizacaoService.CONVITE_EXPIRACAO_HORAS);
+
+        List<ResultadoConvite> resultados = new ArrayList<>(bloco.size());
+        List<String> reenvios = new ArrayList<>();
+        List<ResultadoConvite> novos = new ArrayList<>();
+        for (String email : bloco) {
+            ResultadoConvite resultado;
+            if (membros.contains(email)) {
+                resultado = new ResultadoConvite(email, Situacao.JA_MEMBRO, null);
+            } else if (pendentes.contains(email)) {
+                resultado = new ResultadoConvite(email, reenviar ? Situacao.REENVIADO : Situacao.CONVITE_PENDENTE, null);
+                if (reenviar) {
+                    reenvios.add(email);
+                }
+            } else {
+                resultado = new ResultadoConvite(email, Situacao.CONVIDADO, geradorIdentificadores.novoId());
+                novos.add(resultado);
+            }
+            resultados.add(resultado);
+        }
+
+        if (!reenvios.isEmpty()) {
+            conviteRepository.renovarExpiracao(organizacaoId, OrganizacaoService.CONVITE_PENDENTE, reenvios, expiraEm);
+        }
+
+        if (!novos.isEmpty()) {
+            Timestamp criadoEm = Timestamp.valueOf(agora);
+            Timestamp expiracao = Timestamp.valueOf(expiraEm);
+            jdbcTemplate.batchUpdate(SQL_INSERIR_CONVITE, novos, novos.size(), (ps, novo) -> {
+                ps.setString(1, novo.conviteId());
+                ps.setString(2, organizacaoId);
+                ps.setString(3, convidadorId);
+                ps.setString(4, novo.email());
+                ps.setString(5, papel);
+                ps.setString(6, OrganizacaoService.CONVITE_PENDENTE);
+                ps.setTimestamp(7, expiracao);
+                ps.setTimestamp(8, criadoEm);
+            });
+        }
+
+        log.debug("Bloco de {} convites: {} novos, {} reenviados", bloco.size(), novos.size(), reenvios.size());
+        return resultados;
+    }
+
+    private void escrever(OutputStream saida, List<ResultadoConvite> resultados) throws IOException {
+        for (ResultadoConvite resultado : resultados) {
+            saida.write(jsonMapper.writeValueAsBytes(resultado));
+            saida.write('\n');
+        }
+        saida.flush();
+    }
+}
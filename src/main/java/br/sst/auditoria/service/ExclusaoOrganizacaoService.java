@@ -0,0 +1,292 @@
+package br.sst.auditoria.service;
+
+import br.sst.auditoria.dto.organizacao.ExclusaoOrganizacaoResponse;
+import br.sst.auditoria.exception.ResourceNotFoundException;
+import br.sst.auditoria.exception.UnauthorizedException;
+import br.sst.auditoria.invalidacao.BarramentoInvalidacao;
+import br.sst.auditoria.invalidacao.EventoInvalidacao;
+import br.sst.auditoria.model.ExclusaoOrganizacao;
+import br.sst.auditoria.model.Organizacao;
+import br.sst.auditoria.model.enums.StatusExclusao;
+import br.sst.auditoria.repository.ConviteRepository;
+import br.sst.auditoria.repository.ExclusaoOrganizacaoRepository;
+import br.sst.auditoria.repository.MembroRepository;
+import br.sst.auditoria.repository.SessaoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exclusão de organizações em segundo plano.
+ *
+ * - solicitar(): na transação da requisição remove membros e convites (o acesso acaba na hora), limpa a
+ *   organização ativa das sessões e registra a exclusão com o total de linhas a remover.
+ * - processarPendentes(): periodicamente, assume exclusões pendentes (ou cujo lease expirou) e as entrega a
+ *   um pool próprio (organization.deletion.threads), que remove os dados de baixo para cima
+ *   (funcionario → setor → cargo → unidade → empresa → endereco → ...), em lotes de DELETE por conjunto,
+ *   cada lote em sua própria transação junto com o registro do progresso. O agendador, compartilhado com
+ *   as demais tarefas periódicas, não espera os lotes.
+ *
+ * Os lotes são idempotentes, então uma exclusão interrompida (queda do nó, erro) é retomada do ponto em que
+ * parou por qualquer nó assim que o lease (atualizado_em) expira.
+ *
+ * Métricas: organizacao.exclusao.removidos e organizacao.exclusao.concluidas.
+ */
+@Service
+@Slf4j
+public class ExclusaoOrganizacaoService implements DisposableBean {
+
+    /**
+     * Tabelas removidas, na ordem das chaves estrangeiras; todas têm organizacao_id
+     */
+    private static final List<String> ETAPAS = List.of(
+            "exportacao_s2240_unidade", "exportacao_s2240", "funcionario", "setor", "cargo", "unidade", "empresa", "endereco",
+            "papel_organizacao", "convite", "membro");
+
+    private static final List<StatusExclusao> STATUS_ABERTOS = List.of(StatusExclusao.PENDENTE, StatusExclusao.EM_ANDAMENTO);
+    private static final int EXCLUSOES_POR_CICLO = 10;
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    private static final String SQL_ASSUMIR =
+            "UPDATE exclusao_organizacao SET status = 'EM_ANDAMENTO', atualizado_em = ? "
+                    + "WHERE organizacao_id = ? AND (status = 'PENDENTE' "
+                    + "OR (status = 'EM_ANDAMENTO' AND atualizado_em < ?))";
+
+    private static final String SQL_PROGRESSO =
+            "UPDATE exclusao_organizacao SET etapa = ?, removidos = removidos + ?, atualizado_em = ?, erro = NULL "
+                    + "WHERE organizacao_id = ?";
+
+    private static final String SQL_CONCLUIR =
+            "UPDATE exclusao_organizacao SET status = 'CONCLUIDA', etapa = NULL, removidos = removidos + ?, "
+                    + "atualizado_em = ?, concluido_em = ?, erro = NULL WHERE organizacao_id = ?";
+
+    private static final String SQL_ERRO =
+            "UPDATE exclusao_organizacao SET erro = ? WHERE organizacao_id = ?";
+
+    private final ExclusaoOrganizacaoRepository exclusaoOrganizacaoRepository;
+    private final MembroRepository membroRepository;
+    private final ConviteRepository conviteRepository;
+    private final SessaoRepository sessaoRepository;
+    private final BarramentoInvalidacao barramentoInvalidacao;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final Set<String> emAndamento = ConcurrentHashMap.newKeySet();
+    private final int threads;
+    private final int tamanhoLote;
+    private final Duration lease;
+
+    private final Counter linhasRemovidas;
+    private final Counter exclusoesConcluidas;
+
+    public ExclusaoOrganizacaoService(ExclusaoOrganizacaoRepository exclusaoOrganizacaoRepository,
+                                      MembroRepository membroRepository,
+                                      ConviteRepository conviteRepository,
+                                      SessaoRepository sessaoRepository,
+                                      BarramentoInvalidacao barramentoInvalidacao,
+                                      JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${organization.deletion.threads:2}") int threads,
+                                      @Value("${organization.deletion.batch-size:1000}") int tamanhoLote,
+                                      @Value("${organization.deletion.lease:2m}") Duration lease) {
+        this.exclusaoOrganizacaoRepository = exclusaoOrganizacaoRepository;
+        this.membroRepository = membroRepository;
+        this.conviteRepository = conviteRepository;
+        this.sessaoRepository = sessaoRepository;
+        this.barramentoInvalidacao = barramentoInvalidacao;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.threads = threads;
+        this.executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("organizacao-exclusao-", 0).daemon(true).factory());
+        this.tamanhoLote = tamanhoLote;
+        this.lease = lease;
+        this.linhasRemovidas = meterRegistry.counter("organizacao.exclusao.removidos");
+        this.exclusoesConcluidas = meterRegistry.counter("organizacao.exclusao.concluidas");
+    }
+
+    /**
+     * Registra a exclusão da organização e revoga o acesso de todos os membros.
+     * Uma nova solicitação para a mesma organização retorna a exclusão já registrada.
+     */
+    @Transactional
+    public ExclusaoOrganizacaoResponse solicitar(Organizacao organizacao, List<String> membrosAfetados, String usuarioId) {
+        String organizacaoId = organizacao.getId();
+        Optional<ExclusaoOrganizacao> existente = exclusaoOrganizacaoRepository.findById(organizacaoId);
+        if (existente.isPresent()) {
+            return ExclusaoOrganizacaoResponse.fromEntity(existente.get());
+        }
+
+        long total = contarLinhas(organizacaoId);
+
+        sessaoRepository.limparOrganizacaoAtivaDeTodas(organizacaoId);
+        long removidos = membroRepository.deleteAllByOrganizacaoId(organizacaoId)
+                + conviteRepository.deleteAllByOrganizacaoId(organizacaoId);
+
+        ExclusaoOrganizacao exclusao = exclusaoOrganizacaoRepository.save(ExclusaoOrganizacao.builder()
+                .organizacaoId(organizacaoId)
+                .nome(organizacao.getNome())
+                .solicitadoPor(usuarioId)
+                .total(total)
+                .removidos(removidos)
+                .atualizadoEm(LocalDateTime.now())
+                .build());
+
+        membrosAfetados.forEach(id -> {
+            barramentoInvalidacao.publicar(EventoInvalidacao.membro(id));
+            barramentoInvalidacao.publicar(EventoInvalidacao.sessoesUsuario(id));
+        });
+        barramentoInvalidacao.publicar(EventoInvalidacao.papel(organizacaoId));
+
+        log.info("Exclusão da organização {} solicitada por {} ({} linhas)", organizacaoId, usuarioId, total);
+        return ExclusaoOrganizacaoResponse.fromEntity(exclusao);
+    }
+
+    /**
+     * Exclusão já registrada para a organização, se houver. Consultada antes da verificação de permissão:
+     * depois da solicitação o requerente deixa de ser membro (e a organização acaba removida).
+     */
+    @Transactional(readOnly = true)
+    public Optional<ExclusaoOrganizacaoResponse> buscarRegistrada(String organizacaoId, String usuarioId) {
+        return exclusaoOrganizacaoRepository.findById(organizacaoId).map(exclusao -> {
+            if (!exclusao.getSolicitadoPor().equals(usuarioId)) {
+                throw new UnauthorizedException("Usuário não é membro desta organização");
+            }
+            return ExclusaoOrganizacaoResponse.fromEntity(exclusao);
+        });
+    }
+
+    /**
+     * Andamento da exclusão, visível apenas para quem a solicitou
+     */
+    @Transactional(readOnly = true)
+    public ExclusaoOrganizacaoResponse obterAndamento(String organizacaoId, String usuarioId) {
+        ExclusaoOrganizacao exclusao = exclusaoOrganizacaoRepository.findById(organizacaoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exclusão de organização", "organizacaoId", organizacaoId));
+
+        if (!exclusao.getSolicitadoPor().equals(usuarioId)) {
+            throw new UnauthorizedException("Apenas quem solicitou a exclusão pode acompanhá-la");
+        }
+
+        return ExclusaoOrganizacaoResponse.fromEntity(exclusao);
+    }
+
+    /**
+     * Assume as exclusões pendentes e as interrompidas cujo lease expirou, até o número de threads livres.
+     * Não espera os lotes: o lease é renovado a cada lote gravado pela thread do pool.
+     */
+    @Scheduled(fixedDelayString = "${organization.deletion.poll-interval:5000}")
+    public void processarPendentes() {
+        if (emAndamento.size() >= threads) {
+            return;
+        }
+        List<String> organizacaoIds = exclusaoOrganizacaoRepository.findOrganizacaoIdsByStatus(
+                STATUS_ABERTOS, Limit.of(EXCLUSOES_POR_CICLO));
+
+        for (String organizacaoId : organizacaoIds) {
+            if (emAndamento.size() >= threads) {
+                break;
+            }
+            if (!emAndamento.contains(organizacaoId) && assumir(organizacaoId)) {
+                emAndamento.add(organizacaoId);
+                executor.execute(() -> {
+                    try {
+                        processar(organizacaoId);
+                    } finally {
+                        emAndamento.remove(organizacaoId);
+                    }
+                });
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    // ========================================================================
+    // HELPERS
+    // ========================================================================
+
+    private long contarLinhas(String organizacaoId) {
+        StringBuilder sql = new StringBuilder("SELECT 1");
+        for (String tabela : ETAPAS) {
+            sql.append(" + (SELECT count(*) FROM ").append(tabela).append(" WHERE organizacao_id = ?)");
+        }
+        Long total = jdbcTemplate.queryForObject(sql.toString(), Long.class,
+                ETAPAS.stream().map(tabela -> organizacaoId).toArray());
+        return total != null ? total : 1;
+    }
+
+    private boolean assumir(String organizacaoId) {
+        LocalDateTime agora = LocalDateTime.now();
+        return jdbcTemplate.update(SQL_ASSUMIR,
+                Timestamp.valueOf(agora), organizacaoId, Timestamp.valueOf(agora.minus(lease))) == 1;
+    }
+
+    private void processar(String organizacaoId) {
+        try {
+            for (String tabela : ETAPAS) {
+                removerEmLotes(organizacaoId, tabela);
+            }
+            concluir(organizacaoId);
+        } catch (RuntimeException e) {
+            // Mantém EM_ANDAMENTO: a exclusão é retomada quando o lease expirar
+            log.error("Falha na exclusão da organização {}: {}", organizacaoId, e.getMessage(), e);
+            String erro = e.getMessage() != null && e.getMessage().length() > TAMANHO_MAXIMO_ERRO
+                    ? e.getMessage().substring(0, TAMANHO_MAXIMO_ERRO)
+                    : e.getMessage();
+            jdbcTemplate.update(SQL_ERRO, erro, organizacaoId);
+        }
+    }
+
+    private void removerEmLotes(String organizacaoId, String tabela) {
+        String sql = "DELETE FROM " + tabela + " WHERE id IN ("
+                + "SELECT id FROM " + tabela + " WHERE organizacao_id = ? LIMIT ?)";
+
+        int removidos;
+        do {
+            removidos = transactionTemplate.execute(status -> {
+                int linhas = jdbcTemplate.update(sql, organizacaoId, tamanhoLote);
+                jdbcTemplate.update(SQL_PROGRESSO, tabela, linhas, Timestamp.valueOf(LocalDateTime.now()), organizacaoId);
+                return linhas;
+            });
+            linhasRemovidas.increment(removidos);
+        } while (removidos == tamanhoLote);
+    }
+
+    private void concluir(String organizacaoId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Repete a limpeza da solicitação: a chave estrangeira da sessão não tem cascata
+            jdbcTemplate.update("UPDATE sessao SET organizacao_ativa_id = NULL WHERE organizacao_ativa_id = ?", organizacaoId);
+            int linhas = jdbcTemplate.update("DELETE FROM organizacao WHERE id = ?", organizacaoId);
+            Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update(SQL_CONCLUIR, linhas, agora, agora, organizacaoId);
+        });
+
+        barramentoInvalidacao.publicar(EventoInvalidacao.organizacao(organizacaoId));
+        exclusoesConcluidas.increment();
+        log.info("Organização {} removida", organizacaoId);
+    }
+}
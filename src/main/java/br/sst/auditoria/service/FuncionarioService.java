@@ -0,0 +1,82 @@
+package br.sst.auditoria.service;
+
+import br.sst.auditoria.busca.IndiceFuncionarios;
+import br.sst.auditoria.dto.PaginaCursor;
+import br.sst.auditoria.dto.PaginaCursor.PosicaoNome;
+import br.sst.auditoria.dto.funcionario.FiltroFuncionarios;
+import br.sst.auditoria.dto.funcionario.FuncionarioEncontrado;
+import br.sst.auditoria.dto.funcionario.FuncionarioResumo;
+import br.sst.auditoria.exception.BusinessException;
+import br.sst.auditoria.exception.UnauthorizedException;
+import br.sst.auditoria.repository.FuncionarioRepository;
+import br.sst.auditoria.security.permissao.VinculosUsuarioCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service para consulta de funcionários de uma organização
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class FuncionarioService {
+
+    private static final int LIMITE_PAGINA_CURSOR = 100;
+    private static final int LIMITE_BUSCA = 50;
+
+    private final FuncionarioRepository funcionarioRepository;
+    private final VinculosUsuarioCache vinculosUsuarioCache;
+    private final IndiceFuncionarios indiceFuncionarios;
+
+    /**
+     * Listar funcionários filtrados, ordenados por nome e paginados por cursor
+     * GET /api/organizacao/{organizacaoId}/funcionarios
+     */
+    public PaginaCursor<FuncionarioResumo> listar(String organizacaoId, String usuarioId, FiltroFuncionarios filtro,
+                                                  String cursor, int limite, boolean incluirTotal) {
+        verificarMembro(organizacaoId, usuarioId);
+        if (limite < 1 || limite > LIMITE_PAGINA_CURSOR) {
+            throw new BusinessException("O limite da página deve estar entre 1 e " + LIMITE_PAGINA_CURSOR);
+        }
+
+        PosicaoNome apos = PosicaoNome.decodificar(cursor);
+
+        // Um item a mais indica se existe próxima página
+        List<FuncionarioResumo> resumos = funcionarioRepository.buscarResumos(organizacaoId, filtro, apos, limite + 1);
+        boolean temProxima = resumos.size() > limite;
+        List<FuncionarioResumo> itens = temProxima ? resumos.subList(0, limite) : resumos;
+
+        String proximoCursor = null;
+        if (temProxima) {
+            FuncionarioResumo ultimo = itens.getLast();
+            proximoCursor = new PosicaoNome(ultimo.nomeCompleto(), ultimo.id()).codificar();
+        }
+
+        Long total = incluirTotal ? funcionarioRepository.contar(organizacaoId, filtro) : null;
+        return new PaginaCursor<>(List.copyOf(itens), proximoCursor, total);
+    }
+
+    /**
+     * Busca rápida (typeahead) por partes do nome, prefixo de CPF ou prefixo de matrícula, no índice local
+     * GET /api/organizacao/{organizacaoId}/funcionarios/busca?q=
+     */
+    public List<FuncionarioEncontrado> buscar(String organizacaoId, String usuarioId, String consulta, int limite) {
+        verificarMembro(organizacaoId, usuarioId);
+        if (limite < 1 || limite > LIMITE_BUSCA) {
+            throw new BusinessException("O limite da busca deve estar entre 1 e " + LIMITE_BUSCA);
+        }
+        if (consulta == null || consulta.isBlank()) {
+            return List.of();
+        }
+        return indiceFuncionarios.buscar(organizacaoId, consulta, limite);
+    }
+
+    private void verificarMembro(String organizacaoId, String usuarioId) {
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacaoId)) {
+            throw new UnauthorizedException("Usuário não é membro desta organização");
+        }
+    }
+}
@@ -1,24 +1,46 @@
 package br.sst.auditoria.service;
 
+import br.sst.auditoria.dto.PaginaCursor;
+import br.sst.auditoria.dto.PaginaCursor.Posicao;
 import br.sst.auditoria.dto.organizacao.*;
+import br.sst.auditoria.dto.organizacao.AdicionarMembrosResponse.Resultado;
+import br.sst.auditoria.dto.organizacao.AdicionarMembrosResponse.Situacao;
+import br.sst.auditoria.dto.usuario.UsuarioIdentificacao;
 import br.sst.auditoria.exception.BusinessException;
 import br.sst.auditoria.exception.ResourceNotFoundException;
 import br.sst.auditoria.exception.UnauthorizedException;
+import br.sst.auditoria.invalidacao.BarramentoInvalidacao;
+import br.sst.auditoria.invalidacao.EventoInvalidacao;
 import br.sst.auditoria.mapper.ConviteMapper;
 import br.sst.auditoria.mapper.MembroMapper;
 import br.sst.auditoria.mapper.OrganizacaoMapper;
 import br.sst.auditoria.mapper.PapelOrganizacaoMapper;
 import br.sst.auditoria.model.*;
+import br.sst.auditoria.organizacao.IndiceSlugs;
 import br.sst.auditoria.repository.*;
+import br.sst.auditoria.security.GeradorIdentificadores;
+import br.sst.auditoria.security.permissao.MotorPermissoes;
+import br.sst.auditoria.security.permissao.VinculosUsuarioCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 /**
  * Service para gerenciamento de Organizações
@@ -37,6 +59,14 @@ public class OrganizacaoService {
     private final PapelOrganizacaoRepository papelOrganizacaoRepository;
     private final SessaoRepository sessaoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final SessaoService sessaoService;
+    private final BarramentoInvalidacao barramentoInvalidacao;
+    private final GeradorIdentificadores geradorIdentificadores;
+    private final MotorPermissoes motorPermissoes;
+    private final VinculosUsuarioCache vinculosUsuarioCache;
+    private final IndiceSlugs indiceSlugs;
+    private final ExclusaoOrganizacaoService exclusaoOrganizacaoService;
+    private final JdbcTemplate jdbcTemplate;
 
     private final OrganizacaoMapper organizacaoMapper;
     private final MembroMapper membroMapper;
@@ -47,16 +77,24 @@ public class OrganizacaoService {
     private static final String PAPEL_OWNER = Papel.PROPRIETARIO.name();
     private static final String PAPEL_ADMIN = Papel.ADMINISTRADOR.name();
     private static final String PAPEL_MEMBER = Papel.MEMBRO.name();
+    private static final Set<String> PAPEIS_PADRAO = Set.of(PAPEL_OWNER, PAPEL_ADMIN, PAPEL_MEMBER);
 
     // Status de convite
-    private static final String CONVITE_PENDENTE = "PENDENTE";
+    static final String CONVITE_PENDENTE = "PENDENTE";
     private static final String CONVITE_ACEITO = "ACEITO";
     private static final String CONVITE_REJEITADO = "REJEITADO";
     private static final String CONVITE_CANCELADO = "CANCELADO";
 
     // Configurações padrão
-    private static final int CONVITE_EXPIRACAO_HORAS = 48;
+    static final int CONVITE_EXPIRACAO_HORAS = 48;
     private static final int LIMITE_MEMBROS = 100;
+    private static final int LIMITE_PAGINA_CURSOR = 100;
+
+    private static final String SQL_BLOQUEAR_ORGANIZACAO =
+            "SELECT id FROM organizacao WHERE id = ? FOR UPDATE";
+
+    private static final String SQL_INSERIR_MEMBRO =
+            "INSERT INTO membro (id, organizacao_id, usuario_id, papel, criado_em) VALUES (?, ?, ?, ?, ?)";
 
     // ========================================================================
     // ORGANIZAÇÃO
@@ -67,7 +105,7 @@ public class OrganizacaoService {
      * POST /api/organizacao
      */
     public OrganizacaoResponse criarOrganizacao(CriarOrganizacaoRequest request, String usuarioId) {
-        // Validar se slug já existe
+        // Validar se slug já existe (verificação definitiva no banco, não no índice local)
         if (organizacaoRepository.existsBySlug(request.slug())) {
             throw new BusinessException("Slug já está em uso");
         }
@@ -78,30 +116,39 @@ public class OrganizacaoService {
 
         // Criar organização
         Organizacao organizacao = organizacaoMapper.toEntity(request);
-        organizacao.setId(UUID.randomUUID().toString());
+        organizacao.setId(geradorIdentificadores.novoId());
 
         organizacao = organizacaoRepository.save(organizacao);
 
         // Criar membro owner
         Membro membro = Membro.builder()
-                .id(UUID.randomUUID().toString())
+                .id(geradorIdentificadores.novoId())
                 .organizacao(organizacao)
                 .usuario(usuario)
                 .papel(PAPEL_OWNER)
                 .build();
 
         membroRepository.save(membro);
+        barramentoInvalidacao.publicar(EventoInvalidacao.membro(usuarioId));
+        barramentoInvalidacao.publicar(EventoInvalidacao.organizacao(organizacao.getId()));
 
         return organizacaoMapper.toResponse(organizacao);
     }
 
     /**
-     * Verificar se slug está disponível
+     * Verificar se slug está disponível (respondido pelo índice local de slugs)
      * GET /api/organizacao/verificar-slug
      */
-    @Transactional(readOnly = true)
     public boolean verificarSlugDisponivel(String slug) {
-        return !organizacaoRepository.existsBySlug(slug);
+        return indiceSlugs.disponivel(slug);
+    }
+
+    /**
+     * Sugerir variações livres de um slug já em uso
+     * GET /api/organizacao/verificar-slug
+     */
+    public List<String> sugerirSlugs(String slug) {
+        return indiceSlugs.sugerir(slug);
     }
 
     /**
@@ -116,6 +163,25 @@ public class OrganizacaoService {
                 .toList();
     }
 
+    /**
+     * Listar organizações do usuário paginando por cursor (ordem de entrada na organização)
+     * GET /api/organizacao?cursor=
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<OrganizacaoResponse> listarOrganizacoesDoUsuario(String usuarioId, String cursor, int limite,
+                                                                        boolean incluirTotal) {
+        Posicao apos = Posicao.decodificar(cursor);
+        List<Membro> membros = apos == null
+                ? membroRepository.findByUsuarioIdWithOrganizacao(usuarioId, limiteConsulta(limite))
+                : membroRepository.findByUsuarioIdWithOrganizacaoApos(
+                        usuarioId, apos.criadoEm(), apos.id(), limiteConsulta(limite));
+
+        return paginar(membros, limite,
+                m -> new Posicao(m.getCriadoEm(), m.getId()),
+                m -> organizacaoMapper.toResponse(m.getOrganizacao()),
+                incluirTotal ? () -> membroRepository.countByUsuarioId(usuarioId) : null);
+    }
+
     /**
      * Definir organização ativa na sessão
      * POST /api/organizacao/ativar
@@ -127,20 +193,24 @@ public class OrganizacaoService {
             organizacao = organizacaoRepository.findById(organizacaoId)
                     .orElseThrow(() -> new ResourceNotFoundException("Organização", "id", organizacaoId));
         } else if (organizacaoSlug != null) {
-            organizacao = organizacaoRepository.findBySlug(organizacaoSlug)
+            String id = indiceSlugs.idPorSlug(organizacaoSlug)
+                    .orElseThrow(() -> new ResourceNotFoundException("Organização", "slug", organizacaoSlug));
+            organizacao = organizacaoRepository.findById(id)
                     .orElseThrow(() -> new ResourceNotFoundException("Organização", "slug", organizacaoSlug));
         } else {
             // Limpar organização ativa
             sessaoRepository.limparOrganizacaoAtiva(sessaoId);
+            sessaoService.invalidarSessaoEmMemoria(sessaoId);
             return null;
         }
 
         // Verificar se usuário é membro
-        if (!membroRepository.existsByOrganizacaoIdAndUsuarioId(organizacao.getId(), usuarioId)) {
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacao.getId())) {
             throw new UnauthorizedException("Usuário não é membro desta organização");
         }
 
         sessaoRepository.atualizarOrganizacaoAtiva(sessaoId, organizacao.getId());
+        sessaoService.invalidarSessaoEmMemoria(sessaoId);
         return organizacaoMapper.toResponse(organizacao);
     }
 
@@ -154,24 +224,27 @@ public class OrganizacaoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Organização", "id", organizacaoId));
 
         // Verificar se usuário é membro
-        if (!membroRepository.existsByOrganizacaoIdAndUsuarioId(organizacaoId, usuarioId)) {
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacaoId)) {
             throw new UnauthorizedException("Usuário não é membro desta organização");
         }
 
         int limite = limiteMembros != null ? limiteMembros : LIMITE_MEMBROS;
-        List<Membro> membros = membroRepository.findByOrganizacaoId(organizacaoId);
-        List<Convite> convites = conviteRepository.findConvitesPendentesByOrganizacaoId(organizacaoId);
 
-        List<MembroResponse> membrosResponse = membros.stream()
-                .limit(limite)
-                .map(membroMapper::toResponse)
-                .toList();
+        // Membros (com usuário) e convites pendentes (com convidador) projetados direto da consulta,
+        // com o limite aplicado no banco; os totais vêm de contagens separadas
+        List<MembroResponse> membrosResponse = List.of();
+        List<ConviteResponse> convitesResponse = List.of();
+        if (limite > 0) {
+            membrosResponse = membroRepository.findMembrosResponseByOrganizacaoId(organizacaoId, Limit.of(limite));
+            convitesResponse = conviteRepository.findConvitesResponseByOrganizacaoIdAndStatus(
+                    organizacaoId, CONVITE_PENDENTE, Limit.of(limite));
+        }
 
-        List<ConviteResponse> convitesResponse = convites.stream()
-                .map(conviteMapper::toResponse)
-                .toList();
+        long totalMembros = membroRepository.countByOrganizacaoId(organizacaoId);
+        long totalConvites = conviteRepository.countByOrganizacaoIdAndStatus(organizacaoId, CONVITE_PENDENTE);
 
-        return organizacaoMapper.toCompletaResponse(organizacao, membrosResponse, convitesResponse);
+        return organizacaoMapper.toCompletaResponse(
+                organizacao, membrosResponse, convitesResponse, totalMembros, totalConvites);
     }
 
     /**
@@ -183,14 +256,15 @@ public class OrganizacaoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Organização", "id", organizacaoId));
 
         // Verificar permissão (owner ou admin)
-        verificarPermissao(organizacaoId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
+        exigirPapel(organizacaoId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
 
-        // Validar slug se estiver sendo alterado
+        // Validar slug se estiver sendo alterado (verificação definitiva no banco, não no índice local)
         if (request.slug() != null && !request.slug().equals(organizacao.getSlug())) {
             if (organizacaoRepository.existsBySlug(request.slug())) {
                 throw new BusinessException("Slug já está em uso");
             }
             organizacao.setSlug(request.slug());
+            barramentoInvalidacao.publicar(EventoInvalidacao.organizacao(organizacaoId));
         }
 
         organizacaoMapper.updateEntity(request, organizacao);
@@ -199,17 +273,34 @@ public class OrganizacaoService {
     }
 
     /**
-     * Deletar organização
+     * Deletar organização (em segundo plano; o acesso dos membros é revogado na hora)
      * DELETE /api/organizacao/{id}
      */
-    public void deletarOrganizacao(String organizacaoId, String usuarioId) {
+    public ExclusaoOrganizacaoResponse deletarOrganizacao(String organizacaoId, String usuarioId) {
+        // Repetição da solicitação: o requerente já não é membro, então devolve a exclusão registrada
+        Optional<ExclusaoOrganizacaoResponse> registrada = exclusaoOrganizacaoService.buscarRegistrada(organizacaoId, usuarioId);
+        if (registrada.isPresent()) {
+            return registrada.get();
+        }
+
         Organizacao organizacao = organizacaoRepository.findById(organizacaoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Organização", "id", organizacaoId));
 
         // Apenas owner pode deletar
-        verificarPermissao(organizacaoId, usuarioId, PAPEL_OWNER);
+        exigirPapel(organizacaoId, usuarioId, PAPEL_OWNER);
 
-        organizacaoRepository.delete(organizacao);
+        List<String> membrosAfetados = membroRepository.findUsuarioIdsByOrganizacaoId(organizacaoId);
+
+        return exclusaoOrganizacaoService.solicitar(organizacao, membrosAfetados, usuarioId);
+    }
+
+    /**
+     * Acompanhar a exclusão de uma organização
+     * GET /api/organizacao/{id}/exclusao
+     */
+    @Transactional(readOnly = true)
+    public ExclusaoOrganizacaoResponse obterExclusao(String organizacaoId, String usuarioId) {
+        return exclusaoOrganizacaoService.obterAndamento(organizacaoId, usuarioId);
     }
 
     // ========================================================================
@@ -225,7 +316,7 @@ public class OrganizacaoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Organização", "id", organizacaoId));
 
         // Verificar permissão
-        verificarPermissao(organizacaoId, convidadorId, PAPEL_OWNER, PAPEL_ADMIN);
+        exigirPapel(organizacaoId, convidadorId, PAPEL_OWNER, PAPEL_ADMIN);
 
         Usuario convidador = usuarioRepository.findById(convidadorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", convidadorId));
@@ -253,7 +344,7 @@ public class OrganizacaoService {
 
         // Criar novo convite
         Convite convite = conviteMapper.toEntity(request);
-        convite.setId(UUID.randomUUID().toString());
+        convite.setId(geradorIdentificadores.novoId());
         convite.setOrganizacao(organizacao);
         convite.setConvidador(convidador);
         convite.setStatus(CONVITE_PENDENTE);
@@ -296,7 +387,7 @@ public class OrganizacaoService {
 
         // Criar membro
         Membro membro = Membro.builder()
-                .id(UUID.randomUUID().toString())
+                .id(geradorIdentificadores.novoId())
                 .organizacao(convite.getOrganizacao())
                 .usuario(usuario)
                 .papel(convite.getPapel())
@@ -308,6 +399,8 @@ public class OrganizacaoService {
         convite.setStatus(CONVITE_ACEITO);
         conviteRepository.save(convite);
 
+        barramentoInvalidacao.publicar(EventoInvalidacao.membro(usuarioId));
+
         return membroMapper.toResponse(membro);
     }
 
@@ -320,7 +413,7 @@ public class OrganizacaoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Convite", "id", conviteId));
 
         // Verificar permissão
-        verificarPermissao(convite.getOrganizacao().getId(), usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
+        exigirPapel(convite.getOrganizacao().getId(), usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
 
         if (!CONVITE_PENDENTE.equals(convite.getStatus())) {
             throw new BusinessException("Convite não está mais pendente");
@@ -372,13 +465,35 @@ public class OrganizacaoService {
     @Transactional(readOnly = true)
     public List<ConviteResponse> listarConvites(String organizacaoId, String usuarioId) {
         // Verificar se é membro
-        if (!membroRepository.existsByOrganizacaoIdAndUsuarioId(organizacaoId, usuarioId)) {
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacaoId)) {
             throw new UnauthorizedException("Usuário não é membro desta organização");
         }
 
-        return conviteRepository.findByOrganizacaoId(organizacaoId).stream()
-                .map(conviteMapper::toResponse)
-                .toList();
+        return conviteRepository.findConvitesResponseByOrganizacaoId(organizacaoId, Limit.unlimited());
+    }
+
+    /**
+     * Listar convites de uma organização paginando por cursor
+     * GET /api/organizacao/{id}/convites?cursor=
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<ConviteResponse> listarConvites(String organizacaoId, String usuarioId, String cursor, int limite,
+                                                        boolean incluirTotal) {
+        // Verificar se é membro
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacaoId)) {
+            throw new UnauthorizedException("Usuário não é membro desta organização");
+        }
+
+        Posicao apos = Posicao.decodificar(cursor);
+        List<ConviteResponse> convites = apos == null
+                ? conviteRepository.findConvitesResponseByOrganizacaoId(organizacaoId, limiteConsulta(limite))
+                : conviteRepository.findConvitesResponseByOrganizacaoIdApos(
+                        organizacaoId, apos.criadoEm(), apos.id(), limiteConsulta(limite));
+
+        return paginar(convites, limite,
+                c -> new Posicao(c.criadoEm(), c.id()),
+                Function.identity(),
+                incluirTotal ? () -> conviteRepository.countByOrganizacaoId(organizacaoId) : null);
     }
 
     /**
@@ -403,7 +518,7 @@ public class OrganizacaoService {
     @Transactional(readOnly = true)
     public Page<MembroResponse> listarMembros(String organizacaoId, String usuarioId, Pageable pageable) {
         // Verificar se é membro
-        if (!membroRepository.existsByOrganizacaoIdAndUsuarioId(organizacaoId, usuarioId)) {
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacaoId)) {
             throw new UnauthorizedException("Usuário não é membro desta organização");
         }
 
@@ -411,13 +526,37 @@ public class OrganizacaoService {
                 .map(membroMapper::toResponse);
     }
 
+    /**
+     * Listar membros de uma organização paginando por cursor, sem contagem a cada página
+     * GET /api/organizacao/{id}/membros?cursor=
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<MembroResponse> listarMembros(String organizacaoId, String usuarioId, String cursor, int limite,
+                                                      boolean incluirTotal) {
+        // Verificar se é membro
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacaoId)) {
+            throw new UnauthorizedException("Usuário não é membro desta organização");
+        }
+
+        Posicao apos = Posicao.decodificar(cursor);
+        List<MembroResponse> membros = apos == null
+                ? membroRepository.findMembrosResponseByOrganizacaoId(organizacaoId, limiteConsulta(limite))
+                : membroRepository.findMembrosResponseByOrganizacaoIdApos(
+                        organizacaoId, apos.criadoEm(), apos.id(), limiteConsulta(limite));
+
+        return paginar(membros, limite,
+                m -> new Posicao(m.criadoEm(), m.id()),
+                Function.identity(),
+                incluirTotal ? () -> membroRepository.countByOrganizacaoId(organizacaoId) : null);
+    }
+
     /**
      * Remover membro
      * DELETE /api/organizacao/{orgId}/membros/{membroIdOuEmail}
      */
     public void removerMembro(String organizacaoId, String membroIdOuEmail, String usuarioId) {
         // Verificar permissão
-        verificarPermissao(organizacaoId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
+        exigirPapel(organizacaoId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
 
         Membro membro;
 
@@ -436,6 +575,7 @@ public class OrganizacaoService {
         }
 
         membroRepository.delete(membro);
+        barramentoInvalidacao.publicar(EventoInvalidacao.membro(membro.getUsuario().getId()));
     }
 
     /**
@@ -446,7 +586,7 @@ public class OrganizacaoService {
         String orgId = request.organizacaoId() != null ? request.organizacaoId() : organizacaoId;
 
         // Verificar permissão
-        verificarPermissao(orgId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
+        exigirPapel(orgId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
 
         Membro membro = membroRepository.findById(request.membroId())
                 .orElseThrow(() -> new ResourceNotFoundException("Membro", "id", request.membroId()));
@@ -461,13 +601,12 @@ public class OrganizacaoService {
             throw new BusinessException("Não é possível alterar o papel do proprietário");
         }
 
-        // Apenas owner pode promover para owner
-        if (PAPEL_OWNER.equals(request.papel())) {
-            verificarPermissao(orgId, usuarioId, PAPEL_OWNER);
-        }
+        // Papel padrão ou dinâmico da organização; apenas owner pode promover para owner
+        validarPapelConcedido(orgId, usuarioId, request.papel());
 
         membro.setPapel(request.papel());
         membro = membroRepository.save(membro);
+        barramentoInvalidacao.publicar(EventoInvalidacao.membro(membro.getUsuario().getId()));
 
         return membroMapper.toResponse(membro);
     }
@@ -489,9 +628,11 @@ public class OrganizacaoService {
      */
     @Transactional(readOnly = true)
     public String obterPapelMembroAtivo(String organizacaoId, String usuarioId) {
-        Membro membro = membroRepository.findByOrganizacaoIdAndUsuarioId(organizacaoId, usuarioId)
-                .orElseThrow(() -> new ResourceNotFoundException("Membro", "usuario", usuarioId));
-        return membro.getPapel();
+        String papel = vinculosUsuarioCache.papel(usuarioId, organizacaoId);
+        if (papel == null) {
+            throw new ResourceNotFoundException("Membro", "usuario", usuarioId);
+        }
+        return papel;
     }
 
     /**
@@ -502,7 +643,7 @@ public class OrganizacaoService {
         String orgId = request.organizacaoId() != null ? request.organizacaoId() : organizacaoId;
 
         // Verificar permissão (server-side, admin ou owner)
-        verificarPermissao(orgId, adminUsuarioId, PAPEL_OWNER, PAPEL_ADMIN);
+        exigirPapel(orgId, adminUsuarioId, PAPEL_OWNER, PAPEL_ADMIN);
 
         Organizacao organizacao = organizacaoRepository.findById(orgId)
                 .orElseThrow(() -> new ResourceNotFoundException("Organização", "id", orgId));
@@ -516,15 +657,120 @@ public class OrganizacaoService {
             throw new BusinessException("Usuário já é membro desta organização");
         }
 
+        validarPapelConcedido(orgId, adminUsuarioId, request.papel());
+
         Membro membro = membroMapper.toEntity(request);
-        membro.setId(UUID.randomUUID().toString());
+        membro.setId(geradorIdentificadores.novoId());
         membro.setOrganizacao(organizacao);
         membro.setUsuario(usuario);
 
         membro = membroRepository.save(membro);
+        barramentoInvalidacao.publicar(EventoInvalidacao.membro(usuarioId));
         return membroMapper.toResponse(membro);
     }
 
+    /**
+     * Adicionar vários membros diretamente (sem convite)
+     * POST /api/organizacao/{id}/membros/lote
+     *
+     * Usuários e vínculos existentes são resolvidos com uma consulta cada, os novos membros são inseridos
+     * em um único batch JDBC e o limite de membros é verificado uma vez para o lote inteiro. A linha da
+     * organização fica bloqueada da leitura dos vínculos até o commit, então lotes concorrentes não
+     * ultrapassam o limite nem inserem o mesmo usuário duas vezes.
+     */
+    public AdicionarMembrosResponse adicionarMembros(String organizacaoId, AdicionarMembrosRequest request,
+                                                     String adminUsuarioId) {
+        // Verificar permissão (server-side, admin ou owner)
+        exigirPapel(organizacaoId, adminUsuarioId, PAPEL_OWNER, PAPEL_ADMIN);
+
+        List<AdicionarMembrosRequest.Item> itens = request.membros();
+        Set<String> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> papeisDinamicos = new HashSet<>();
+        for (AdicionarMembrosRequest.Item item : itens) {
+            // Apenas owner pode adicionar owner
+            if (PAPEL_OWNER.equals(item.papel())) {
+                exigirPapel(organizacaoId, adminUsuarioId, PAPEL_OWNER);
+            } else if (!PAPEIS_PADRAO.contains(item.papel())) {
+                papeisDinamicos.add(item.papel());
+            }
+            if (item.usuarioId() != null) {
+                ids.add(item.usuarioId());
+            } else if (item.email() != null) {
+                emails.add(item.email());
+            }
+        }
+
+        Map<String, String> idPorEmail = new HashMap<>();
+        Set<String> idsExistentes = new HashSet<>();
+        List<UsuarioIdentificacao> usuarios = ids.isEmpty() && emails.isEmpty()
+                ? List.of()
+                : usuarioRepository.findIdentificacoesByIdsOrEmails(ids, emails);
+        for (UsuarioIdentificacao usuario : usuarios) {
+            idPorEmail.put(usuario.email(), usuario.id());
+            idsExistentes.add(usuario.id());
+        }
+
+        Set<String> papeisExistentes = papeisDinamicos.isEmpty()
+                ? Set.of()
+                : new HashSet<>(papelOrganizacaoRepository.findPapeisByOrganizacaoIdAndPapelIn(organizacaoId, papeisDinamicos));
+
+        if (!idsExistentes.isEmpty()) {
+            bloquearOrganizacao(organizacaoId);
+        }
+        Set<String> jaMembros = idsExistentes.isEmpty()
+                ? Set.of()
+                : new HashSet<>(membroRepository.findUsuarioIdsByOrganizacaoIdAndUsuarioIdIn(organizacaoId, idsExistentes));
+
+        // Classificar cada item na ordem da requisição
+        List<Resultado> resultados = new ArrayList<>(itens.size());
+        List<Resultado> novos = new ArrayList<>();
+        Set<String> noLote = new HashSet<>();
+        for (AdicionarMembrosRequest.Item item : itens) {
+            String usuarioId = item.usuarioId() != null ? item.usuarioId() : idPorEmail.get(item.email());
+
+            Resultado resultado;
+            if (item.usuarioId() == null && item.email() == null) {
+                resultado = new Resultado(null, null, item.papel(), Situacao.IDENTIFICACAO_AUSENTE, null);
+            } else if (!PAPEIS_PADRAO.contains(item.papel()) && !papeisExistentes.contains(item.papel())) {
+                resultado = new Resultado(item.usuarioId(), item.email(), item.papel(), Situacao.PAPEL_INEXISTENTE, null);
+            } else if (usuarioId == null || !idsExistentes.contains(usuarioId)) {
+                resultado = new Resultado(item.usuarioId(), item.email(), item.papel(), Situacao.USUARIO_NAO_ENCONTRADO, null);
+            } else if (jaMembros.contains(usuarioId)) {
+                resultado = new Resultado(usuarioId, item.email(), item.papel(), Situacao.JA_MEMBRO, null);
+            } else if (!noLote.add(usuarioId)) {
+                resultado = new Resultado(usuarioId, item.email(), item.papel(), Situacao.DUPLICADO, null);
+            } else {
+                resultado = new Resultado(usuarioId, item.email(), item.papel(), Situacao.ADICIONADO,
+                        geradorIdentificadores.novoId());
+                novos.add(resultado);
+            }
+            resultados.add(resultado);
+        }
+
+        if (novos.isEmpty()) {
+            return new AdicionarMembrosResponse(0, resultados);
+        }
+
+        long totalAtual = membroRepository.countByOrganizacaoId(organizacaoId);
+        if (totalAtual + novos.size() > LIMITE_MEMBROS) {
+            throw new BusinessException("Limite de " + LIMITE_MEMBROS + " membros excedido: a organização tem "
+                    + totalAtual + " e o lote adicionaria " + novos.size());
+        }
+
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(SQL_INSERIR_MEMBRO, novos, novos.size(), (ps, novo) -> {
+            ps.setString(1, novo.membroId());
+            ps.setString(2, organizacaoId);
+            ps.setString(3, novo.usuarioId());
+            ps.setString(4, novo.papel());
+            ps.setTimestamp(5, agora);
+        });
+
+        novos.forEach(novo -> barramentoInvalidacao.publicar(EventoInvalidacao.membro(novo.usuarioId())));
+        return new AdicionarMembrosResponse(novos.size(), resultados);
+    }
+
     /**
      * Sair da organização
      * POST /api/organizacao/{id}/sair
@@ -539,6 +785,7 @@ public class OrganizacaoService {
         }
 
         membroRepository.delete(membro);
+        barramentoInvalidacao.publicar(EventoInvalidacao.membro(usuarioId));
     }
 
     // ========================================================================
@@ -553,7 +800,7 @@ public class OrganizacaoService {
         String orgId = request.organizacaoId() != null ? request.organizacaoId() : organizacaoId;
 
         // Verificar permissão
-        verificarPermissao(orgId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
+        exigirPapel(orgId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
 
         Organizacao organizacao = organizacaoRepository.findById(orgId)
                 .orElseThrow(() -> new ResourceNotFoundException("Organização", "id", orgId));
@@ -563,10 +810,13 @@ public class OrganizacaoService {
             throw new BusinessException("Papel já existe nesta organização");
         }
 
+        motorPermissoes.validar(request.permissao());
+
         PapelOrganizacao papel = papelOrganizacaoMapper.toEntity(request);
         papel.setOrganizacao(organizacao);
 
         papel = papelOrganizacaoRepository.save(papel);
+        barramentoInvalidacao.publicar(EventoInvalidacao.papel(orgId));
         return papelOrganizacaoMapper.toResponse(papel);
     }
 
@@ -576,7 +826,7 @@ public class OrganizacaoService {
      */
     public void deletarPapel(String organizacaoId, String papelIdOuNome, String usuarioId) {
         // Verificar permissão
-        verificarPermissao(organizacaoId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
+        exigirPapel(organizacaoId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
 
         PapelOrganizacao papel;
 
@@ -590,6 +840,7 @@ public class OrganizacaoService {
         }
 
         papelOrganizacaoRepository.delete(papel);
+        barramentoInvalidacao.publicar(EventoInvalidacao.papel(organizacaoId));
     }
 
     /**
@@ -599,7 +850,7 @@ public class OrganizacaoService {
     @Transactional(readOnly = true)
     public List<PapelOrganizacaoResponse> listarPapeis(String organizacaoId, String usuarioId) {
         // Verificar permissão (membro pode ver)
-        if (!membroRepository.existsByOrganizacaoIdAndUsuarioId(organizacaoId, usuarioId)) {
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacaoId)) {
             throw new UnauthorizedException("Usuário não é membro desta organização");
         }
 
@@ -608,6 +859,30 @@ public class OrganizacaoService {
                 .toList();
     }
 
+    /**
+     * Listar papéis de uma organização paginando por cursor
+     * GET /api/organizacao/{id}/papeis?cursor=
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<PapelOrganizacaoResponse> listarPapeis(String organizacaoId, String usuarioId, String cursor,
+                                                               int limite, boolean incluirTotal) {
+        // Verificar permissão (membro pode ver)
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacaoId)) {
+            throw new UnauthorizedException("Usuário não é membro desta organização");
+        }
+
+        Posicao apos = Posicao.decodificar(cursor);
+        List<PapelOrganizacao> papeis = apos == null
+                ? papelOrganizacaoRepository.findByOrganizacaoId(organizacaoId, limiteConsulta(limite))
+                : papelOrganizacaoRepository.findByOrganizacaoIdApos(
+                        organizacaoId, apos.criadoEm(), apos.id(), limiteConsulta(limite));
+
+        return paginar(papeis, limite,
+                p -> new Posicao(p.getCriadoEm(), p.getId()),
+                papelOrganizacaoMapper::toResponse,
+                incluirTotal ? () -> papelOrganizacaoRepository.countByOrganizacaoId(organizacaoId) : null);
+    }
+
     /**
      * Obter papel específico
      * GET /api/organizacao/{orgId}/papeis/{papelIdOuNome}
@@ -615,7 +890,7 @@ public class OrganizacaoService {
     @Transactional(readOnly = true)
     public PapelOrganizacaoResponse obterPapel(String organizacaoId, String papelIdOuNome, String usuarioId) {
         // Verificar permissão
-        if (!membroRepository.existsByOrganizacaoIdAndUsuarioId(organizacaoId, usuarioId)) {
+        if (!vinculosUsuarioCache.ehMembro(usuarioId, organizacaoId)) {
             throw new UnauthorizedException("Usuário não é membro desta organização");
         }
 
@@ -641,7 +916,7 @@ public class OrganizacaoService {
         String orgId = request.organizacaoId() != null ? request.organizacaoId() : organizacaoId;
 
         // Verificar permissão
-        verificarPermissao(orgId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
+        exigirPapel(orgId, usuarioId, PAPEL_OWNER, PAPEL_ADMIN);
 
         PapelOrganizacao papel;
         String identificador = request.papelId() != null ? request.papelId() : request.papelNome();
@@ -663,9 +938,14 @@ public class OrganizacaoService {
             papel.setPapel(request.novoNome());
         }
 
+        if (request.permissao() != null) {
+            motorPermissoes.validar(request.permissao());
+        }
+
         papelOrganizacaoMapper.updateEntity(request, papel);
 
         papel = papelOrganizacaoRepository.save(papel);
+        barramentoInvalidacao.publicar(EventoInvalidacao.papel(orgId));
         return papelOrganizacaoMapper.toResponse(papel);
     }
 
@@ -676,13 +956,15 @@ public class OrganizacaoService {
     /**
      * Verificar se usuário tem um dos papéis especificados na organização
      */
-    private void verificarPermissao(String organizacaoId, String usuarioId, String... papeisPermitidos) {
-        Membro membro = membroRepository.findByOrganizacaoIdAndUsuarioId(organizacaoId, usuarioId)
-                .orElseThrow(() -> new UnauthorizedException("Usuário não é membro desta organização"));
+    private void exigirPapel(String organizacaoId, String usuarioId, String... papeisPermitidos) {
+        String papelMembro = vinculosUsuarioCache.papel(usuarioId, organizacaoId);
+        if (papelMembro == null) {
+            throw new UnauthorizedException("Usuário não é membro desta organização");
+        }
 
         boolean temPermissao = false;
         for (String papel : papeisPermitidos) {
-            if (papel.equals(membro.getPapel())) {
+            if (papel.equals(papelMembro)) {
                 temPermissao = true;
                 break;
             }
@@ -693,19 +975,101 @@ public class OrganizacaoService {
         }
     }
 
+    /**
+     * Verificar se o papel pode ser concedido: papel padrão ou papel dinâmico da organização, e
+     * PROPRIETARIO somente pelo proprietário
+     */
+    private void validarPapelConcedido(String organizacaoId, String usuarioId, String papel) {
+        if (PAPEL_OWNER.equals(papel)) {
+            exigirPapel(organizacaoId, usuarioId, PAPEL_OWNER);
+        } else if (!PAPEIS_PADRAO.contains(papel)
+                && !papelOrganizacaoRepository.existsByOrganizacaoIdAndPapel(organizacaoId, papel)) {
+            throw new BusinessException("Papel não existe nesta organização: " + papel);
+        }
+    }
+
+    /**
+     * Bloqueia a linha da organização até o fim da transação, serializando alterações no quadro de membros
+     */
+    private void bloquearOrganizacao(String organizacaoId) {
+        if (jdbcTemplate.queryForList(SQL_BLOQUEAR_ORGANIZACAO, String.class, organizacaoId).isEmpty()) {
+            throw new ResourceNotFoundException("Organização", "id", organizacaoId);
+        }
+    }
+
+    /**
+     * Limite da consulta de uma página por cursor: um item a mais indica se existe próxima página
+     */
+    private static Limit limiteConsulta(int limite) {
+        if (limite < 1 || limite > LIMITE_PAGINA_CURSOR) {
+            throw new BusinessException("O limite da página deve estar entre 1 e " + LIMITE_PAGINA_CURSOR);
+        }
+        return Limit.of(limite + 1);
+    }
+
+    /**
+     * Monta a página a partir dos itens lidos com limiteConsulta; total é contado só se solicitado
+     */
+    private static <E, R> PaginaCursor<R> paginar(List<E> encontrados, int limite, Function<E, Posicao> posicao,
+                                                  Function<E, R> conversor, LongSupplier total) {
+        boolean temProxima = encontrados.size() > limite;
+        List<E> itens = temProxima ? encontrados.subList(0, limite) : encontrados;
+        String proximoCursor = temProxima ? posicao.apply(itens.getLast()).codificar() : null;
+
+        return new PaginaCursor<>(
+                itens.stream().map(conversor).toList(),
+                proximoCursor,
+                total != null ? total.getAsLong() : null);
+    }
+
     /**
      * Verificar se usuário tem permissão específica
      * POST /api/organizacao/verificar-permissao
      */
     @Transactional(readOnly = true)
     public boolean verificarPermissao(String organizacaoId, String usuarioId, String recurso, String acao) {
-        var membroOpt = membroRepository.findByOrganizacaoIdAndUsuarioId(organizacaoId, usuarioId);
-        if (membroOpt.isEmpty()) {
-            return false;
+        return avaliarPermissao(organizacaoId, vinculosUsuarioCache.papel(usuarioId, organizacaoId), recurso, acao);
+    }
+
+    /**
+     * Verificar várias permissões de uma vez
+     * POST /api/organizacao/verificar-permissoes
+     *
+     * Os vínculos do usuário vêm de um único snapshot e os papéis dinâmicos de todas as organizações
+     * envolvidas são compilados com uma única consulta, independentemente do número de verificações.
+     */
+    @Transactional(readOnly = true)
+    public VerificarPermissoesResponse verificarPermissoes(VerificarPermissoesRequest request, String usuarioId) {
+        Map<String, String> vinculos = vinculosUsuarioCache.vinculos(usuarioId);
+
+        Set<String> organizacoesComPapelDinamico = new HashSet<>();
+        for (VerificarPermissoesRequest.Verificacao verificacao : request.verificacoes()) {
+            String papel = vinculos.get(verificacao.organizacaoId());
+            if (papel != null && !PAPEIS_PADRAO.contains(papel)) {
+                organizacoesComPapelDinamico.add(verificacao.organizacaoId());
+            }
+        }
+        motorPermissoes.precarregar(organizacoesComPapelDinamico);
+
+        Map<String, Map<String, Boolean>> resultado = new LinkedHashMap<>();
+        for (VerificarPermissoesRequest.Verificacao verificacao : request.verificacoes()) {
+            String organizacaoId = verificacao.organizacaoId();
+            boolean permitido = avaliarPermissao(
+                    organizacaoId, vinculos.get(organizacaoId), verificacao.recurso(), verificacao.acao());
+            resultado.computeIfAbsent(organizacaoId, id -> new LinkedHashMap<>())
+                    .put(verificacao.recurso() + ":" + verificacao.acao(), permitido);
         }
 
-        Membro membro = membroOpt.get();
-        String papel = membro.getPapel();
+        return new VerificarPermissoesResponse(resultado);
+    }
+
+    /**
+     * Avalia a permissão a partir do papel do usuário na organização (null se não for membro)
+     */
+    private boolean avaliarPermissao(String organizacaoId, String papel, String recurso, String acao) {
+        if (papel == null) {
+            return false;
+        }
 
         // Owner tem todas as permissões
         if (PAPEL_OWNER.equals(papel)) {
@@ -726,15 +1090,7 @@ public class OrganizacaoService {
             return "read".equals(acao);
         }
 
-        // Verificar papéis dinâmicos
-        var papelDinamico = papelOrganizacaoRepository.findByOrganizacaoIdAndPapel(organizacaoId, papel);
-        if (papelDinamico.isPresent()) {
-            String permissoes = papelDinamico.get().getPermissao();
-            // Formato esperado: {"recurso": ["acao1", "acao2"]}
-            // Implementação simplificada - pode ser expandida conforme necessário
-            return permissoes.contains(recurso) && permissoes.contains(acao);
-        }
-
-        return false;
+        // Papéis dinâmicos: permissões compiladas em memória ({"recurso": ["acao1", "acao2"]})
+        return motorPermissoes.permite(organizacaoId, papel, recurso, acao);
     }
 }
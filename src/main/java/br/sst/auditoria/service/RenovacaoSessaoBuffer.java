@@ -0,0 +1,124 @@
+package br.sst.auditoria.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffer de renovações de sessão (sliding expiration em modo "touch").
+ *
+ * As renovações são registradas em memória e gravadas periodicamente em um único
+ * batch JDBC de UPDATEs que altera apenas expira_em (sem passar pelo @UpdateTimestamp).
+ * Renovações repetidas da mesma sessão entre duas gravações são agrupadas, e uma sessão
+ * é gravada no máximo uma vez por janela configurada. As pendências são gravadas no desligamento.
+ * Se o batch falhar, as renovações do lote voltam para as pendências e são tentadas na próxima gravação.
+ */
+@Service
+@Slf4j
+public class RenovacaoSessaoBuffer {
+
+    private static final String SQL_RENOVAR =
+            "UPDATE sessao SET expira_em = ? WHERE id = ? AND expira_em < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, LocalDateTime> pendentes = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> gravadasNaJanela;
+    private final Counter renovacoesAgrupadas;
+    private final Counter renovacoesGravadas;
+
+    public RenovacaoSessaoBuffer(JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${session.sliding.window:5m}") Duration janela) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.gravadasNaJanela = Caffeine.newBuilder()
+                .expireAfterWrite(janela)
+                .build();
+        this.renovacoesAgrupadas = meterRegistry.counter("sessao.renovacao.agrupadas");
+        this.renovacoesGravadas = meterRegistry.counter("sessao.renovacao.gravadas");
+        meterRegistry.gaugeMapSize("sessao.renovacao.pendentes", Tags.empty(), pendentes);
+    }
+
+    /**
+     * Registra a nova expiração de uma sessão para gravação posterior
+     */
+    public void registrar(String sessaoId, LocalDateTime novaExpiracao) {
+        if (pendentes.put(sessaoId, novaExpiracao) != null) {
+            renovacoesAgrupadas.increment();
+        }
+    }
+
+    /**
+     * Grava as renovações pendentes cujas sessões não foram gravadas dentro da janela
+     */
+    @Scheduled(fixedDelayString = "${session.sliding.flush-interval:30000}")
+    public void descarregar() {
+        gravar(false);
+    }
+
+    /**
+     * Grava todas as renovações pendentes antes do desligamento da aplicação
+     */
+    @PreDestroy
+    public void descarregarTudo() {
+        gravar(true);
+    }
+
+    private void gravar(boolean ignorarJanela) {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, LocalDateTime>> lote = new ArrayList<>();
+
+        for (String sessaoId : pendentes.keySet()) {
+            if (!ignorarJanela && gravadasNaJanela.getIfPresent(sessaoId) != null) {
+                // Já gravada nesta janela: continua pendente e será agrupada com as próximas
+                continue;
+            }
+
+            LocalDateTime expiracao = pendentes.remove(sessaoId);
+            if (expiracao != null) {
+                lote.add(Map.entry(sessaoId, expiracao));
+            }
+        }
+
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(SQL_RENOVAR, lote, lote.size(), (ps, renovacao) -> {
+                Timestamp expiracao = Timestamp.valueOf(renovacao.getValue());
+                ps.setTimestamp(1, expiracao);
+                ps.setString(2, renovacao.getKey());
+                ps.setTimestamp(3, expiracao);
+            });
+        } catch (RuntimeException e) {
+            // Devolve o lote sem sobrescrever renovações mais recentes registradas durante a gravação
+            lote.forEach(renovacao -> pendentes.merge(renovacao.getKey(), renovacao.getValue(),
+                    (atual, anterior) -> atual.isAfter(anterior) ? atual : anterior));
+            log.warn("Falha ao gravar {} renovações de sessão; serão tentadas novamente: {}", lote.size(), e.getMessage());
+            return;
+        }
+
+        lote.forEach(renovacao -> gravadasNaJanela.put(renovacao.getKey(), Boolean.TRUE));
+        renovacoesGravadas.increment(lote.size());
+        log.debug("Gravadas {} renovações de sessão", lote.size());
+    }
+}
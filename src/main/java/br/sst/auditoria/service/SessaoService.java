@@ -1,24 +1,35 @@
 package br.sst.auditoria.service;
 
 import br.sst.auditoria.exception.UnauthorizedException;
+import br.sst.auditoria.invalidacao.BarramentoInvalidacao;
+import br.sst.auditoria.invalidacao.EventoInvalidacao;
 import br.sst.auditoria.model.Sessao;
 import br.sst.auditoria.model.Usuario;
 import br.sst.auditoria.repository.SessaoRepository;
 import br.sst.auditoria.repository.UsuarioRepository;
-import br.sst.auditoria.security.CustomUserDetails;
+import br.sst.auditoria.security.GeradorIdentificadores;
+import br.sst.auditoria.security.session.ResultadoSessao;
+import br.sst.auditoria.security.session.RevogacaoSessaoRegistro;
+import br.sst.auditoria.security.session.SessaoAutenticada;
+import br.sst.auditoria.security.session.SessaoCache;
+import br.sst.auditoria.security.session.TokenSessaoAssinado;
+import br.sst.auditoria.security.session.TokenSessaoClaims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Serviço responsável pelo gerenciamento de sessões de autenticação.
@@ -31,13 +42,26 @@ public class SessaoService {
 
     private final SessaoRepository sessaoRepository;
     private final UsuarioRepository usuarioRepository;
-
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
-    private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private final SessaoCache sessaoCache;
+    private final MeterRegistry meterRegistry;
+    private final RenovacaoSessaoBuffer renovacaoSessaoBuffer;
+    private final TokenSessaoAssinado tokenSessaoAssinado;
+    private final RevogacaoSessaoRegistro revogacaoSessaoRegistro;
+    private final BarramentoInvalidacao barramentoInvalidacao;
+    private final GeradorIdentificadores geradorIdentificadores;
 
     @Value("${session.expiration:604800000}") // 7 days default
     private long sessionExpirationMs;
 
+    @Value("${session.sliding.enabled:false}")
+    private boolean slidingEnabled;
+
+    @Value("${session.cleanup.batch-size:1000}")
+    private int cleanupBatchSize;
+
+    @Value("${session.cleanup.pause:100ms}")
+    private Duration cleanupPause;
+
     /**
      * Cria uma nova sessão para o usuário
      */
@@ -50,7 +74,7 @@ public class SessaoService {
         LocalDateTime expiracao = agora.plusSeconds(sessionExpirationMs / 1000);
 
         Sessao sessao = Sessao.builder()
-                .id(UUID.randomUUID().toString())
+                .id(geradorIdentificadores.novoId())
                 .token(sessionToken)
                 .usuario(usuario)
                 .expiraEm(expiracao)
@@ -61,6 +85,17 @@ public class SessaoService {
         return sessaoRepository.save(sessao);
     }
 
+    /**
+     * Retorna o token entregue ao cliente: o token opaco persistido ou,
+     * com session.token.format=signed, um token assinado derivado da sessão
+     */
+    public String emitirTokenCliente(Sessao sessao) {
+        if (!tokenSessaoAssinado.isEmissaoAtiva()) {
+            return sessao.getToken();
+        }
+        return tokenSessaoAssinado.emitir(SessaoAutenticada.fromSessao(sessao));
+    }
+
     /**
      * Valida um token de sessão e retorna a sessão se válida
      */
@@ -70,27 +105,66 @@ public class SessaoService {
             return Optional.empty();
         }
 
-        Optional<Sessao> sessaoOpt = sessaoRepository.findByToken(token);
+        return buscarPorToken(token).filter(this::isSessaoValida);
+    }
+
+    /**
+     * Autentica um token de sessão consultando primeiro o cache em memória.
+     * Em caso de falha no cache, carrega sessão, usuário e organização ativa em uma única consulta
+     * e armazena o snapshot.
+     * Não é transacional para que um acerto no cache não abra conexão com o banco.
+     */
+    public Optional<SessaoAutenticada> autenticar(String token) {
+        return localizar(token).filter(this::isSessaoValida);
+    }
 
-        if (sessaoOpt.isEmpty()) {
+    /**
+     * Localiza o snapshot da sessão (cache, token assinado ou banco) sem aplicar as regras de validade,
+     * para que o chamador possa distinguir o motivo da recusa com {@link ResultadoSessao}.
+     * Apenas sessões válidas são armazenadas em cache.
+     */
+    public Optional<SessaoAutenticada> localizar(String token) {
+        if (token == null || token.isBlank()) {
             return Optional.empty();
         }
 
-        Sessao sessao = sessaoOpt.get();
+        if (tokenSessaoAssinado.isAssinado(token)) {
+            return localizarAssinado(token);
+        }
 
-        // Verifica se a sessão expirou
-        if (sessao.getExpiraEm().isBefore(LocalDateTime.now())) {
-            log.debug("Sessão expirada para usuário: {}", sessao.getUsuario().getEmail());
+        return obterDoCacheOuBanco(token, () -> sessaoRepository.findSessaoAutenticadaByToken(token));
+    }
+
+    /**
+     * Localiza a sessão de um token assinado: dentro do horizonte e sem revogação registrada, é aceito
+     * sem consultar o banco; caso contrário, a sessão é verificada pelo ID embutido no token.
+     */
+    private Optional<SessaoAutenticada> localizarAssinado(String token) {
+        Optional<TokenSessaoClaims> claimsOpt = tokenSessaoAssinado.ler(token);
+        if (claimsOpt.isEmpty()) {
             return Optional.empty();
         }
 
-        // Verifica se o usuário está banido
-        if (Boolean.TRUE.equals(sessao.getUsuario().getBanido())) {
-            log.warn("Tentativa de acesso com sessão de usuário banido: {}", sessao.getUsuario().getEmail());
-            return Optional.empty();
+        TokenSessaoClaims claims = claimsOpt.get();
+        if (claims.dentroDoHorizonte(Instant.now()) && !revogacaoSessaoRegistro.exigeVerificacao(claims)) {
+            return Optional.of(claims.toSessaoAutenticada(token));
+        }
+
+        return obterDoCacheOuBanco(token, () -> sessaoRepository.findSessaoAutenticadaById(claims.sessaoId())
+                .map(sessao -> sessao.comToken(token)));
+    }
+
+    private Optional<SessaoAutenticada> obterDoCacheOuBanco(String token,
+                                                            Supplier<Optional<SessaoAutenticada>> consulta) {
+        Optional<SessaoAutenticada> emCache = sessaoCache.obter(token);
+        if (emCache.isPresent()) {
+            return emCache;
         }
 
-        return sessaoOpt;
+        Optional<SessaoAutenticada> sessao = consulta.get();
+
+        sessao.filter(this::isSessaoValida).ifPresent(sessaoCache::armazenar);
+        return sessao;
     }
 
     /**
@@ -111,17 +185,36 @@ public class SessaoService {
 
         LocalDateTime novaExpiracao = LocalDateTime.now().plusSeconds(sessionExpirationMs / 1000);
         sessao.setExpiraEm(novaExpiracao);
+        sessaoCache.invalidar(token);
 
         return sessaoRepository.save(sessao);
     }
 
+    /**
+     * Renova a sessão em modo "touch" (sliding expiration sem escrita na requisição).
+     * A nova expiração é registrada em memória e gravada de forma agrupada pelo RenovacaoSessaoBuffer.
+     * Não faz nada se a renovação deslizante estiver desabilitada.
+     */
+    public void tocarSessao(SessaoAutenticada sessao) {
+        if (!slidingEnabled) {
+            return;
+        }
+
+        LocalDateTime novaExpiracao = LocalDateTime.now().plusSeconds(sessionExpirationMs / 1000);
+        renovacaoSessaoBuffer.registrar(sessao.sessaoId(), novaExpiracao);
+        sessaoCache.atualizarExpiracao(sessao.token(), novaExpiracao);
+    }
+
     /**
      * Revoga uma sessão específica (logout)
      */
     @Transactional
     public void revogarSessao(String token) {
-        sessaoRepository.findByToken(token)
-                .ifPresent(sessao -> sessaoRepository.delete(sessao));
+        buscarPorToken(token).ifPresent(sessao -> {
+            sessaoRepository.delete(sessao);
+            invalidarSessaoEmMemoria(sessao.getId());
+        });
+        sessaoCache.invalidar(token);
     }
 
     /**
@@ -130,6 +223,45 @@ public class SessaoService {
     @Transactional
     public void revogarTodasSessoes(String usuarioId) {
         sessaoRepository.deleteAllByUsuarioId(usuarioId);
+        invalidarSessoesDoUsuarioEmMemoria(usuarioId);
+    }
+
+    /**
+     * Descarta o estado em memória de uma sessão (cache e tokens assinados já emitidos),
+     * forçando a próxima requisição a consultar o banco
+     */
+    public void invalidarSessaoEmMemoria(String sessaoId) {
+        barramentoInvalidacao.publicar(EventoInvalidacao.sessao(sessaoId));
+    }
+
+    /**
+     * Descarta o estado em memória de todas as sessões de um usuário (ex.: alteração de papel ou banimento)
+     */
+    public void invalidarSessoesDoUsuarioEmMemoria(String usuarioId) {
+        barramentoInvalidacao.publicar(EventoInvalidacao.sessoesUsuario(usuarioId));
+    }
+
+    /**
+     * Aplica eventos de invalidação (locais ou vindos de outros nós) ao estado em memória das sessões
+     */
+    @EventListener
+    public void aoInvalidar(EventoInvalidacao evento) {
+        switch (evento.tipo()) {
+            case SESSAO -> {
+                sessaoCache.invalidarSessao(evento.chave());
+                revogacaoSessaoRegistro.registrarSessao(evento.chave());
+            }
+            case SESSOES_USUARIO -> {
+                sessaoCache.invalidarUsuario(evento.chave());
+                revogacaoSessaoRegistro.registrarUsuario(evento.chave());
+            }
+            case TUDO -> {
+                sessaoCache.invalidarTudo();
+                revogacaoSessaoRegistro.registrarTudo();
+            }
+            default -> {
+            }
+        }
     }
 
     /**
@@ -147,6 +279,7 @@ public class SessaoService {
     public void atualizarOrganizacaoAtiva(String token, String organizacaoId) {
         Sessao sessao = obterSessao(token);
         sessaoRepository.atualizarOrganizacaoAtiva(sessao.getId(), organizacaoId);
+        invalidarSessaoEmMemoria(sessao.getId());
     }
 
     /**
@@ -156,37 +289,98 @@ public class SessaoService {
     public void limparOrganizacaoAtiva(String token) {
         Sessao sessao = obterSessao(token);
         sessaoRepository.limparOrganizacaoAtiva(sessao.getId());
+        invalidarSessaoEmMemoria(sessao.getId());
     }
 
     /**
-     * Task agendada para limpar sessões expiradas do banco
-     * Executa a cada hora
+     * Task agendada para limpar sessões expiradas do banco.
+     * Remove em lotes limitados (DELETE ... LIMIT via subconsulta no índice de expira_em),
+     * cada um em sua própria transação, com uma pausa entre lotes para não disputar I/O.
      */
-    @Scheduled(fixedRate = 3600000) // 1 hour
-    @Transactional
+    @Scheduled(fixedRateString = "${session.cleanup.interval:3600000}") // 1 hour
     public void limparSessoesExpiradas() {
-        int deletedCount = 0;
-        List<Sessao> sessoesExpiradas = sessaoRepository.findAll().stream()
-                .filter(s -> s.getExpiraEm().isBefore(LocalDateTime.now()))
-                .toList();
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        LocalDateTime agora = LocalDateTime.now();
+        int totalRemovidas = 0;
+        int lotes = 0;
+
+        try {
+            int removidas;
+            do {
+                removidas = sessaoRepository.deleteSessoesExpiradas(agora, cleanupBatchSize);
+                totalRemovidas += removidas;
+                lotes++;
+
+                if (removidas == cleanupBatchSize && !cleanupPause.isZero()) {
+                    Thread.sleep(cleanupPause);
+                }
+            } while (removidas == cleanupBatchSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Limpeza de sessões expiradas interrompida após {} lotes", lotes);
+        } finally {
+            meterRegistry.counter("sessao.limpeza.removidas").increment(totalRemovidas);
+            meterRegistry.counter("sessao.limpeza.lotes").increment(lotes);
+            amostra.stop(meterRegistry.timer("sessao.limpeza.duracao"));
+        }
 
-        for (Sessao sessao : sessoesExpiradas) {
-            sessaoRepository.delete(sessao);
-            deletedCount++;
+        if (totalRemovidas > 0) {
+            log.info("Limpas {} sessões expiradas em {} lotes", totalRemovidas, lotes);
+        }
+    }
+
+    /**
+     * Verifica se a sessão não expirou e se o usuário não está banido
+     */
+    private boolean isSessaoValida(Sessao sessao) {
+        // Verifica se a sessão expirou
+        if (sessao.getExpiraEm().isBefore(LocalDateTime.now())) {
+            log.debug("Sessão expirada para usuário: {}", sessao.getUsuario().getEmail());
+            return false;
+        }
+
+        // Verifica se o usuário está banido
+        if (Boolean.TRUE.equals(sessao.getUsuario().getBanido())) {
+            log.warn("Tentativa de acesso com sessão de usuário banido: {}", sessao.getUsuario().getEmail());
+            return false;
         }
 
-        if (deletedCount > 0) {
-            log.info("Limpas {} sessões expiradas", deletedCount);
+        return true;
+    }
+
+    /**
+     * Verifica se o snapshot da sessão não expirou e se o usuário não está banido
+     */
+    private boolean isSessaoValida(SessaoAutenticada sessao) {
+        return switch (ResultadoSessao.avaliar(sessao, LocalDateTime.now())) {
+            case EXPIRADA -> {
+                log.debug("Sessão expirada para usuário: {}", sessao.email());
+                yield false;
+            }
+            case BANIDA -> {
+                log.warn("Tentativa de acesso com sessão de usuário banido: {}", sessao.email());
+                yield false;
+            }
+            default -> true;
+        };
+    }
+
+    /**
+     * Busca a sessão pelo token do cliente (opaco ou assinado)
+     */
+    private Optional<Sessao> buscarPorToken(String token) {
+        if (tokenSessaoAssinado.isAssinado(token)) {
+            return tokenSessaoAssinado.ler(token)
+                    .flatMap(claims -> sessaoRepository.findById(claims.sessaoId()));
         }
+        return sessaoRepository.findByToken(token);
     }
 
     /**
-     * Gera um token de sessão seguro usando SecureRandom
+     * Gera um token de sessão seguro (256 bits)
      */
     private String gerarTokenSeguro() {
-        byte[] randomBytes = new byte[32]; // 256 bits
-        SECURE_RANDOM.nextBytes(randomBytes);
-        return BASE64_ENCODER.encodeToString(randomBytes);
+        return geradorIdentificadores.novoToken(32);
     }
 
     /**
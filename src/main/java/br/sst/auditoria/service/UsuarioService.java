@@ -7,13 +7,13 @@ import br.sst.auditoria.exception.ResourceNotFoundException;
 import br.sst.auditoria.mapper.UsuarioMapper;
 import br.sst.auditoria.model.Usuario;
 import br.sst.auditoria.repository.UsuarioRepository;
+import br.sst.auditoria.security.GeradorIdentificadores;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +21,8 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final UsuarioMapper usuarioMapper;
+    private final SessaoService sessaoService;
+    private final GeradorIdentificadores geradorIdentificadores;
 
     /**
      * Lista todos os usuários
@@ -60,7 +62,7 @@ public class UsuarioService {
         }
 
         Usuario usuario = usuarioMapper.toEntity(request);
-        usuario.setId(UUID.randomUUID().toString());
+        usuario.setId(geradorIdentificadores.novoId());
         
         Usuario saved = usuarioRepository.save(usuario);
         return usuarioMapper.toResponse(saved);
@@ -86,6 +88,9 @@ public class UsuarioService {
 
         usuarioMapper.updateEntity(request, usuario);
         usuarioRepository.save(usuario);
+
+        // Sessões em cache guardam nome, e-mail e papel do usuário
+        sessaoService.invalidarSessoesDoUsuarioEmMemoria(id);
     }
 
     /**
@@ -107,6 +112,9 @@ public class UsuarioService {
 
         usuarioMapper.updateEntity(request, usuario);
         usuarioRepository.save(usuario);
+
+        // Sessões em cache guardam nome, e-mail e papel do usuário
+        sessaoService.invalidarSessoesDoUsuarioEmMemoria(id);
     }
 
     /**
@@ -119,6 +127,7 @@ public class UsuarioService {
         }
         
         usuarioRepository.deleteById(id);
+        sessaoService.invalidarSessoesDoUsuarioEmMemoria(id);
     }
 
     // Métodos auxiliares privados
@@ -5,4 +5,131 @@ CREATE TABLE IF NOT EXISTS persistent_logins (
     series VARCHAR(64) PRIMARY KEY,
     token VARCHAR(64) NOT NULL,
     last_used TIMESTAMP NOT NULL
-);
\ No newline at end of file
+);
+
+-- Efetivo por unidade (tabela efetivo_unidade, criada pelo Hibernate)
+-- Gatilhos por comando, com tabelas de transição: cada INSERT/UPDATE/DELETE em funcionario aplica de uma
+-- vez a diferença agregada por unidade, inclusive nos batches JDBC da importação e da exclusão da
+-- organização. As unidades são atualizadas em ordem de ID para que comandos concorrentes não se travem.
+CREATE OR REPLACE FUNCTION efetivo_unidade_incluir() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO efetivo_unidade AS e (unidade_id, organizacao_id, ativos, afastados, desligados, em_contratacao, atualizado_em)
+    SELECT unidade_id, min(organizacao_id),
+           count(*) FILTER (WHERE situacao = 'ATIVO'),
+           count(*) FILTER (WHERE situacao = 'AFASTADO'),
+           count(*) FILTER (WHERE situacao = 'DESLIGADO'),
+           count(*) FILTER (WHERE situacao = 'EM_CONTRATACAO'),
+           now()
+    FROM novos
+    GROUP BY unidade_id
+    ORDER BY unidade_id
+    ON CONFLICT (unidade_id) DO UPDATE SET
+        ativos = e.ativos + EXCLUDED.ativos,
+        afastados = e.afastados + EXCLUDED.afastados,
+        desligados = e.desligados + EXCLUDED.desligados,
+        em_contratacao = e.em_contratacao + EXCLUDED.em_contratacao,
+        atualizado_em = EXCLUDED.atualizado_em;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION efetivo_unidade_alterar() RETURNS trigger AS $$
+BEGIN
+    -- Só as linhas que mudaram de unidade ou de situação: -1 na origem, +1 no destino
+    INSERT INTO efetivo_unidade AS e (unidade_id, organizacao_id, ativos, afastados, desligados, em_contratacao, atualizado_em)
+    SELECT unidade_id, min(organizacao_id),
+           sum(CASE WHEN situacao = 'ATIVO' THEN delta ELSE 0 END),
+           sum(CASE WHEN situacao = 'AFASTADO' THEN delta ELSE 0 END),
+           sum(CASE WHEN situacao = 'DESLIGADO' THEN delta ELSE 0 END),
+           sum(CASE WHEN situacao = 'EM_CONTRATACAO' THEN delta ELSE 0 END),
+           now()
+    FROM (
+        SELECT a.unidade_id, a.organizacao_id, a.situacao, -1 AS delta
+        FROM antigos a JOIN novos n ON n.id = a.id
+        WHERE n.unidade_id <> a.unidade_id OR n.situacao <> a.situacao
+        UNION ALL
+        SELECT n.unidade_id, n.organizacao_id, n.situacao, 1
+        FROM antigos a JOIN novos n ON n.id = a.id
+        WHERE n.unidade_id <> a.unidade_id OR n.situacao <> a.situacao
+    ) mudancas
+    GROUP BY unidade_id
+    ORDER BY unidade_id
+    ON CONFLICT (unidade_id) DO UPDATE SET
+        ativos = e.ativos + EXCLUDED.ativos,
+        afastados = e.afastados + EXCLUDED.afastados,
+        desligados = e.desligados + EXCLUDED.desligados,
+        em_contratacao = e.em_contratacao + EXCLUDED.em_contratacao,
+        atualizado_em = EXCLUDED.atualizado_em;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION efetivo_unidade_excluir() RETURNS trigger AS $$
+BEGIN
+    UPDATE efetivo_unidade e SET
+        ativos = e.ativos - r.ativos,
+        afastados = e.afastados - r.afastados,
+        desligados = e.desligados - r.desligados,
+        em_contratacao = e.em_contratacao - r.em_contratacao,
+        atualizado_em = now()
+    FROM (
+        SELECT unidade_id,
+               count(*) FILTER (WHERE situacao = 'ATIVO') AS ativos,
+               count(*) FILTER (WHERE situacao = 'AFASTADO') AS afastados,
+               count(*) FILTER (WHERE situacao = 'DESLIGADO') AS desligados,
+               count(*) FILTER (WHERE situacao = 'EM_CONTRATACAO') AS em_contratacao
+        FROM antigos
+        GROUP BY unidade_id
+    ) r
+    WHERE e.unidade_id = r.unidade_id;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION efetivo_unidade_remover_unidade() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM efetivo_unidade WHERE unidade_id IN (SELECT id FROM antigas);
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_funcionario_efetivo_incluir ON funcionario;
+CREATE TRIGGER trg_funcionario_efetivo_incluir AFTER INSERT ON funcionario
+    REFERENCING NEW TABLE AS novos
+    FOR EACH STATEMENT EXECUTE FUNCTION efetivo_unidade_incluir();
+
+-- Tabelas de transição não aceitam UPDATE OF (colunas); a função filtra o que mudou
+DROP TRIGGER IF EXISTS trg_funcionario_efetivo_alterar ON funcionario;
+CREATE TRIGGER trg_funcionario_efetivo_alterar AFTER UPDATE ON funcionario
+    REFERENCING OLD TABLE AS antigos NEW TABLE AS novos
+    FOR EACH STATEMENT EXECUTE FUNCTION efetivo_unidade_alterar();
+
+DROP TRIGGER IF EXISTS trg_funcionario_efetivo_excluir ON funcionario;
+CREATE TRIGGER trg_funcionario_efetivo_excluir AFTER DELETE ON funcionario
+    REFERENCING OLD TABLE AS antigos
+    FOR EACH STATEMENT EXECUTE FUNCTION efetivo_unidade_excluir();
+
+DROP TRIGGER IF EXISTS trg_unidade_efetivo_remover ON unidade;
+CREATE TRIGGER trg_unidade_efetivo_remover AFTER DELETE ON unidade
+    REFERENCING OLD TABLE AS antigas
+    FOR EACH STATEMENT EXECUTE FUNCTION efetivo_unidade_remover_unidade();
+
+-- Recontagem completa na inicialização (corrige dados gravados antes da existência dos gatilhos)
+INSERT INTO efetivo_unidade AS e (unidade_id, organizacao_id, ativos, afastados, desligados, em_contratacao, atualizado_em)
+SELECT u.id, u.organizacao_id,
+       count(f.id) FILTER (WHERE f.situacao = 'ATIVO'),
+       count(f.id) FILTER (WHERE f.situacao = 'AFASTADO'),
+       count(f.id) FILTER (WHERE f.situacao = 'DESLIGADO'),
+       count(f.id) FILTER (WHERE f.situacao = 'EM_CONTRATACAO'),
+       now()
+FROM unidade u
+LEFT JOIN funcionario f ON f.unidade_id = u.id
+GROUP BY u.id, u.organizacao_id
+ON CONFLICT (unidade_id) DO UPDATE SET
+    ativos = EXCLUDED.ativos,
+    afastados = EXCLUDED.afastados,
+    desligados = EXCLUDED.desligados,
+    em_contratacao = EXCLUDED.em_contratacao,
+    atualizado_em = EXCLUDED.atualizado_em;
+
+DELETE FROM efetivo_unidade e WHERE NOT EXISTS (SELECT 1 FROM unidade u WHERE u.id = e.unidade_id);
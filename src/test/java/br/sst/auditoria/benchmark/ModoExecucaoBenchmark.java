@@ -0,0 +1,156 @@
+package br.sst.auditoria.benchmark;
+
+import br.sst.auditoria.model.Sessao;
+import br.sst.auditoria.model.Usuario;
+import br.sst.auditoria.repository.SessaoRepository;
+import br.sst.auditoria.repository.UsuarioRepository;
+import br.sst.auditoria.service.SessaoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara vazão e latência (p50/p99) entre o modo de threads de plataforma e o modo virtual threads
+ * sob a mesma carga: clientes concorrentes chamando um endpoint autenticado que consulta o banco
+ * (cache de sessões desligado, para que toda requisição use JDBC).
+ *
+ * Executar com ./gradlew benchmark (fora da suíte padrão). Os resultados são impressos no console.
+ */
+@Tag("benchmark")
+abstract class ModoExecucaoBenchmark {
+
+	private static final int CLIENTES = 400;
+	private static final Duration AQUECIMENTO = Duration.ofSeconds(5);
+	private static final Duration MEDICAO = Duration.ofSeconds(20);
+
+	@Value("${local.server.port}")
+	private int porta;
+
+	@Autowired
+	private SessaoService sessaoService;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private SessaoRepository sessaoRepository;
+
+	private Usuario usuario;
+	private Sessao sessao;
+
+	@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+			properties = {"spring.threads.virtual.enabled=false", "session.cache.max-size=0", "spring.jpa.show-sql=false"})
+	static class ThreadsDePlataforma extends ModoExecucaoBenchmark {
+	}
+
+	@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+			properties = {"spring.threads.virtual.enabled=true", "session.cache.max-size=0", "spring.jpa.show-sql=false"})
+	static class VirtualThreads extends ModoExecucaoBenchmark {
+	}
+
+	@BeforeEach
+	void setUp() {
+		String sufixo = UUID.randomUUID().toString().substring(0, 8);
+		usuario = usuarioRepository.save(Usuario.builder()
+				.id(UUID.randomUUID().toString())
+				.nome("Usuário Benchmark")
+				.email("benchmark-" + sufixo + "@teste.com")
+				.cpf("bench-" + sufixo)
+				.emailVerificado(true)
+				.build());
+		sessao = sessaoService.criarSessao(usuario, "127.0.0.1", "Benchmark");
+	}
+
+	@AfterEach
+	void tearDown() {
+		sessaoRepository.deleteById(sessao.getId());
+		usuarioRepository.deleteById(usuario.getId());
+	}
+
+	@Test
+	void cargaAutenticadaComConsultaAoBanco() throws Exception {
+		HttpClient client = HttpClient.newBuilder()
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/auth/sessoes"))
+				.header("Authorization", "Bearer " + sessao.getToken())
+				.GET()
+				.build();
+
+		executar(client, request, AQUECIMENTO);
+		Resultado resultado = executar(client, request, MEDICAO);
+
+		System.out.printf("[%s] clientes=%d req/s=%.0f p50=%.1fms p99=%.1fms erros=%d%n",
+				getClass().getSimpleName(), CLIENTES,
+				resultado.latencias().length / (double) MEDICAO.toSeconds(),
+				resultado.percentil(0.50), resultado.percentil(0.99), resultado.erros());
+
+		assertThat(resultado.latencias()).isNotEmpty();
+	}
+
+	private Resultado executar(HttpClient client, HttpRequest request, Duration duracao) throws Exception {
+		long fim = System.nanoTime() + duracao.toNanos();
+		LongAdder erros = new LongAdder();
+		List<Future<long[]>> clientes = new ArrayList<>(CLIENTES);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < CLIENTES; i++) {
+				clientes.add(executor.submit(() -> {
+					long[] latencias = new long[1024];
+					int total = 0;
+					while (System.nanoTime() < fim) {
+						long inicio = System.nanoTime();
+						HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+						if (response.statusCode() != 200) {
+							erros.increment();
+							continue;
+						}
+						if (total == latencias.length) {
+							latencias = Arrays.copyOf(latencias, total * 2);
+						}
+						latencias[total++] = System.nanoTime() - inicio;
+					}
+					return Arrays.copyOf(latencias, total);
+				}));
+			}
+		}
+
+		List<long[]> porCliente = new ArrayList<>(CLIENTES);
+		for (Future<long[]> cliente : clientes) {
+			porCliente.add(cliente.get());
+		}
+		long[] todas = porCliente.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+		return new Resultado(todas, erros.sum());
+	}
+
+	private record Resultado(long[] latencias, long erros) {
+
+		double percentil(double p) {
+			if (latencias.length == 0) {
+				return 0;
+			}
+			int indice = (int) Math.ceil(p * latencias.length) - 1;
+			return latencias[Math.max(0, indice)] / 1_000_000.0;
+		}
+	}
+}
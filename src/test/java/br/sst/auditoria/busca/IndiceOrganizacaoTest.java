@@ -0,0 +1,76 @@
+package br.sst.auditoria.busca;
+
+import br.sst.auditoria.model.enums.SituacaoFuncionario;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceOrganizacaoTest {
+
+	private static final LocalDateTime ONTEM = LocalDateTime.now().minusDays(1);
+
+	private final IndiceOrganizacao indice = IndiceOrganizacao.construir(List.of(
+			entrada("1", "José da Conceição", "52998224725", "A-001", ONTEM),
+			entrada("2", "Maria Joséfa Silva", "11144477735", "000123", ONTEM),
+			entrada("3", "Ana Maria Souza", "39053344705", null, ONTEM),
+			entrada("4", "Dalva Rocha", "12345678909", "000124", ONTEM)));
+
+	@Test
+	void buscaNomeSemAcentoEmQualquerParte() {
+		assertThat(ids(indice.buscar("jose conc", 10))).containsExactly("1");
+		assertThat(ids(indice.buscar("JOSE", 10))).containsExactly("1", "2");
+		assertThat(ids(indice.buscar("maria", 10))).containsExactly("3", "2");
+	}
+
+	@Test
+	void termosCurtosIniciamPalavra() {
+		assertThat(ids(indice.buscar("da", 10))).containsExactly("4", "1");
+		assertThat(ids(indice.buscar("m s", 10))).containsExactly("3", "2");
+	}
+
+	@Test
+	void buscaPrefixoDeCpfEMatricula() {
+		assertThat(ids(indice.buscar("111.444", 10))).containsExactly("2");
+		assertThat(ids(indice.buscar("00012", 10))).containsExactly("2", "4");
+		assertThat(ids(indice.buscar("a001", 10))).containsExactly("1");
+	}
+
+	@Test
+	void respeitaLimite() {
+		assertThat(indice.buscar("a", 2)).hasSize(2);
+	}
+
+	@Test
+	void aplicaAlteracoesIncrementais() {
+		LocalDateTime agora = LocalDateTime.now();
+		IndiceOrganizacao alterado = indice.aplicar(List.of(
+				entrada("1", "José Pereira", "52998224725", "A-001", agora),
+				entrada("5", "Mariana Costa", "98765432100", "000125", agora)));
+
+		assertThat(ids(alterado.buscar("conceicao", 10))).isEmpty();
+		assertThat(ids(alterado.buscar("jose", 10))).containsExactly("1", "2");
+		assertThat(ids(alterado.buscar("mari", 10))).containsExactly("3", "2", "5");
+		assertThat(ids(alterado.buscar("00012", 10))).containsExactly("2", "4", "5");
+		assertThat(alterado.tamanho()).isEqualTo(5);
+		assertThat(alterado.marca()).isEqualTo(agora);
+
+		// Reaplicar a mesma versão (ou uma mais antiga) não altera o índice
+		assertThat(alterado.aplicar(List.of(entrada("1", "José da Conceição", "52998224725", "A-001", ONTEM))))
+				.isSameAs(alterado);
+
+		// O índice original continua valendo para quem já o tinha
+		assertThat(ids(indice.buscar("conceicao", 10))).containsExactly("1");
+	}
+
+	private static EntradaFuncionario entrada(String id, String nome, String cpf, String matricula,
+											  LocalDateTime atualizadoEm) {
+		return EntradaFuncionario.de(id, nome, cpf, matricula, SituacaoFuncionario.ATIVO, atualizadoEm);
+	}
+
+	private static List<String> ids(List<EntradaFuncionario> entradas) {
+		return entradas.stream().map(EntradaFuncionario::id).toList();
+	}
+}
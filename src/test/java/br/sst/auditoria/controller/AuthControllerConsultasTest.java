@@ -0,0 +1,81 @@
+package br.sst.auditoria.controller;
+
+import br.sst.auditoria.model.Sessao;
+import br.sst.auditoria.model.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Orçamento de consultas dos endpoints de {@link AuthController}
+ */
+class AuthControllerConsultasTest extends OrcamentoConsultasSuporte {
+
+	private static final String BASE = "/api/auth";
+
+	@Test
+	void login() throws Exception {
+		dentroDoOrcamento(5, null, post(BASE + "/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\": \"" + proprietario.getEmail() + "\", \"password\": \"" + SENHA + "\"}"));
+	}
+
+	@Test
+	void cadastrar() throws Exception {
+		String sufixo = sufixo();
+		String email = "cadastro-" + sufixo + "@teste.com";
+
+		dentroDoOrcamento(8, null, post(BASE + "/cadastrar")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\": \"Cadastro\", \"email\": \"" + email + "\", \"cpf\": \"cad-" + sufixo + "\", "
+						+ "\"senha\": \"" + SENHA + "\", \"confirmarSenha\": \"" + SENHA + "\"}"));
+
+		removerAoFinal(usuarioRepository.findByEmail(email).orElseThrow());
+	}
+
+	@Test
+	void logout() throws Exception {
+		dentroDoOrcamento(4, novaSessao(proprietario), post(BASE + "/logout"));
+	}
+
+	@Test
+	void logoutTodosDispositivos() throws Exception {
+		Usuario usuario = novoUsuario("logout");
+		String token = novaSessao(usuario);
+		for (int i = 1; i < SESSOES; i++) {
+			novaSessao(usuario);
+		}
+
+		dentroDoOrcamento(3, token, post(BASE + "/logout-todos-dispositivos"));
+	}
+
+	@Test
+	void pegarUsuarioLogado() throws Exception {
+		dentroDoOrcamento(1, tokenProprietario, get(BASE + "/pegar-usuario-logado"));
+	}
+
+	@Test
+	void listarSessoesComOrganizacaoAtiva() throws Exception {
+		dentroDoOrcamento(2, tokenProprietario, get(BASE + "/sessoes"));
+	}
+
+	@Test
+	void revogarSessao() throws Exception {
+		Sessao sessao = sessaoService.criarSessao(proprietario, "127.0.0.1", "Orcamento");
+
+		dentroDoOrcamento(5, tokenProprietario, delete(BASE + "/sessoes/" + sessao.getId()));
+	}
+
+	@Test
+	void alterarSenha() throws Exception {
+		Usuario usuario = novoUsuarioComSenha("senha", "user");
+
+		dentroDoOrcamento(5, novaSessao(usuario), post(BASE + "/alterar-senha")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"senhaAtual\": \"" + SENHA + "\", \"novaSenha\": \"nova-" + SENHA + "\", "
+						+ "\"confirmarNovaSenha\": \"nova-" + SENHA + "\"}"));
+	}
+}
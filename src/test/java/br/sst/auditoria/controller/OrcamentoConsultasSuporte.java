@@ -0,0 +1,320 @@
+package br.sst.auditoria.controller;
+
+import br.sst.auditoria.invalidacao.EventoInvalidacao;
+import br.sst.auditoria.model.Conta;
+import br.sst.auditoria.model.Convite;
+import br.sst.auditoria.model.Membro;
+import br.sst.auditoria.model.Organizacao;
+import br.sst.auditoria.model.PapelOrganizacao;
+import br.sst.auditoria.model.Sessao;
+import br.sst.auditoria.model.Usuario;
+import br.sst.auditoria.model.enums.Papel;
+import br.sst.auditoria.repository.ContaRepository;
+import br.sst.auditoria.repository.ConviteRepository;
+import br.sst.auditoria.repository.MembroRepository;
+import br.sst.auditoria.repository.OrganizacaoRepository;
+import br.sst.auditoria.repository.PapelOrganizacaoRepository;
+import br.sst.auditoria.repository.SessaoRepository;
+import br.sst.auditoria.repository.UsuarioRepository;
+import br.sst.auditoria.service.SessaoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+/**
+ * Base dos testes de orçamento de consultas: cada endpoint é chamado contra uma massa de dados realista
+ * e falha se emitir mais comandos JDBC do que o orçamento declarado no teste.
+ *
+ * Os caches (sessões, vínculos, permissões) são esvaziados antes de cada requisição medida, então o
+ * orçamento cobre o pior caso, incluindo a consulta de autenticação. Listagens são medidas com coleções
+ * bem maiores que o orçamento, de modo que um N+1 em mappers ou DTOs sempre estoura o limite.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(RegistroComandosJdbc.Configuracao.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class OrcamentoConsultasSuporte {
+
+	protected static final int ORGANIZACOES = 5;
+	protected static final int MEMBROS = 50;
+	protected static final int CONVITES = 30;
+	protected static final int PAPEIS = 10;
+	protected static final int SESSOES = 10;
+	protected static final String SENHA = "senha-orcamento";
+	protected static final String PAPEL_DINAMICO = "auditor-externo";
+	protected static final String PERMISSAO_DINAMICA = "{\"member\": [\"read\"], \"invitation\": [\"read\", \"create\"]}";
+
+	private static final AtomicInteger SEQUENCIA = new AtomicInteger();
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	protected SessaoService sessaoService;
+
+	@Autowired
+	protected UsuarioRepository usuarioRepository;
+
+	@Autowired
+	protected ContaRepository contaRepository;
+
+	@Autowired
+	protected OrganizacaoRepository organizacaoRepository;
+
+	@Autowired
+	protected MembroRepository membroRepository;
+
+	@Autowired
+	protected ConviteRepository conviteRepository;
+
+	@Autowired
+	protected PapelOrganizacaoRepository papelOrganizacaoRepository;
+
+	@Autowired
+	protected SessaoRepository sessaoRepository;
+
+	private MockMvc mockMvc;
+	private Statistics statistics;
+	private final String sufixo = UUID.randomUUID().toString().substring(0, 8);
+	private final List<String> usuariosCriados = new ArrayList<>();
+	private final List<String> organizacoesCriadas = new ArrayList<>();
+
+	/** Proprietário de todas as organizações, com papel global admin */
+	protected Usuario proprietario;
+	protected String tokenProprietario;
+	protected List<Sessao> sessoesProprietario;
+
+	protected List<Organizacao> organizacoes;
+	protected Organizacao organizacao;
+	protected List<Membro> membros;
+	protected List<PapelOrganizacao> papeis;
+	protected List<Convite> convites;
+
+	/** Membro com papel dinâmico em todas as organizações */
+	protected Usuario auditor;
+	protected String tokenAuditor;
+
+	/** Usuário com convite pendente em todas as organizações */
+	protected Usuario convidado;
+	protected String tokenConvidado;
+	protected List<Convite> convitesDoConvidado;
+
+	@BeforeAll
+	void prepararMassaDeDados() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		proprietario = novoUsuarioComSenha("proprietario", "admin");
+		organizacoes = new ArrayList<>();
+		for (int i = 0; i < ORGANIZACOES; i++) {
+			organizacoes.add(novaOrganizacao(proprietario));
+		}
+		organizacao = organizacoes.getFirst();
+
+		List<Membro> novosMembros = new ArrayList<>();
+		for (int i = 0; i < MEMBROS; i++) {
+			novosMembros.add(membro(organizacao, novoUsuario("membro"), Papel.MEMBRO.name()));
+		}
+		membros = membroRepository.saveAll(novosMembros);
+
+		List<PapelOrganizacao> novosPapeis = new ArrayList<>();
+		for (int i = 0; i < PAPEIS; i++) {
+			novosPapeis.add(papel(organizacao, "papel-" + i));
+		}
+		organizacoes.forEach(o -> novosPapeis.add(papel(o, PAPEL_DINAMICO)));
+		papeis = papelOrganizacaoRepository.saveAll(novosPapeis);
+
+		auditor = novoUsuarioComSenha("auditor", "user");
+		membroRepository.saveAll(organizacoes.stream().map(o -> membro(o, auditor, PAPEL_DINAMICO)).toList());
+		tokenAuditor = novaSessao(auditor);
+
+		List<Convite> novosConvites = new ArrayList<>();
+		for (int i = 0; i < CONVITES; i++) {
+			novosConvites.add(convite(organizacao, "convite-" + SEQUENCIA.incrementAndGet() + "-" + sufixo + "@teste.com"));
+		}
+		convites = conviteRepository.saveAll(novosConvites);
+
+		convidado = novoUsuarioComSenha("convidado", "user");
+		convitesDoConvidado = conviteRepository.saveAll(
+				organizacoes.stream().map(o -> convite(o, convidado.getEmail())).toList());
+		tokenConvidado = novaSessao(convidado);
+
+		sessoesProprietario = new ArrayList<>();
+		for (int i = 0; i < SESSOES; i++) {
+			Sessao sessao = sessaoService.criarSessao(proprietario, "10.0.0." + i, "Orcamento");
+			sessao.setOrganizacaoAtiva(organizacoes.get(i % ORGANIZACOES));
+			sessoesProprietario.add(sessaoRepository.save(sessao));
+		}
+		tokenProprietario = sessaoService.emitirTokenCliente(sessoesProprietario.getFirst());
+	}
+
+	@AfterAll
+	void removerMassaDeDados() {
+		// Usuários primeiro: as sessões removidas em cascata referenciam a organização ativa
+		usuarioRepository.deleteAllById(usuariosCriados);
+		organizacaoRepository.deleteAllById(organizacoesCriadas);
+	}
+
+	/**
+	 * Executa a requisição com caches frios e verifica o status 2xx e o número de comandos JDBC emitidos
+	 */
+	protected MvcResult dentroDoOrcamento(int orcamento, String token, MockHttpServletRequestBuilder requisicao)
+			throws Exception {
+		if (token != null) {
+			requisicao.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		}
+		eventPublisher.publishEvent(EventoInvalidacao.tudo());
+		statistics.clear();
+
+		MvcResult resultado;
+		List<String> comandos;
+		RegistroComandosJdbc.iniciar();
+		try {
+			resultado = mockMvc.perform(requisicao).andReturn();
+		} finally {
+			comandos = RegistroComandosJdbc.encerrar();
+		}
+
+		String descricao = resultado.getRequest().getMethod() + " " + resultado.getRequest().getRequestURI();
+		assertThat(resultado.getResponse().getStatus())
+				.as("%s respondeu %s", descricao, resultado.getResponse().getContentAsString())
+				.isBetween(200, 299);
+		assertThat(comandos)
+				.as("%s emitiu %d comandos (orçamento %d; entidades carregadas %d, coleções %d):%n%s",
+						descricao, comandos.size(), orcamento,
+						statistics.getEntityLoadCount(), statistics.getCollectionFetchCount(),
+						String.join(System.lineSeparator(), comandos))
+				.hasSizeLessThanOrEqualTo(orcamento);
+		return resultado;
+	}
+
+	/**
+	 * Executa a requisição sem medir comandos, para verificar respostas de erro
+	 */
+	protected MvcResult executar(String token, MockHttpServletRequestBuilder requisicao) throws Exception {
+		if (token != null) {
+			requisicao.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		}
+		return mockMvc.perform(requisicao).andReturn();
+	}
+
+	// Massa de dados
+
+	protected Usuario novoUsuario(String prefixo) {
+		int numero = SEQUENCIA.incrementAndGet();
+		Usuario usuario = usuarioRepository.save(Usuario.builder()
+				.id(UUID.randomUUID().toString())
+				.nome("Usuário " + prefixo + " " + numero)
+				.email(prefixo + "-" + numero + "-" + sufixo + "@teste.com")
+				.cpf("orc-" + numero + "-" + sufixo)
+				.emailVerificado(true)
+				.build());
+		usuariosCriados.add(usuario.getId());
+		return usuario;
+	}
+
+	protected Usuario novoUsuarioComSenha(String prefixo, String papelGlobal) {
+		Usuario usuario = novoUsuario(prefixo);
+		usuario.setPapel(papelGlobal);
+		usuario = usuarioRepository.save(usuario);
+		contaRepository.save(Conta.builder()
+				.id(UUID.randomUUID().toString())
+				.contaId(usuario.getId())
+				.provedorId("credentials")
+				.senha(passwordEncoder.encode(SENHA))
+				.usuario(usuario)
+				.build());
+		return usuario;
+	}
+
+	protected String novaSessao(Usuario usuario) {
+		return sessaoService.emitirTokenCliente(sessaoService.criarSessao(usuario, "127.0.0.1", "Orcamento"));
+	}
+
+	protected Organizacao novaOrganizacao(Usuario dono) {
+		int numero = SEQUENCIA.incrementAndGet();
+		Organizacao nova = organizacaoRepository.save(Organizacao.builder()
+				.id(UUID.randomUUID().toString())
+				.nome("Organização " + numero)
+				.slug("orc-" + numero + "-" + sufixo)
+				.build());
+		organizacoesCriadas.add(nova.getId());
+		membroRepository.save(membro(nova, dono, Papel.PROPRIETARIO.name()));
+		return nova;
+	}
+
+	protected Membro membro(Organizacao organizacaoDoMembro, Usuario usuario, String papel) {
+		return Membro.builder()
+				.id(UUID.randomUUID().toString())
+				.organizacao(organizacaoDoMembro)
+				.usuario(usuario)
+				.papel(papel)
+				.build();
+	}
+
+	protected Convite convite(Organizacao organizacaoDoConvite, String email) {
+		return Convite.builder()
+				.id(UUID.randomUUID().toString())
+				.email(email)
+				.papel(Papel.MEMBRO.name())
+				.status("PENDENTE")
+				.expiraEm(LocalDateTime.now().plusDays(2))
+				.organizacao(organizacaoDoConvite)
+				.convidador(proprietario)
+				.build();
+	}
+
+	protected PapelOrganizacao papel(Organizacao organizacaoDoPapel, String nome) {
+		return PapelOrganizacao.builder()
+				.organizacao(organizacaoDoPapel)
+				.papel(nome)
+				.permissao(PERMISSAO_DINAMICA)
+				.build();
+	}
+
+	/**
+	 * Registra para remoção ao final dados criados pelos próprios endpoints medidos
+	 */
+	protected void removerAoFinal(Usuario usuario) {
+		usuariosCriados.add(usuario.getId());
+	}
+
+	protected void removerAoFinal(Organizacao criada) {
+		organizacoesCriadas.add(criada.getId());
+	}
+
+	protected String sufixo() {
+		return sufixo + "-" + SEQUENCIA.incrementAndGet();
+	}
+}
@@ -0,0 +1,312 @@
+package br.sst.auditoria.controller;
+
+import br.sst.auditoria.model.Convite;
+import br.sst.auditoria.model.Membro;
+import br.sst.auditoria.model.Organizacao;
+import br.sst.auditoria.model.PapelOrganizacao;
+import br.sst.auditoria.model.Usuario;
+import br.sst.auditoria.model.enums.Papel;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.StringJoiner;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Orçamento de consultas dos endpoints de {@link OrganizacaoController}.
+ *
+ * Inserções com ID atribuído (organização, membro, convite) passam pelo merge do JPA e custam um SELECT
+ * e um INSERT cada.
+ */
+class OrganizacaoControllerConsultasTest extends OrcamentoConsultasSuporte {
+
+	private static final String BASE = "/api/organizacao";
+
+	// ========================================================================
+	// ORGANIZAÇÃO
+	// ========================================================================
+
+	@Test
+	void criarOrganizacao() throws Exception {
+		String slug = "orc-nova-" + sufixo();
+
+		dentroDoOrcamento(9, tokenProprietario, post(BASE)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\": \"Nova\", \"slug\": \"" + slug + "\"}"));
+
+		removerAoFinal(organizacaoRepository.findBySlug(slug).orElseThrow());
+	}
+
+	@Test
+	void listarOrganizacoes() throws Exception {
+		dentroDoOrcamento(3, tokenProprietario, get(BASE));
+	}
+
+	@Test
+	void listarOrganizacoesPorCursor() throws Exception {
+		dentroDoOrcamento(3, tokenProprietario, get(BASE).param("cursor", "").param("total", "true"));
+	}
+
+	@Test
+	void verificarSlug() throws Exception {
+		dentroDoOrcamento(2, tokenProprietario, get(BASE + "/verificar-slug").param("slug", "livre-" + sufixo()));
+	}
+
+	@Test
+	void verificarSlugEmUsoComSugestoes() throws Exception {
+		dentroDoOrcamento(2, tokenProprietario, get(BASE + "/verificar-slug").param("slug", organizacao.getSlug()));
+	}
+
+	@Test
+	void definirOrganizacaoAtivaPorSlug() throws Exception {
+		dentroDoOrcamento(5, tokenProprietario, post(BASE + "/ativar")
+				.param("organizacaoSlug", organizacoes.get(1).getSlug())
+				.param("sessaoId", sessoesProprietario.get(1).getId()));
+	}
+
+	@Test
+	void definirOrganizacaoAtiva() throws Exception {
+		dentroDoOrcamento(5, tokenProprietario, post(BASE + "/ativar")
+				.param("organizacaoId", organizacoes.get(1).getId())
+				.param("sessaoId", sessoesProprietario.get(1).getId()));
+	}
+
+	@Test
+	void obterOrganizacao() throws Exception {
+		dentroDoOrcamento(5, tokenProprietario, get(BASE + "/" + organizacao.getId()));
+	}
+
+	@Test
+	void obterOrganizacaoCompleta() throws Exception {
+		dentroDoOrcamento(7, tokenProprietario, get(BASE + "/" + organizacao.getId() + "/completa"));
+	}
+
+	@Test
+	void atualizarOrganizacao() throws Exception {
+		Organizacao alvo = novaOrganizacao(proprietario);
+
+		dentroDoOrcamento(6, tokenProprietario, put(BASE + "/" + alvo.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\": \"Renomeada\"}"));
+	}
+
+	@Test
+	void deletarOrganizacao() throws Exception {
+		// Só revoga o acesso e registra a exclusão; os dados são removidos em segundo plano
+		Organizacao alvo = novaOrganizacao(proprietario);
+
+		dentroDoOrcamento(13, tokenProprietario, delete(BASE + "/" + alvo.getId()));
+	}
+
+	@Test
+	void obterExclusao() throws Exception {
+		Organizacao alvo = novaOrganizacao(proprietario);
+		dentroDoOrcamento(13, tokenProprietario, delete(BASE + "/" + alvo.getId()));
+
+		dentroDoOrcamento(2, tokenProprietario, get(BASE + "/" + alvo.getId() + "/exclusao"));
+	}
+
+	// ========================================================================
+	// CONVITES
+	// ========================================================================
+
+	@Test
+	void convidarMembro() throws Exception {
+		dentroDoOrcamento(9, tokenProprietario, post(BASE + "/" + organizacao.getId() + "/convites")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\": \"novo-" + sufixo() + "@teste.com\", \"papel\": \"MEMBRO\"}"));
+	}
+
+	@Test
+	void listarConvites() throws Exception {
+		dentroDoOrcamento(3, tokenProprietario, get(BASE + "/" + organizacao.getId() + "/convites"));
+	}
+
+	@Test
+	void listarConvitesPorCursor() throws Exception {
+		dentroDoOrcamento(4, tokenProprietario, get(BASE + "/" + organizacao.getId() + "/convites")
+				.param("cursor", "").param("total", "true"));
+	}
+
+	@Test
+	void listarMeusConvites() throws Exception {
+		dentroDoOrcamento(3, tokenConvidado, get(BASE + "/meus-convites"));
+	}
+
+	@Test
+	void obterConvite() throws Exception {
+		dentroDoOrcamento(4, tokenProprietario, get(BASE + "/convites/" + convites.getFirst().getId()));
+	}
+
+	@Test
+	void aceitarConvite() throws Exception {
+		Usuario usuario = novoUsuario("aceite");
+		Convite convite = conviteRepository.save(convite(organizacao, usuario.getEmail()));
+
+		dentroDoOrcamento(8, novaSessao(usuario), post(BASE + "/convites/" + convite.getId() + "/aceitar"));
+	}
+
+	@Test
+	void cancelarConvite() throws Exception {
+		Convite convite = conviteRepository.save(convite(organizacao, "cancelado-" + sufixo() + "@teste.com"));
+
+		dentroDoOrcamento(5, tokenProprietario, post(BASE + "/convites/" + convite.getId() + "/cancelar"));
+	}
+
+	@Test
+	void rejeitarConvite() throws Exception {
+		Usuario usuario = novoUsuario("rejeite");
+		Convite convite = conviteRepository.save(convite(organizacao, usuario.getEmail()));
+
+		dentroDoOrcamento(5, novaSessao(usuario), post(BASE + "/convites/" + convite.getId() + "/rejeitar"));
+	}
+
+	// ========================================================================
+	// MEMBROS
+	// ========================================================================
+
+	@Test
+	void listarMembros() throws Exception {
+		dentroDoOrcamento(4, tokenProprietario, get(BASE + "/" + organizacao.getId() + "/membros")
+				.param("size", String.valueOf(MEMBROS)));
+	}
+
+	@Test
+	void listarMembrosPorCursor() throws Exception {
+		dentroDoOrcamento(4, tokenProprietario, get(BASE + "/" + organizacao.getId() + "/membros")
+				.param("cursor", "").param("limite", String.valueOf(MEMBROS)).param("total", "true"));
+	}
+
+	@Test
+	void adicionarMembro() throws Exception {
+		Usuario usuario = novoUsuario("adicionado");
+
+		dentroDoOrcamento(8, tokenProprietario, post(BASE + "/" + organizacao.getId() + "/membros")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"usuarioId\": \"" + usuario.getId() + "\", \"papel\": \"MEMBRO\"}"));
+	}
+
+	@Test
+	void adicionarMembrosEmLote() throws Exception {
+		// Usuários e vínculos em uma consulta cada, o bloqueio da organização e um único batch de INSERT,
+		// independentemente do tamanho do lote
+		StringJoiner membrosLote = new StringJoiner(", ", "{\"membros\": [", "]}");
+		for (int i = 0; i < 10; i++) {
+			membrosLote.add("{\"email\": \"" + novoUsuario("lote").getEmail() + "\", \"papel\": \"MEMBRO\"}");
+		}
+		membrosLote.add("{\"usuarioId\": \"" + membros.getFirst().getUsuario().getId() + "\", \"papel\": \"MEMBRO\"}");
+		membrosLote.add("{\"email\": \"inexistente-" + sufixo() + "@teste.com\", \"papel\": \"MEMBRO\"}");
+
+		dentroDoOrcamento(8, tokenProprietario, post(BASE + "/" + organizacao.getId() + "/membros/lote")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(membrosLote.toString()));
+	}
+
+	@Test
+	void removerMembro() throws Exception {
+		Membro membro = membroRepository.save(membro(organizacao, novoUsuario("removido"), Papel.MEMBRO.name()));
+
+		dentroDoOrcamento(5, tokenProprietario, delete(BASE + "/" + organizacao.getId() + "/membros/" + membro.getId()));
+	}
+
+	@Test
+	void atualizarPapelMembro() throws Exception {
+		Membro membro = membroRepository.save(membro(organizacao, novoUsuario("promovido"), Papel.MEMBRO.name()));
+
+		dentroDoOrcamento(6, tokenProprietario, put(BASE + "/" + organizacao.getId() + "/membros/papel")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"membroId\": \"" + membro.getId() + "\", \"papel\": \"ADMINISTRADOR\"}"));
+	}
+
+	@Test
+	void obterMembroAtivo() throws Exception {
+		dentroDoOrcamento(4, tokenProprietario, get(BASE + "/membro-ativo").param("organizacaoId", organizacao.getId()));
+	}
+
+	@Test
+	void obterPapelMembroAtivo() throws Exception {
+		dentroDoOrcamento(2, tokenProprietario, get(BASE + "/membro-ativo/papel")
+				.param("organizacaoId", organizacao.getId()));
+	}
+
+	@Test
+	void sairDaOrganizacao() throws Exception {
+		Usuario usuario = novoUsuario("saida");
+		membroRepository.save(membro(organizacao, usuario, Papel.MEMBRO.name()));
+
+		dentroDoOrcamento(4, novaSessao(usuario), post(BASE + "/" + organizacao.getId() + "/sair"));
+	}
+
+	// ========================================================================
+	// PAPÉIS DINÂMICOS
+	// ========================================================================
+
+	@Test
+	void criarPapel() throws Exception {
+		dentroDoOrcamento(7, tokenProprietario, post(BASE + "/" + organizacao.getId() + "/papeis")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"papel\": \"novo-" + sufixo() + "\", \"permissao\": \"{\\\"member\\\": [\\\"read\\\"]}\"}"));
+	}
+
+	@Test
+	void listarPapeis() throws Exception {
+		dentroDoOrcamento(3, tokenProprietario, get(BASE + "/" + organizacao.getId() + "/papeis"));
+	}
+
+	@Test
+	void listarPapeisPorCursor() throws Exception {
+		dentroDoOrcamento(4, tokenProprietario, get(BASE + "/" + organizacao.getId() + "/papeis")
+				.param("cursor", "").param("total", "true"));
+	}
+
+	@Test
+	void obterPapel() throws Exception {
+		dentroDoOrcamento(4, tokenProprietario, get(BASE + "/" + organizacao.getId() + "/papeis/" + papeis.getFirst().getId()));
+	}
+
+	@Test
+	void atualizarPapel() throws Exception {
+		PapelOrganizacao papel = papelOrganizacaoRepository.save(papel(organizacao, "alterado-" + sufixo()));
+
+		dentroDoOrcamento(5, tokenProprietario, put(BASE + "/" + organizacao.getId() + "/papeis/" + papel.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"permissao\": \"{\\\"member\\\": [\\\"read\\\", \\\"update\\\"]}\"}"));
+	}
+
+	@Test
+	void deletarPapel() throws Exception {
+		PapelOrganizacao papel = papelOrganizacaoRepository.save(papel(organizacao, "removido-" + sufixo()));
+
+		dentroDoOrcamento(5, tokenProprietario, delete(BASE + "/" + organizacao.getId() + "/papeis/" + papel.getId()));
+	}
+
+	// ========================================================================
+	// PERMISSÕES
+	// ========================================================================
+
+	@Test
+	void verificarPermissaoComPapelDinamico() throws Exception {
+		dentroDoOrcamento(3, tokenAuditor, post(BASE + "/verificar-permissao")
+				.param("organizacaoId", organizacao.getId())
+				.param("recurso", "invitation")
+				.param("acao", "create"));
+	}
+
+	@Test
+	void verificarPermissoesEmTodasAsOrganizacoes() throws Exception {
+		StringJoiner verificacoes = new StringJoiner(", ", "{\"verificacoes\": [", "]}");
+		for (Organizacao alvo : organizacoes) {
+			for (String acao : new String[]{"read", "create", "update", "delete"}) {
+				verificacoes.add("{\"organizacaoId\": \"" + alvo.getId() + "\", \"recurso\": \"invitation\", \"acao\": \"" + acao + "\"}");
+			}
+		}
+
+		dentroDoOrcamento(3, tokenAuditor, post(BASE + "/verificar-permissoes")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(verificacoes.toString()));
+	}
+}
@@ -0,0 +1,89 @@
+package br.sst.auditoria.controller;
+
+import br.sst.auditoria.model.Membro;
+import br.sst.auditoria.model.Usuario;
+import br.sst.auditoria.model.enums.Papel;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Permissões da adição de membros em lote: quem não é proprietário ou administrador não adiciona ninguém e
+ * nenhum papel além dos padrões e dos papéis dinâmicos da organização é concedido.
+ */
+class OrganizacaoControllerPermissoesTest extends OrcamentoConsultasSuporte {
+
+	private static final String BASE = "/api/organizacao";
+
+	@Test
+	void naoMembroNaoAdicionaMembrosEmLote() throws Exception {
+		Usuario intruso = novoUsuario("intruso");
+
+		MvcResult resultado = adicionarASiMesmo(intruso, Papel.PROPRIETARIO.name());
+
+		assertThat(resultado.getResponse().getStatus()).isEqualTo(401);
+		assertThat(membroRepository.existsByOrganizacaoIdAndUsuarioId(organizacao.getId(), intruso.getId())).isFalse();
+	}
+
+	@Test
+	void membroNaoAdicionaMembrosEmLote() throws Exception {
+		Usuario membro = membros.getFirst().getUsuario();
+		Usuario outro = novoUsuario("outro");
+
+		MvcResult resultado = executar(novaSessao(membro), post(BASE + "/" + organizacao.getId() + "/membros/lote")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"membros\": [{\"usuarioId\": \"" + outro.getId() + "\", \"papel\": \"MEMBRO\"}]}"));
+
+		assertThat(resultado.getResponse().getStatus()).isEqualTo(401);
+		assertThat(membroRepository.existsByOrganizacaoIdAndUsuarioId(organizacao.getId(), outro.getId())).isFalse();
+	}
+
+	@Test
+	void administradorNaoConcedeProprietario() throws Exception {
+		Usuario administrador = novoUsuario("administrador");
+		membroRepository.save(membro(organizacao, administrador, Papel.ADMINISTRADOR.name()));
+		Usuario outro = novoUsuario("outro");
+
+		MvcResult resultado = executar(novaSessao(administrador), post(BASE + "/" + organizacao.getId() + "/membros/lote")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"membros\": [{\"usuarioId\": \"" + outro.getId() + "\", \"papel\": \"PROPRIETARIO\"}]}"));
+
+		assertThat(resultado.getResponse().getStatus()).isEqualTo(401);
+		assertThat(membroRepository.existsByOrganizacaoIdAndUsuarioId(organizacao.getId(), outro.getId())).isFalse();
+	}
+
+	@Test
+	void papelInexistenteNaoEConcedido() throws Exception {
+		Usuario outro = novoUsuario("outro");
+
+		MvcResult resultado = executar(tokenProprietario, post(BASE + "/" + organizacao.getId() + "/membros/lote")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"membros\": [{\"usuarioId\": \"" + outro.getId() + "\", \"papel\": \"inexistente\"}]}"));
+
+		assertThat(resultado.getResponse().getStatus()).isEqualTo(200);
+		assertThat(resultado.getResponse().getContentAsString()).contains("\"PAPEL_INEXISTENTE\"");
+		assertThat(membroRepository.existsByOrganizacaoIdAndUsuarioId(organizacao.getId(), outro.getId())).isFalse();
+	}
+
+	@Test
+	void papelDinamicoDaOrganizacaoEConcedido() throws Exception {
+		Usuario outro = novoUsuario("outro");
+
+		MvcResult resultado = executar(tokenProprietario, post(BASE + "/" + organizacao.getId() + "/membros/lote")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"membros\": [{\"usuarioId\": \"" + outro.getId() + "\", \"papel\": \"" + PAPEL_DINAMICO + "\"}]}"));
+
+		assertThat(resultado.getResponse().getStatus()).isEqualTo(200);
+		Membro membro = membroRepository.findByOrganizacaoIdAndUsuarioId(organizacao.getId(), outro.getId()).orElseThrow();
+		assertThat(membro.getPapel()).isEqualTo(PAPEL_DINAMICO);
+	}
+
+	private MvcResult adicionarASiMesmo(Usuario usuario, String papel) throws Exception {
+		return executar(novaSessao(usuario), post(BASE + "/" + organizacao.getId() + "/membros/lote")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"membros\": [{\"usuarioId\": \"" + usuario.getId() + "\", \"papel\": \"" + papel + "\"}]}"));
+	}
+}
@@ -0,0 +1,123 @@
+package br.sst.auditoria.controller;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DataSource de teste que registra os comandos JDBC preparados ou executados pela thread atual.
+ *
+ * O registro só fica ativo entre {@link #iniciar()} e {@link #encerrar()}, de modo que tarefas agendadas
+ * (NOTIFY de invalidação, limpeza de sessões) e a preparação dos dados não entram na contagem.
+ */
+class RegistroComandosJdbc extends DelegatingDataSource {
+
+	private static final ThreadLocal<List<String>> COMANDOS = new ThreadLocal<>();
+
+	RegistroComandosJdbc(DataSource alvo) {
+		super(alvo);
+	}
+
+	static void iniciar() {
+		COMANDOS.set(new ArrayList<>());
+	}
+
+	static List<String> encerrar() {
+		List<String> comandos = COMANDOS.get();
+		COMANDOS.remove();
+		return comandos != null ? comandos : List.of();
+	}
+
+	private static void registrar(String sql) {
+		List<String> comandos = COMANDOS.get();
+		if (comandos != null) {
+			comandos.add(sql);
+		}
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return registrando(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return registrando(super.getConnection(username, password));
+	}
+
+	private static Connection registrando(Connection conexao) {
+		return (Connection) Proxy.newProxyInstance(
+				Connection.class.getClassLoader(),
+				new Class<?>[]{Connection.class},
+				(proxy, metodo, args) -> {
+					switch (metodo.getName()) {
+						case "prepareStatement", "prepareCall" -> registrar((String) args[0]);
+						default -> {
+						}
+					}
+					Object resultado = invocar(conexao, metodo, args);
+					if (resultado instanceof Statement comando
+							&& !(resultado instanceof PreparedStatement)
+							&& !(resultado instanceof CallableStatement)) {
+						return registrando(comando);
+					}
+					return resultado;
+				});
+	}
+
+	/**
+	 * Comandos sem preparação (createStatement) são registrados a cada execução
+	 */
+	private static Statement registrando(Statement comando) {
+		return (Statement) Proxy.newProxyInstance(
+				Statement.class.getClassLoader(),
+				new Class<?>[]{Statement.class},
+				(proxy, metodo, args) -> {
+					if (metodo.getName().startsWith("execute") && args != null && args.length > 0
+							&& args[0] instanceof String sql) {
+						registrar(sql);
+					} else if (metodo.getName().equals("addBatch") && args != null && args.length == 1) {
+						registrar((String) args[0]);
+					}
+					return invocar(comando, metodo, args);
+				});
+	}
+
+	private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+		try {
+			return metodo.invoke(alvo, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class Configuracao {
+
+		@Bean
+		static BeanPostProcessor registroComandosJdbcPostProcessor() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (bean instanceof DataSource dataSource && !(bean instanceof RegistroComandosJdbc)) {
+						return new RegistroComandosJdbc(dataSource);
+					}
+					return bean;
+				}
+			};
+		}
+	}
+}
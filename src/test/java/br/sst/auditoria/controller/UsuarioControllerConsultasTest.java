@@ -0,0 +1,71 @@
+package br.sst.auditoria.controller;
+
+import br.sst.auditoria.model.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Orçamento de consultas dos endpoints de {@link UsuarioController} (chamados pelo proprietário, admin global)
+ */
+class UsuarioControllerConsultasTest extends OrcamentoConsultasSuporte {
+
+	private static final String BASE = "/api/usuarios";
+
+	@Test
+	void listar() throws Exception {
+		dentroDoOrcamento(2, tokenProprietario, get(BASE));
+	}
+
+	@Test
+	void buscarPorId() throws Exception {
+		dentroDoOrcamento(2, tokenProprietario, get(BASE + "/" + membros.getFirst().getUsuario().getId()));
+	}
+
+	@Test
+	void criar() throws Exception {
+		String sufixo = sufixo();
+		String email = "criado-" + sufixo + "@teste.com";
+
+		dentroDoOrcamento(5, tokenProprietario, post(BASE)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(corpo("Criado", email, "cri-" + sufixo)));
+
+		removerAoFinal(usuarioRepository.findByEmail(email).orElseThrow());
+	}
+
+	@Test
+	void atualizar() throws Exception {
+		Usuario usuario = novoUsuario("atualizado");
+
+		dentroDoOrcamento(6, tokenProprietario, put(BASE + "/" + usuario.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(corpo("Atualizado", usuario.getEmail(), usuario.getCpf())));
+	}
+
+	@Test
+	void atualizarParcialmente() throws Exception {
+		Usuario usuario = novoUsuario("parcial");
+
+		dentroDoOrcamento(6, tokenProprietario, patch(BASE + "/" + usuario.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"telefone\": \"11999990000\"}"));
+	}
+
+	@Test
+	void remover() throws Exception {
+		// A remoção em cascata do JPA carrega sessões, contas, vínculos e convites do usuário
+		Usuario usuario = novoUsuario("removido");
+
+		dentroDoOrcamento(9, tokenProprietario, delete(BASE + "/" + usuario.getId()));
+	}
+
+	private static String corpo(String nome, String email, String cpf) {
+		return "{\"nome\": \"" + nome + "\", \"email\": \"" + email + "\", \"cpf\": \"" + cpf + "\"}";
+	}
+}
@@ -0,0 +1,202 @@
+package br.sst.auditoria.esocial;
+
+import br.sst.auditoria.esocial.ExportacaoS2240Service.PontoRetomada;
+import br.sst.auditoria.model.ExportacaoS2240;
+import br.sst.auditoria.model.enums.StatusExportacao;
+import br.sst.auditoria.repository.ExportacaoS2240Repository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Retomada da exportação S-2240 a partir do ponto gravado e respeito ao lease de outro nó
+ */
+@SpringBootTest
+class ExportacaoS2240ServiceTest {
+
+	private static final String[] NOMES = {"Ana", "Bruno", "Carla", "Daniel", "Eva"};
+
+	@TempDir
+	static Path diretorioBase;
+
+	@DynamicPropertySource
+	static void propriedades(DynamicPropertyRegistry registro) {
+		registro.add("esocial.s2240.directory", () -> diretorioBase.toString());
+		registro.add("esocial.s2240.events-per-file", () -> "2");
+	}
+
+	@Autowired
+	private ExportacaoS2240Service exportacaoService;
+
+	@Autowired
+	private ExportacaoS2240Repository exportacaoRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final String sufixo = UUID.randomUUID().toString().substring(0, 8);
+	private String organizacaoId;
+	private String unidadeId;
+	private final List<String> funcionarioIds = new ArrayList<>();
+	private final List<String> cpfs = new ArrayList<>();
+
+	@BeforeEach
+	void prepararUnidade() {
+		Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+		organizacaoId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO organizacao (id, nome, slug, criado_em) VALUES (?, ?, ?, ?)",
+				organizacaoId, "Exportação " + sufixo, "s2240-" + sufixo, agora);
+
+		String enderecoId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO endereco (id, organizacao_id, logradouro, cidade, estado, situacao, criado_em, "
+				+ "atualizado_em) VALUES (?, ?, 'Rua A', 'Campinas', 'SP', 'ATIVO', ?, ?)", enderecoId, organizacaoId, agora, agora);
+
+		String empresaId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO empresa (id, organizacao_id, situacao, razao_social, tipo_documento, "
+				+ "numero_documento, telefone, criado_em, atualizado_em) VALUES (?, ?, 'ATIVO', 'Empresa', 'CNPJ', ?, "
+				+ "'1900000000', ?, ?)", empresaId, organizacaoId, "12345678000195", agora, agora);
+
+		unidadeId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO unidade (id, organizacao_id, empresa_id, situacao, nome, tipo_documento, "
+				+ "numero_documento, cnae, grau_risco, is_matriz, endereco_id, criado_em, atualizado_em) "
+				+ "VALUES (?, ?, ?, 'ATIVO', 'Matriz', 'CNPJ', '12345678000195', '2511000', 3, true, ?, ?, ?)",
+				unidadeId, organizacaoId, empresaId, enderecoId, agora, agora);
+
+		String setorId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO setor (id, organizacao_id, empresa_id, unidade_id, situacao, nome, criado_em, "
+				+ "atualizado_em) VALUES (?, ?, ?, ?, 'ATIVO', 'Produção', ?, ?)", setorId, organizacaoId, empresaId, unidadeId, agora, agora);
+
+		String cargoId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO cargo (id, organizacao_id, empresa_id, situacao, nome, cbo, criado_em, "
+				+ "atualizado_em) VALUES (?, ?, ?, 'ATIVO', 'Operador', '784205', ?, ?)", cargoId, organizacaoId, empresaId, agora, agora);
+
+		for (int i = 0; i < NOMES.length; i++) {
+			String id = UUID.randomUUID().toString();
+			String cpf = String.format("%011d", 10_000_000_000L + i);
+			jdbcTemplate.update("INSERT INTO funcionario (id, organizacao_id, empresa_id, unidade_id, setor_id, cargo_id, "
+					+ "situacao, nome_completo, cpf, criado_em, atualizado_em) VALUES (?, ?, ?, ?, ?, ?, 'ATIVO', ?, ?, ?, ?)",
+					id, organizacaoId, empresaId, unidadeId, setorId, cargoId, NOMES[i], cpf, agora, agora);
+			funcionarioIds.add(id);
+			cpfs.add(cpf);
+		}
+	}
+
+	@AfterEach
+	void removerUnidade() {
+		for (String tabela : List.of("exportacao_s2240_unidade", "exportacao_s2240", "funcionario", "cargo", "setor",
+				"unidade", "empresa", "endereco")) {
+			jdbcTemplate.update("DELETE FROM " + tabela + " WHERE organizacao_id = ?", organizacaoId);
+		}
+		jdbcTemplate.update("DELETE FROM organizacao WHERE id = ?", organizacaoId);
+	}
+
+	@Test
+	void retomaDoUltimoPontoEDescartaArquivosPosteriores() throws Exception {
+		// Outro nó gravou o primeiro arquivo (Ana e Bruno), escreveu parte do segundo e parou
+		String exportacaoId = exportacao(StatusExportacao.EM_ANDAMENTO, "no-anterior", LocalDateTime.now());
+		jdbcTemplate.update("UPDATE exportacao_s2240 SET arquivos = 1, eventos = 2 WHERE id = ?", exportacaoId);
+		jdbcTemplate.update("UPDATE exportacao_s2240_unidade SET status = 'EM_ANDAMENTO', arquivos = 1, eventos = 2, "
+				+ "ultimo_nome = ?, ultimo_funcionario_id = ? WHERE exportacao_id = ?", NOMES[1], funcionarioIds.get(1), exportacaoId);
+
+		Path diretorio = diretorioBase.resolve(organizacaoId).resolve(exportacaoId);
+		Files.createDirectories(diretorio);
+		Files.writeString(diretorio.resolve(unidadeId + "-00001.xml"), "primeiro arquivo");
+		Files.writeString(diretorio.resolve(unidadeId + "-00002.xml"), "posterior ao ponto");
+		Files.writeString(diretorio.resolve(unidadeId + "-00003.xml.part"), "parcial");
+
+		// Só agora o lease expira e a exportação pode ser assumida, inclusive pelo agendador
+		jdbcTemplate.update("UPDATE exportacao_s2240 SET atualizado_em = ? WHERE id = ?",
+				Timestamp.valueOf(LocalDateTime.now().minusHours(1)), exportacaoId);
+
+		ExportacaoS2240 concluida = processarAteConcluir(exportacaoId);
+
+		assertThat(concluida.getArquivos()).isEqualTo(3);
+		assertThat(concluida.getEventos()).isEqualTo(NOMES.length);
+		assertThat(concluida.getUnidadesConcluidas()).isEqualTo(1);
+
+		assertThat(Files.readString(diretorio.resolve(unidadeId + "-00001.xml"))).isEqualTo("primeiro arquivo");
+		String segundo = Files.readString(diretorio.resolve(unidadeId + "-00002.xml"));
+		assertThat(segundo).contains(cpfs.get(2), cpfs.get(3)).doesNotContain(cpfs.get(0), cpfs.get(1), cpfs.get(4));
+		String terceiro = Files.readString(diretorio.resolve(unidadeId + "-00003.xml"));
+		assertThat(terceiro).contains(cpfs.get(4)).doesNotContain(cpfs.get(3));
+		try (var arquivos = Files.list(diretorio)) {
+			assertThat(arquivos.map(arquivo -> arquivo.getFileName().toString()))
+					.containsExactlyInAnyOrder(unidadeId + "-00001.xml", unidadeId + "-00002.xml", unidadeId + "-00003.xml");
+		}
+	}
+
+	@Test
+	void naoAssumeExportacaoComLeaseDeOutroNo() {
+		String exportacaoId = exportacao(StatusExportacao.EM_ANDAMENTO, "outro-no", LocalDateTime.now());
+
+		exportacaoService.processarPendentes();
+
+		ExportacaoS2240 exportacao = exportacaoRepository.findById(exportacaoId).orElseThrow();
+		assertThat(exportacao.getStatus()).isEqualTo(StatusExportacao.EM_ANDAMENTO);
+		assertThat(exportacao.getExecutor()).isEqualTo("outro-no");
+		assertThat(diretorioBase.resolve(organizacaoId).resolve(exportacaoId)).doesNotExist();
+	}
+
+	@Test
+	void descartaParciaisEArquivosAposOPonto(@TempDir Path diretorio) throws IOException {
+		String unidade = "unidade-a";
+		Files.writeString(diretorio.resolve(unidade + "-00001.xml"), "");
+		Files.writeString(diretorio.resolve(unidade + "-00002.xml"), "");
+		Files.writeString(diretorio.resolve(unidade + "-00003.xml"), "");
+		Files.writeString(diretorio.resolve(unidade + "-00002.xml.part"), "");
+		Files.writeString(diretorio.resolve("unidade-b-00009.xml"), "");
+
+		ExportacaoS2240Service.descartarIncompletos(diretorio, new PontoRetomada(unidade, 2, "Nome", "id"));
+
+		try (var arquivos = Files.list(diretorio)) {
+			assertThat(arquivos.map(arquivo -> arquivo.getFileName().toString()))
+					.containsExactlyInAnyOrder(unidade + "-00001.xml", unidade + "-00002.xml", "unidade-b-00009.xml");
+		}
+	}
+
+	private String exportacao(StatusExportacao status, String executor, LocalDateTime atualizadoEm) {
+		ExportacaoS2240 exportacao = exportacaoRepository.save(ExportacaoS2240.builder()
+				.organizacaoId(organizacaoId)
+				.solicitadoPor("teste")
+				.status(status)
+				.executor(executor)
+				.unidades(1)
+				.atualizadoEm(atualizadoEm)
+				.build());
+		Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.update("INSERT INTO exportacao_s2240_unidade (id, exportacao_id, organizacao_id, unidade_id, status, "
+				+ "arquivos, eventos, atualizado_em) VALUES (?, ?, ?, ?, 'PENDENTE', 0, 0, ?)",
+				UUID.randomUUID().toString(), exportacao.getId(), organizacaoId, unidadeId, agora);
+		return exportacao.getId();
+	}
+
+	private ExportacaoS2240 processarAteConcluir(String exportacaoId) throws InterruptedException {
+		long limite = System.currentTimeMillis() + 30_000;
+		while (System.currentTimeMillis() < limite) {
+			exportacaoService.processarPendentes();
+			ExportacaoS2240 exportacao = exportacaoRepository.findById(exportacaoId).orElseThrow();
+			if (exportacao.getStatus() == StatusExportacao.CONCLUIDA) {
+				return exportacao;
+			}
+			Thread.sleep(100);
+		}
+		throw new AssertionError("Exportação " + exportacaoId + " não concluída");
+	}
+}
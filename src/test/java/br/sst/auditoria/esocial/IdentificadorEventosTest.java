@@ -0,0 +1,37 @@
+package br.sst.auditoria.esocial;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentificadorEventosTest {
+
+	private final IdentificadorEventos identificador = new IdentificadorEventos();
+
+	@Test
+	void raizDoCnpjCompletadaComZeros() {
+		String id = identificador.proximo(1, "12345678");
+
+		assertThat(id).hasSize(36).matches("ID1" + "12345678000000" + "\\d{14}" + "00001");
+	}
+
+	@Test
+	void cpfCompletadoComZeros() {
+		String id = identificador.proximo(2, "12345678909");
+
+		assertThat(id).hasSize(36).matches("ID2" + "12345678909000" + "\\d{14}" + "\\d{5}");
+	}
+
+	@Test
+	void sequencialNaoSeRepete() {
+		Set<String> ids = new HashSet<>();
+		for (int i = 0; i < 1000; i++) {
+			ids.add(identificador.proximo(1, "12345678"));
+		}
+
+		assertThat(ids).hasSize(1000);
+	}
+}
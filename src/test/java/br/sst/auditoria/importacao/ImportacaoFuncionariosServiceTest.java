@@ -0,0 +1,154 @@
+package br.sst.auditoria.importacao;
+
+import br.sst.auditoria.dto.funcionario.ImportacaoFuncionariosResponse;
+import br.sst.auditoria.dto.funcionario.ImportacaoFuncionariosResponse.ErroLinha;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gravação da importação de funcionários: upsert em uk_funcionario_cpf, CPF repetido no bloco e
+ * isolamento (divisão ao meio) das linhas rejeitadas pelo banco
+ */
+@SpringBootTest
+class ImportacaoFuncionariosServiceTest {
+
+	private static final String CABECALHO = "empresa_documento;unidade;setor;cargo;nome;cpf\n";
+	private static final String CNPJ = "12345678000195";
+	private static final String[] CPFS = {"12345678062", "23456789173", "34567891228", "45678912364", "56789123482"};
+
+	@Autowired
+	private ImportacaoFuncionariosService importacaoService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final String sufixo = UUID.randomUUID().toString().substring(0, 8);
+	private String organizacaoId;
+
+	@BeforeEach
+	void prepararHierarquia() {
+		Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+		organizacaoId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO organizacao (id, nome, slug, criado_em) VALUES (?, ?, ?, ?)",
+				organizacaoId, "Importação " + sufixo, "importacao-" + sufixo, agora);
+
+		String enderecoId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO endereco (id, organizacao_id, logradouro, cidade, estado, situacao, criado_em, "
+				+ "atualizado_em) VALUES (?, ?, 'Rua A', 'Campinas', 'SP', 'ATIVO', ?, ?)", enderecoId, organizacaoId, agora, agora);
+
+		String empresaId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO empresa (id, organizacao_id, situacao, razao_social, tipo_documento, "
+				+ "numero_documento, telefone, criado_em, atualizado_em) VALUES (?, ?, 'ATIVO', 'Empresa', 'CNPJ', ?, "
+				+ "'1900000000', ?, ?)", empresaId, organizacaoId, CNPJ, agora, agora);
+
+		String unidadeId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO unidade (id, organizacao_id, empresa_id, situacao, nome, tipo_documento, "
+				+ "numero_documento, cnae, grau_risco, is_matriz, endereco_id, criado_em, atualizado_em) "
+				+ "VALUES (?, ?, ?, 'ATIVO', 'Matriz', 'CNPJ', ?, '2511000', 3, true, ?, ?, ?)",
+				unidadeId, organizacaoId, empresaId, CNPJ, enderecoId, agora, agora);
+
+		jdbcTemplate.update("INSERT INTO setor (id, organizacao_id, empresa_id, unidade_id, situacao, nome, criado_em, "
+				+ "atualizado_em) VALUES (?, ?, ?, ?, 'ATIVO', 'Produção', ?, ?)",
+				UUID.randomUUID().toString(), organizacaoId, empresaId, unidadeId, agora, agora);
+
+		jdbcTemplate.update("INSERT INTO cargo (id, organizacao_id, empresa_id, situacao, nome, cbo, criado_em, "
+				+ "atualizado_em) VALUES (?, ?, ?, 'ATIVO', 'Operador', '784205', ?, ?)",
+				UUID.randomUUID().toString(), organizacaoId, empresaId, agora, agora);
+	}
+
+	@AfterEach
+	void removerHierarquia() {
+		for (String tabela : List.of("funcionario", "cargo", "setor", "unidade", "empresa", "endereco")) {
+			jdbcTemplate.update("DELETE FROM " + tabela + " WHERE organizacao_id = ?", organizacaoId);
+		}
+		jdbcTemplate.update("DELETE FROM organizacao WHERE id = ?", organizacaoId);
+	}
+
+	@Test
+	void segundaImportacaoAtualizaPeloCpf() throws IOException {
+		importar(linha("Maria", CPFS[0]) + linha("João", CPFS[1]));
+		String idOriginal = jdbcTemplate.queryForObject(
+				"SELECT id FROM funcionario WHERE organizacao_id = ? AND cpf = ?", String.class, organizacaoId, CPFS[0]);
+
+		ImportacaoFuncionariosResponse resposta = importar(linha("Maria Souza", CPFS[0]));
+
+		assertThat(resposta.importados()).isEqualTo(1);
+		assertThat(resposta.comErro()).isZero();
+		assertThat(contarFuncionarios()).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForMap("SELECT id, nome_completo FROM funcionario WHERE organizacao_id = ? AND cpf = ?",
+				organizacaoId, CPFS[0]))
+				.containsEntry("id", idOriginal)
+				.containsEntry("nome_completo", "Maria Souza");
+	}
+
+	@Test
+	void cpfRepetidoNoBlocoMantemAUltimaOcorrencia() throws IOException {
+		ImportacaoFuncionariosResponse resposta = importar(
+				linha("Maria", CPFS[0]) + linha("João", CPFS[1]) + linha("Maria Souza", CPFS[0]));
+
+		assertThat(resposta.linhas()).isEqualTo(3);
+		assertThat(resposta.importados()).isEqualTo(2);
+		assertThat(resposta.erros()).containsExactly(
+				new ErroLinha(2, "CPF repetido na linha 4; mantida a última ocorrência"));
+		assertThat(jdbcTemplate.queryForObject("SELECT nome_completo FROM funcionario WHERE organizacao_id = ? AND cpf = ?",
+				String.class, organizacaoId, CPFS[0])).isEqualTo("Maria Souza");
+	}
+
+	@Test
+	void linhaRejeitadaPeloBancoIsoladaSemPerderAsDemais() throws IOException {
+		// O PostgreSQL recusa o caractere 0x00 em texto: a linha passa na validação e só falha na gravação
+		StringBuilder csv = new StringBuilder();
+		for (int i = 0; i < CPFS.length; i++) {
+			csv.append(linha(i == 3 ? "Nome\u0000Inválido" : "Funcionário " + i, CPFS[i]));
+		}
+
+		ImportacaoFuncionariosResponse resposta = importar(csv.toString());
+
+		assertThat(resposta.importados()).isEqualTo(CPFS.length - 1);
+		assertThat(resposta.comErro()).isEqualTo(1);
+		assertThat(resposta.erros()).singleElement().satisfies(erro -> {
+			assertThat(erro.linha()).isEqualTo(5);
+			assertThat(erro.mensagem()).startsWith("Falha ao gravar: ");
+		});
+		assertThat(contarFuncionarios()).isEqualTo(CPFS.length - 1);
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM funcionario WHERE organizacao_id = ? AND cpf = ?",
+				Integer.class, organizacaoId, CPFS[3])).isZero();
+	}
+
+	@Test
+	void hierarquiaInexistenteViraErroDaLinha() throws IOException {
+		ImportacaoFuncionariosResponse resposta = importar(linha("Maria", CPFS[0])
+				+ CNPJ + ";Filial;Produção;Operador;João;" + CPFS[1] + "\n");
+
+		assertThat(resposta.importados()).isEqualTo(1);
+		assertThat(resposta.erros()).containsExactly(new ErroLinha(3, "Unidade não encontrada: Filial"));
+	}
+
+	private ImportacaoFuncionariosResponse importar(String linhas) throws IOException {
+		try (LeitorCsv leitor = new LeitorCsv(new StringReader(CABECALHO + linhas))) {
+			return importacaoService.importar(organizacaoId, leitor);
+		}
+	}
+
+	private int contarFuncionarios() {
+		return jdbcTemplate.queryForObject("SELECT count(*) FROM funcionario WHERE organizacao_id = ?",
+				Integer.class, organizacaoId);
+	}
+
+	private static String linha(String nome, String cpf) {
+		return CNPJ + ";Matriz;Produção;Operador;" + nome + ";" + cpf + "\n";
+	}
+}
@@ -0,0 +1,87 @@
+package br.sst.auditoria.importacao;
+
+import br.sst.auditoria.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LeitorCsvTest {
+
+	@Test
+	void cabecalhoNormalizadoESeparadorDetectado() throws IOException {
+		LeitorCsv leitor = leitor("\uFEFFEmpresa Documento;Unidade;Data de Admissão\r\n123;Matriz;01/02/2024\r\n");
+
+		assertThat(leitor.cabecalho()).containsExactly("empresa_documento", "unidade", "data_de_admissao");
+		assertThat(leitor.proxima()).containsExactlyInAnyOrderEntriesOf(
+				Map.of("empresa_documento", "123", "unidade", "Matriz", "data_de_admissao", "01/02/2024"));
+		assertThat(leitor.proxima()).isNull();
+	}
+
+	@Test
+	void aspasDuplicadasEQuebraDeLinhaEntreAspas() throws IOException {
+		LeitorCsv leitor = leitor("nome,cargo\n\"Silva, Maria\",\"Operadora \"\"A\"\"\"\n\"Linha\ndupla\",Auxiliar\nJoão,Técnico\n");
+
+		assertThat(leitor.proxima()).containsEntry("nome", "Silva, Maria").containsEntry("cargo", "Operadora \"A\"");
+		assertThat(leitor.numeroLinha()).isEqualTo(2);
+		assertThat(leitor.proxima()).containsEntry("nome", "Linha\ndupla").containsEntry("cargo", "Auxiliar");
+		assertThat(leitor.numeroLinha()).isEqualTo(4);
+		assertThat(leitor.proxima()).containsEntry("nome", "João");
+		assertThat(leitor.numeroLinha()).isEqualTo(5);
+		assertThat(leitor.proxima()).isNull();
+	}
+
+	@Test
+	void linhasEmBrancoIgnoradasECamposFaltantesAusentes() throws IOException {
+		LeitorCsv leitor = leitor("nome;cpf;email\n\n  \nMaria;52998224725\n");
+
+		Map<String, String> linha = leitor.proxima();
+
+		assertThat(linha).containsEntry("nome", "Maria").containsEntry("cpf", "52998224725").doesNotContainKey("email");
+		assertThat(leitor.numeroLinha()).isEqualTo(4);
+	}
+
+	@Test
+	void arquivoVazio() {
+		assertThatThrownBy(() -> leitor("")).isInstanceOf(BusinessException.class).hasMessageContaining("sem cabeçalho");
+	}
+
+	@Test
+	void aspasNaoFechadas() throws IOException {
+		LeitorCsv leitor = leitor("nome;cpf\n\"Maria;52998224725\n");
+
+		assertThatThrownBy(leitor::proxima).isInstanceOf(BusinessException.class)
+				.hasMessageContaining("Aspas não fechadas a partir da linha");
+	}
+
+	@Test
+	void campoAcimaDoLimite() throws IOException {
+		LeitorCsv leitor = leitor("nome;cpf\n\"" + "a".repeat(LeitorCsv.TAMANHO_MAXIMO_CAMPO + 1) + "\";1\n");
+
+		assertThatThrownBy(leitor::proxima).isInstanceOf(BusinessException.class)
+				.hasMessageContaining("Campo com mais de " + LeitorCsv.TAMANHO_MAXIMO_CAMPO);
+	}
+
+	@Test
+	void camposAcimaDoLimite() throws IOException {
+		LeitorCsv leitor = leitor("nome;cpf\n" + ";".repeat(LeitorCsv.MAXIMO_CAMPOS + 1) + "\n");
+
+		assertThatThrownBy(leitor::proxima).isInstanceOf(BusinessException.class)
+				.hasMessageContaining("com mais de " + LeitorCsv.MAXIMO_CAMPOS + " campos");
+	}
+
+	@Test
+	void cabecalhoAcimaDoLimite() {
+		assertThatThrownBy(() -> leitor("n".repeat(LeitorCsv.TAMANHO_MAXIMO_CABECALHO + 1)))
+				.isInstanceOf(BusinessException.class)
+				.hasMessageContaining("Cabeçalho com mais de");
+	}
+
+	private static LeitorCsv leitor(String conteudo) throws IOException {
+		return new LeitorCsv(new StringReader(conteudo));
+	}
+}
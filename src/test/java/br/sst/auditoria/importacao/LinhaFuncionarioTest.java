@@ -0,0 +1,104 @@
+package br.sst.auditoria.importacao;
+
+import br.sst.auditoria.model.enums.SituacaoFuncionario;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LinhaFuncionarioTest {
+
+	@Test
+	void linhaCompleta() {
+		Map<String, String> campos = campos();
+		campos.put("situacao", "Em Contratação");
+		campos.put("data_admissao", "01/02/2024");
+		campos.put("data_nascimento", "1990-05-10");
+		campos.put("telefone", "(19) 99999-0000");
+
+		LinhaFuncionario linha = LinhaFuncionario.validar(7, campos);
+
+		assertThat(linha.numero()).isEqualTo(7);
+		assertThat(linha.cpf()).isEqualTo("52998224725");
+		assertThat(linha.empresaDocumento()).isEqualTo("12345678000195");
+		assertThat(linha.situacao()).isEqualTo(SituacaoFuncionario.EM_CONTRATACAO);
+		assertThat(linha.dataAdmissao()).isEqualTo(LocalDate.of(2024, 2, 1));
+		assertThat(linha.dataNascimento()).isEqualTo(LocalDate.of(1990, 5, 10));
+		assertThat(linha.telefone()).isEqualTo("19999990000");
+	}
+
+	@Test
+	void situacaoPadraoAtivo() {
+		assertThat(LinhaFuncionario.validar(2, campos()).situacao()).isEqualTo(SituacaoFuncionario.ATIVO);
+	}
+
+	@Test
+	void cpfComDigitoVerificadorErrado() {
+		Map<String, String> campos = campos();
+		campos.put("cpf", "529.982.247-24");
+
+		assertThatThrownBy(() -> LinhaFuncionario.validar(2, campos)).hasMessage("CPF inválido");
+	}
+
+	@Test
+	void cpfComDigitosRepetidosOuTamanhoErrado() {
+		for (String cpf : new String[]{"111.111.111-11", "5299822472", "529982247250", ""}) {
+			Map<String, String> campos = campos();
+			campos.put("cpf", cpf);
+
+			assertThatThrownBy(() -> LinhaFuncionario.validar(2, campos)).as(cpf).hasMessage("CPF inválido");
+		}
+	}
+
+	@Test
+	void demissaoAnteriorAAdmissao() {
+		Map<String, String> campos = campos();
+		campos.put("data_admissao", "2024-02-01");
+		campos.put("data_demissao", "31/01/2024");
+
+		assertThatThrownBy(() -> LinhaFuncionario.validar(2, campos))
+				.hasMessage("data_demissao anterior à data_admissao");
+	}
+
+	@Test
+	void dataInvalida() {
+		Map<String, String> campos = campos();
+		campos.put("data_nascimento", "32/01/1990");
+
+		assertThatThrownBy(() -> LinhaFuncionario.validar(2, campos)).hasMessageStartingWith("data_nascimento inválida");
+	}
+
+	@Test
+	void colunaObrigatoriaVazia() {
+		Map<String, String> campos = campos();
+		campos.put("nome", "  ");
+
+		assertThatThrownBy(() -> LinhaFuncionario.validar(2, campos)).hasMessage("nome é obrigatório");
+	}
+
+	@Test
+	void emailESituacaoInvalidos() {
+		Map<String, String> comEmail = campos();
+		comEmail.put("email", "fulano@empresa");
+		assertThatThrownBy(() -> LinhaFuncionario.validar(2, comEmail)).hasMessage("E-mail inválido");
+
+		Map<String, String> comSituacao = campos();
+		comSituacao.put("situacao", "ferias");
+		assertThatThrownBy(() -> LinhaFuncionario.validar(2, comSituacao)).hasMessage("situacao inválida: ferias");
+	}
+
+	private static Map<String, String> campos() {
+		Map<String, String> campos = new HashMap<>();
+		campos.put("empresa_documento", "12.345.678/0001-95");
+		campos.put("unidade", "Matriz");
+		campos.put("setor", "Produção");
+		campos.put("cargo", "Operador");
+		campos.put("nome", "Maria da Silva");
+		campos.put("cpf", "529.982.247-25");
+		return campos;
+	}
+}
@@ -0,0 +1,28 @@
+package br.sst.auditoria.nr28;
+
+import br.sst.auditoria.nr28.TabelaMultasNr28.FaixaMulta;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TabelaMultasNr28Test {
+
+	@Test
+	void faixaPorNumeroDeEmpregados() {
+		assertThat(TabelaMultasNr28.faixa(AreaInfracao.SEGURANCA, NivelInfracao.I1, 10)).isEqualTo(new FaixaMulta(630, 729));
+		assertThat(TabelaMultasNr28.faixa(AreaInfracao.SEGURANCA, NivelInfracao.I1, 11)).isEqualTo(new FaixaMulta(730, 830));
+		assertThat(TabelaMultasNr28.faixa(AreaInfracao.SEGURANCA, NivelInfracao.I4, 1000)).isEqualTo(new FaixaMulta(5491, 6033));
+		assertThat(TabelaMultasNr28.faixa(AreaInfracao.MEDICINA, NivelInfracao.I4, 1001)).isEqualTo(new FaixaMulta(3647, 3979));
+	}
+
+	@Test
+	void semEmpregadosNaoHaMulta() {
+		assertThat(TabelaMultasNr28.faixa(AreaInfracao.MEDICINA, NivelInfracao.I2, 0)).isEqualTo(FaixaMulta.NENHUMA);
+	}
+
+	@Test
+	void reincidenciaAplicaValorMaximo() {
+		assertThat(TabelaMultasNr28.faixa(AreaInfracao.MEDICINA, NivelInfracao.I2, 30).agravada())
+				.isEqualTo(new FaixaMulta(1166, 1166));
+	}
+}
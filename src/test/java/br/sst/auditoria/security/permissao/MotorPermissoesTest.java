@@ -0,0 +1,45 @@
+package br.sst.auditoria.security.permissao;
+
+import br.sst.auditoria.invalidacao.EventoInvalidacao;
+import br.sst.auditoria.model.PapelOrganizacao;
+import br.sst.auditoria.repository.PapelOrganizacaoRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MotorPermissoesTest {
+
+	private final PapelOrganizacaoRepository papelOrganizacaoRepository = mock(PapelOrganizacaoRepository.class);
+	private final MotorPermissoes motor = new MotorPermissoes(papelOrganizacaoRepository, Duration.ofMinutes(10), 100);
+
+	@Test
+	void noFrioCompilaAntesDeConsultarOIndice() {
+		when(papelOrganizacaoRepository.findByOrganizacaoId("org-1")).thenReturn(List.of(
+				PapelOrganizacao.builder().papel("auditor").permissao("{\"relatorio\": [\"ler\"]}").build()));
+
+		assertThat(motor.permite("org-1", "auditor", "relatorio", "ler")).isTrue();
+		assertThat(motor.permite("org-1", "auditor", "relatorio", "excluir")).isFalse();
+		assertThat(motor.permite("org-1", "outro", "relatorio", "ler")).isFalse();
+	}
+
+	@Test
+	void eventoDeOrganizacaoDescartaACompilacao() {
+		when(papelOrganizacaoRepository.findByOrganizacaoId("org-1")).thenReturn(List.of(
+				PapelOrganizacao.builder().papel("auditor").permissao("{\"relatorio\": [\"ler\"]}").build()));
+		motor.aoInvalidar(EventoInvalidacao.papel("org-1"));
+		motor.permite("org-1", "auditor", "relatorio", "ler");
+		motor.permite("org-1", "auditor", "relatorio", "ler");
+
+		motor.aoInvalidar(EventoInvalidacao.organizacao("org-1"));
+
+		assertThat(motor.permite("org-1", "auditor", "relatorio", "ler")).isTrue();
+		verify(papelOrganizacaoRepository, times(2)).findByOrganizacaoId("org-1");
+	}
+}
@@ -0,0 +1,111 @@
+package br.sst.auditoria.security.session;
+
+import br.sst.auditoria.model.Sessao;
+import br.sst.auditoria.model.Usuario;
+import br.sst.auditoria.repository.SessaoRepository;
+import br.sst.auditoria.repository.UsuarioRepository;
+import br.sst.auditoria.security.CustomUserDetails;
+import br.sst.auditoria.service.SessaoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SessionAuthenticationFilterTest {
+
+	@Autowired
+	private SessionAuthenticationFilter filter;
+
+	@Autowired
+	private SessaoService sessaoService;
+
+	@Autowired
+	private SessaoCache sessaoCache;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private SessaoRepository sessaoRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+	private Usuario usuario;
+	private Sessao sessao;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		String sufixo = UUID.randomUUID().toString().substring(0, 8);
+		usuario = usuarioRepository.save(Usuario.builder()
+				.id(UUID.randomUUID().toString())
+				.nome("Usuário Teste")
+				.email("filtro-" + sufixo + "@teste.com")
+				.cpf("cpf-" + sufixo)
+				.emailVerificado(true)
+				.build());
+		sessao = sessaoService.criarSessao(usuario, "127.0.0.1", "JUnit");
+
+		sessaoCache.invalidarTudo();
+		SecurityContextHolder.clearContext();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		sessaoRepository.deleteById(sessao.getId());
+		usuarioRepository.deleteById(usuario.getId());
+	}
+
+	@Test
+	void requisicaoAutenticadaExecutaUmaUnicaConsulta() throws Exception {
+		statistics.clear();
+
+		executarFiltro();
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		assertThat(authentication).isInstanceOf(SessionAuthenticationToken.class);
+		CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+		assertThat(principal.getId()).isEqualTo(usuario.getId());
+		assertThat(principal.getPassword()).isNull();
+	}
+
+	@Test
+	void requisicaoComSessaoEmCacheNaoConsultaOBanco() throws Exception {
+		executarFiltro();
+		SecurityContextHolder.clearContext();
+		statistics.clear();
+
+		executarFiltro();
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+	}
+
+	private void executarFiltro() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/pegar-usuario-logado");
+		request.addHeader(SessionAuthenticationFilter.AUTHORIZATION_HEADER,
+				SessionAuthenticationFilter.BEARER_PREFIX + sessao.getToken());
+
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+	}
+}